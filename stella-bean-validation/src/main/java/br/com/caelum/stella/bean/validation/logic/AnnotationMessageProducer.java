@@ -50,4 +50,20 @@ public class AnnotationMessageProducer implements MessageProducer {
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return constraint.equals(((AnnotationMessageProducer) obj).constraint);
+    }
+
+    @Override
+    public int hashCode() {
+        return constraint.hashCode();
+    }
 }
@@ -28,7 +28,7 @@ public class StellaAcceptAnyValidator implements ConstraintValidator<AcceptAny,
 			if (document.trim().length() == 0) {
 				return true;
 			} else {
-				return stellaValidator.invalidMessagesFor(document).isEmpty();
+				return stellaValidator.isValid(document);
 			}
 		} else {
 			return true;
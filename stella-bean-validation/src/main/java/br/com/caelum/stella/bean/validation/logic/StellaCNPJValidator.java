@@ -27,7 +27,7 @@ public class StellaCNPJValidator implements ConstraintValidator<CNPJ, String> {
 			if (cnpj.trim().length() == 0) {
 				return true;
 			} else {
-				return stellaValidator.invalidMessagesFor(cnpj).isEmpty();
+				return stellaValidator.isValid(cnpj);
 			}
 		} else {
 			return true;
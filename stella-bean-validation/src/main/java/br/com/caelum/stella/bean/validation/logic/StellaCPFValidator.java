@@ -27,7 +27,7 @@ public class StellaCPFValidator implements ConstraintValidator<CPF, String> {
 			if (cpf.trim().length() == 0) {
 				return true;
 			} else {
-				return stellaValidator.invalidMessagesFor(cpf).isEmpty();
+				return stellaValidator.isValid(cpf);
 			}
 		} else {
 			return true;
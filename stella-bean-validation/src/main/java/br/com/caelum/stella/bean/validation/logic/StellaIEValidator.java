@@ -6,6 +6,7 @@ import javax.validation.ConstraintValidatorContext;
 import net.vidageek.mirror.dsl.Mirror;
 import br.com.caelum.stella.bean.validation.IE;
 import br.com.caelum.stella.type.Estado;
+import br.com.caelum.stella.validation.ie.IEValidatorRegistry;
 
 /**
  * Valida a cadeia gerada através do método {@linkplain #toString()} para
@@ -16,27 +17,27 @@ import br.com.caelum.stella.type.Estado;
  */
 public class StellaIEValidator implements ConstraintValidator<IE, Object> {
 
-	private br.com.caelum.stella.validation.Validator<String> stellaValidator;
+	private IE ie;
 
-	private IE ie;	
+	private AnnotationMessageProducer annotationMessageProducer;
 
 	public boolean isValid(Object value, ConstraintValidatorContext context) {
 		if (value != null) {
 			String ieValue = getIEValue(value);
 			String estadoValue = getEstadoValue(value);
-			final AnnotationMessageProducer annotationMessageProducer = new AnnotationMessageProducer(
-					ie);
 			if (ieValue.trim().length() == 0) {
 				return true;
 			} else {
+				final br.com.caelum.stella.validation.Validator<String> stellaValidator;
 				try {
 					final Estado estado = Estado.valueOf(estadoValue);
-					stellaValidator = estado.getIEValidator(
-							annotationMessageProducer, ie.formatted());
+					stellaValidator = IEValidatorRegistry.getInstance()
+							.getValidator(estado, annotationMessageProducer,
+									ie.formatted());
 				} catch (IllegalArgumentException e) {
 					return false;
 				}
-				return stellaValidator.invalidMessagesFor(ieValue).isEmpty();
+				return stellaValidator.isValid(ieValue);
 			}
 		} else {
 			return true;
@@ -45,6 +46,7 @@ public class StellaIEValidator implements ConstraintValidator<IE, Object> {
 
 	public void initialize(IE ie) {
 		this.ie = ie;
+		this.annotationMessageProducer = new AnnotationMessageProducer(ie);
 	}
 
 	private String getEstadoValue(final Object obj) {
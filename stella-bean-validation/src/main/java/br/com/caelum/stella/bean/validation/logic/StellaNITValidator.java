@@ -28,7 +28,7 @@ public class StellaNITValidator implements ConstraintValidator<NIT, String> {
 			if (value.trim().length() == 0) {
 				return true;
 			} else {
-				return stellaValidator.invalidMessagesFor(value).isEmpty();
+				return stellaValidator.isValid(value);
 			}
 		} else {
 			return true;
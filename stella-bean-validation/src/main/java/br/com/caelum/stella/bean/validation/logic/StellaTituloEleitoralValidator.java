@@ -27,7 +27,7 @@ public class StellaTituloEleitoralValidator implements
 			if (value.trim().length() == 0) {
 				return true;
 			} else {
-				return stellaValidator.invalidMessagesFor(value).isEmpty();
+				return stellaValidator.isValid(value);
 			}
 		} else {
 			return true;
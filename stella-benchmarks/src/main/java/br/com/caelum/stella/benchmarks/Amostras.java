@@ -0,0 +1,99 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import br.com.caelum.stella.boleto.Banco;
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.type.Estado;
+import br.com.caelum.stella.validation.Validator;
+
+/**
+ * Valores de exemplo compartilhados pelos benchmarks.
+ */
+final class Amostras {
+
+    private static final Map<Estado, String> INSCRICOES_ESTADUAIS = new EnumMap<Estado, String>(Estado.class);
+
+    static {
+        INSCRICOES_ESTADUAIS.put(Estado.AC, "01.004.823/001-12");
+        INSCRICOES_ESTADUAIS.put(Estado.AL, "24.000.004-8");
+        INSCRICOES_ESTADUAIS.put(Estado.AP, "03.012.345-9");
+        INSCRICOES_ESTADUAIS.put(Estado.AM, "04.193.980-8");
+        INSCRICOES_ESTADUAIS.put(Estado.BA, "612345-57");
+        INSCRICOES_ESTADUAIS.put(Estado.CE, "06.000.001-5");
+        INSCRICOES_ESTADUAIS.put(Estado.DF, "07.408.738/002-50");
+        INSCRICOES_ESTADUAIS.put(Estado.ES, "082.223.54-8");
+        INSCRICOES_ESTADUAIS.put(Estado.GO, "10.987.654-7");
+        INSCRICOES_ESTADUAIS.put(Estado.MA, "12.000.038-5");
+        INSCRICOES_ESTADUAIS.put(Estado.MT, "0013198872-7");
+        INSCRICOES_ESTADUAIS.put(Estado.MS, "28.303.759-8");
+        INSCRICOES_ESTADUAIS.put(Estado.MG, "062.307.904/0081");
+        INSCRICOES_ESTADUAIS.put(Estado.PA, "15.999.999-5");
+        INSCRICOES_ESTADUAIS.put(Estado.PB, "16.000.001-7");
+        INSCRICOES_ESTADUAIS.put(Estado.PR, "099.00004-09");
+        INSCRICOES_ESTADUAIS.put(Estado.PE, "18.1.001.0000004-9");
+        INSCRICOES_ESTADUAIS.put(Estado.PI, "19.301.656-7");
+        INSCRICOES_ESTADUAIS.put(Estado.RJ, "78.045.302");
+        INSCRICOES_ESTADUAIS.put(Estado.RN, "20.040.040-1");
+        INSCRICOES_ESTADUAIS.put(Estado.RS, "224/3658792");
+        INSCRICOES_ESTADUAIS.put(Estado.RO, "101.62521-3");
+        INSCRICOES_ESTADUAIS.put(Estado.RR, "24004145-5");
+        INSCRICOES_ESTADUAIS.put(Estado.SC, "251.040.852");
+        INSCRICOES_ESTADUAIS.put(Estado.SP, "110.042.490.114");
+        INSCRICOES_ESTADUAIS.put(Estado.SE, "27123456-3");
+        INSCRICOES_ESTADUAIS.put(Estado.TO, "29.01.022.783-6");
+    }
+
+    private Amostras() {
+    }
+
+    /**
+     * @return uma inscrição estadual válida do estado.
+     */
+    static String inscricaoEstadual(Estado estado, boolean isFormatted) {
+        String ie = INSCRICOES_ESTADUAIS.get(estado);
+        return isFormatted ? ie : ie.replaceAll("[./-]", "");
+    }
+
+    /**
+     * @return a cadeia com o último dígito trocado pelo seguinte.
+     */
+    static String trocaUltimoDigito(String valor) {
+        char ultimo = valor.charAt(valor.length() - 1);
+        char trocado = (char) ('0' + (ultimo - '0' + 1) % 10);
+        return valor.substring(0, valor.length() - 1) + trocado;
+    }
+
+    /**
+     * Garante que o benchmark mede o caminho esperado, válido ou inválido.
+     */
+    static <T> void verifica(Validator<T> validator, T valor, boolean esperado) {
+        if (validator.isValid(valor) != esperado) {
+            throw new IllegalStateException("Amostra " + valor + " deveria ser " + (esperado ? "válida" : "inválida"));
+        }
+    }
+
+    static Boleto boleto(Banco banco) {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(2, 5, 2008);
+        Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                .withAgencia(1824).withDigitoAgencia('4')
+                .withContaCorrente(76000).withNumeroConvenio(1207113).withDigitoContaCorrente('5')
+                .withCarteira(18).withNossoNumero(9000206).withCodigoFornecidoPelaAgencia(1234)
+                .withCodigoOperacao(870);
+        Sacado sacado = Sacado.newSacado().withNome("Fulano da Silva").withCpf("111.222.333-12")
+                .withEndereco("Av dos testes, 111 apto 333").withBairro("Bairro Teste").withCep("01234-111")
+                .withCidade("São Paulo").withUf("SP");
+        String[] descricoes = { "descricao 1", "descricao 2", "descricao 3", "descricao 4", "descricao 5" };
+        String[] locaisDePagamento = { "local 1", "local 2" };
+        String[] instrucoes = { "instrucao 1", "instrucao 2", "instrucao 3", "instrucao 4", "instrucao 5" };
+        return Boleto.newBoleto().withBanco(banco).withDatas(datas).withDescricoes(descricoes)
+                .withEmissor(emissor).withSacado(sacado).withValorBoleto("40.00").withNumeroDoDocumento("4323")
+                .withInstrucoes(instrucoes).withLocaisDePagamento(locaisDePagamento);
+    }
+
+}
@@ -0,0 +1,95 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.boleto.Banco;
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.bancos.Bradesco;
+import br.com.caelum.stella.boleto.bancos.Caixa;
+import br.com.caelum.stella.boleto.bancos.HSBC;
+import br.com.caelum.stella.boleto.bancos.Itau;
+import br.com.caelum.stella.boleto.bancos.LinhaDigitavelGenerator;
+import br.com.caelum.stella.boleto.bancos.Real;
+import br.com.caelum.stella.boleto.bancos.Santander;
+
+/**
+ * Mede a geração do código de barras e da linha digitável de cada banco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BancosBenchmark {
+
+    public enum Bancos {
+        BANCO_DO_BRASIL {
+            Banco novo() {
+                return new BancoDoBrasil();
+            }
+        },
+        BRADESCO {
+            Banco novo() {
+                return new Bradesco();
+            }
+        },
+        CAIXA {
+            Banco novo() {
+                return new Caixa();
+            }
+        },
+        HSBC {
+            Banco novo() {
+                return new HSBC();
+            }
+        },
+        ITAU {
+            Banco novo() {
+                return new Itau();
+            }
+        },
+        REAL {
+            Banco novo() {
+                return new Real();
+            }
+        },
+        SANTANDER {
+            Banco novo() {
+                return new Santander();
+            }
+        };
+
+        abstract Banco novo();
+    }
+
+    @Param
+    public Bancos banco;
+
+    private Boleto boleto;
+
+    private final LinhaDigitavelGenerator linhaDigitavelGenerator = new LinhaDigitavelGenerator();
+
+    @Setup
+    public void setUp() {
+        boleto = Amostras.boleto(banco.novo());
+    }
+
+    @Benchmark
+    public String geraCodigoDeBarras() {
+        return boleto.getBanco().geraCodigoDeBarrasPara(boleto);
+    }
+
+    @Benchmark
+    public String geraLinhaDigitavel() {
+        return linhaDigitavelGenerator.geraLinhaDigitavelPara(boleto);
+    }
+
+}
@@ -0,0 +1,65 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.transformer.BatchBoletoRenderer;
+import br.com.caelum.stella.boleto.transformer.BoletoGenerator;
+
+/**
+ * Compara a geração sequencial de um lote de boletos em um único PDF com a
+ * geração usando todos os processadores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchBoletoRendererBenchmark {
+
+    @Param({ "256" })
+    private int quantidade;
+
+    private List<Boleto> boletos;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        boletos = Collections.nCopies(quantidade, Amostras.boleto(new BancoDoBrasil()));
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long sequencial() {
+        ContadorDeBytes out = new ContadorDeBytes();
+        new BoletoGenerator(boletos).toPDF(out);
+        return out.total;
+    }
+
+    @Benchmark
+    public long paralelo() {
+        ContadorDeBytes out = new ContadorDeBytes();
+        new BatchBoletoRenderer(executor).toPDF(boletos, out);
+        return out.total;
+    }
+
+}
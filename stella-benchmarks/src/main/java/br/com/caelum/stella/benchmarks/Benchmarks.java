@@ -0,0 +1,26 @@
+package br.com.caelum.stella.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa os benchmarks do Stella com o profiler de alocação (
+ * <code>-prof gc</code>) sempre habilitado, para que regressões de alocação
+ * apareçam junto com as de tempo. Aceita as mesmas opções de linha de comando
+ * do JMH, como o filtro de benchmarks: <code>java -jar benchmarks.jar
+ * ValidatorsBenchmark -p documento=CPF</code>.
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
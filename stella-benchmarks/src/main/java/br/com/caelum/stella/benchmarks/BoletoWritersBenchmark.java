@@ -0,0 +1,85 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.transformer.BoletoGenerator;
+import br.com.caelum.stella.boleto.transformer.BoletoTransformer;
+import br.com.caelum.stella.boleto.transformer.HTMLBoletoWriter;
+import br.com.caelum.stella.boleto.transformer.PDFBoletoWriter;
+import br.com.caelum.stella.boleto.transformer.PNGBoletoWriter;
+
+/**
+ * Mede a geração completa de um boleto em PDF, PNG e HTML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoletoWritersBenchmark {
+
+    private Boleto boleto;
+
+    private URL urlServletBoleto;
+
+    @Setup
+    public void setUp() throws IOException {
+        boleto = Amostras.boleto(new BancoDoBrasil());
+        urlServletBoleto = new URL("http://localhost/stella-boleto/");
+    }
+
+    @Benchmark
+    public byte[] boletoGeneratorToPDF() {
+        return new BoletoGenerator(boleto).toPDF();
+    }
+
+    @Benchmark
+    public byte[] boletoGeneratorToPNG() {
+        return new BoletoGenerator(boleto).toPNG();
+    }
+
+    @Benchmark
+    public long boletoGeneratorToPDFEmStream() {
+        ContadorDeBytes out = new ContadorDeBytes();
+        new BoletoGenerator(boleto).toPDF(out);
+        return out.total;
+    }
+
+    @Benchmark
+    public long pdfBoletoWriter() throws IOException {
+        return consome(new BoletoTransformer(new PDFBoletoWriter()).transform(boleto));
+    }
+
+    @Benchmark
+    public long pngBoletoWriter() throws IOException {
+        return consome(new BoletoTransformer(new PNGBoletoWriter()).transform(boleto));
+    }
+
+    @Benchmark
+    public long htmlBoletoWriter() throws IOException {
+        return consome(new BoletoTransformer(new HTMLBoletoWriter(urlServletBoleto)).transform(boleto));
+    }
+
+    private long consome(InputStream stream) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int lidos;
+        while ((lidos = stream.read(buffer)) != -1) {
+            total += lidos;
+        }
+        stream.close();
+        return total;
+    }
+
+}
@@ -0,0 +1,21 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.io.OutputStream;
+
+/**
+ * Descarta os bytes gravados, apenas contando-os.
+ */
+class ContadorDeBytes extends OutputStream {
+
+    long total;
+
+    @Override
+    public void write(int b) {
+        total++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        total += len;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.caelum.stella.benchmarks;
+
+import br.com.caelum.stella.format.CNPJFormatter;
+import br.com.caelum.stella.format.CPFFormatter;
+import br.com.caelum.stella.format.Formatter;
+import br.com.caelum.stella.format.NITFormatter;
+import br.com.caelum.stella.format.RenavamFormatter;
+import br.com.caelum.stella.format.TituloEleitoralFormatter;
+import br.com.caelum.stella.validation.CNPJValidator;
+import br.com.caelum.stella.validation.CPFValidator;
+import br.com.caelum.stella.validation.NITValidator;
+import br.com.caelum.stella.validation.RenavamValidator;
+import br.com.caelum.stella.validation.TituloEleitoralValidator;
+import br.com.caelum.stella.validation.Validator;
+
+/**
+ * Documentos com formato fixo utilizados nos benchmarks, cada um com um valor
+ * válido de exemplo.
+ */
+public enum Documento {
+    CPF("248.438.034-80", "24843803480") {
+        public Validator<String> getValidator(boolean isFormatted) {
+            return new CPFValidator(isFormatted);
+        }
+
+        public Formatter getFormatter() {
+            return new CPFFormatter();
+        }
+    },
+    CNPJ("26.637.142/0001-58", "26637142000158") {
+        public Validator<String> getValidator(boolean isFormatted) {
+            return new CNPJValidator(isFormatted);
+        }
+
+        public Formatter getFormatter() {
+            return new CNPJFormatter();
+        }
+    },
+    NIT("170.33259.50-4", "17033259504") {
+        public Validator<String> getValidator(boolean isFormatted) {
+            return new NITValidator(isFormatted);
+        }
+
+        public Formatter getFormatter() {
+            return new NITFormatter();
+        }
+    },
+    TITULO_ELEITORAL("1339682003/02", "133968200302") {
+        public Validator<String> getValidator(boolean isFormatted) {
+            return new TituloEleitoralValidator(isFormatted);
+        }
+
+        public Formatter getFormatter() {
+            return new TituloEleitoralFormatter();
+        }
+    },
+    RENAVAM("73.640767-7", "736407677") {
+        public Validator<String> getValidator(boolean isFormatted) {
+            return new RenavamValidator(isFormatted);
+        }
+
+        public Formatter getFormatter() {
+            return new RenavamFormatter();
+        }
+    };
+
+    private final String formatado;
+
+    private final String desformatado;
+
+    private Documento(String formatado, String desformatado) {
+        this.formatado = formatado;
+        this.desformatado = desformatado;
+    }
+
+    public abstract Validator<String> getValidator(boolean isFormatted);
+
+    public abstract Formatter getFormatter();
+
+    public String getValido(boolean isFormatted) {
+        return isFormatted ? formatado : desformatado;
+    }
+
+    /**
+     * @return o valor válido com o último dígito trocado, o que invalida o
+     *         dígito verificador.
+     */
+    public String getInvalido(boolean isFormatted) {
+        return Amostras.trocaUltimoDigito(getValido(isFormatted));
+    }
+
+}
@@ -0,0 +1,63 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.format.Formatter;
+import br.com.caelum.stella.format.LeftSideZerosFormatter;
+
+/**
+ * Mede os formatadores do pacote <code>format</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormattersBenchmark {
+
+    @Param
+    public Documento documento;
+
+    private Formatter formatter;
+
+    private final Formatter leftSideZerosFormatter = new LeftSideZerosFormatter(14);
+
+    private String formatado;
+
+    private String desformatado;
+
+    @Setup
+    public void setUp() {
+        formatter = documento.getFormatter();
+        formatado = documento.getValido(true);
+        desformatado = documento.getValido(false);
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(desformatado);
+    }
+
+    @Benchmark
+    public String unformat() {
+        return formatter.unformat(formatado);
+    }
+
+    @Benchmark
+    public String formatComNovaInstancia() {
+        return documento.getFormatter().format(desformatado);
+    }
+
+    @Benchmark
+    public String leftSideZerosFormat() {
+        return leftSideZerosFormatter.format(desformatado);
+    }
+
+}
@@ -0,0 +1,78 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.SimpleMessageProducer;
+import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.type.Estado;
+import br.com.caelum.stella.validation.InvalidValue;
+import br.com.caelum.stella.validation.Validator;
+import br.com.caelum.stella.validation.ie.IEValidatorRegistry;
+
+/**
+ * Mede os validadores de inscrição estadual de todos os estados, incluindo a
+ * obtenção do validador pelo próprio {@link Estado}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IEValidatorsBenchmark {
+
+    @Param
+    public Estado estado;
+
+    @Param({ "true", "false" })
+    public boolean formatado;
+
+    private Validator<String> validator;
+
+    private String valido;
+
+    private String invalido;
+
+    @Setup
+    public void setUp() {
+        validator = estado.getIEValidator(new SimpleMessageProducer(), formatado);
+        valido = Amostras.inscricaoEstadual(estado, formatado);
+        invalido = Amostras.trocaUltimoDigito(valido);
+        Amostras.verifica(validator, valido, true);
+        Amostras.verifica(validator, invalido, false);
+    }
+
+    @Benchmark
+    public boolean isValidComValorValido() {
+        return validator.isValid(valido);
+    }
+
+    @Benchmark
+    public InvalidValue invalidValueForComValorInvalido() {
+        return validator.invalidValueFor(invalido);
+    }
+
+    @Benchmark
+    public List<ValidationMessage> invalidMessagesForComValorInvalido() {
+        return validator.invalidMessagesFor(invalido);
+    }
+
+    @Benchmark
+    public boolean getIEValidatorEValida() {
+        return estado.getIEValidator(new SimpleMessageProducer(), formatado).isValid(valido);
+    }
+
+    @Benchmark
+    public boolean registryEValida() {
+        return IEValidatorRegistry.getInstance().getValidator(estado, new SimpleMessageProducer(), formatado)
+                .isValid(valido);
+    }
+
+}
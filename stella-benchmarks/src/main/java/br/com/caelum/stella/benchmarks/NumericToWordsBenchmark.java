@@ -0,0 +1,67 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.inwords.FormatoDeInteiro;
+import br.com.caelum.stella.inwords.FormatoDeReal;
+import br.com.caelum.stella.inwords.NumericToWordsConverter;
+
+/**
+ * Mede a conversão de números por extenso, em inteiros e em reais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NumericToWordsBenchmark {
+
+    @Param({ "7", "1001", "2147483647" })
+    public long numero;
+
+    @Param({ "0.01", "1234.56", "987654321.99" })
+    public double valor;
+
+    private final NumericToWordsConverter inteiro = new NumericToWordsConverter(new FormatoDeInteiro());
+
+    private final NumericToWordsConverter real = new NumericToWordsConverter(new FormatoDeReal());
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private BigDecimal valorDecimal;
+
+    @Setup
+    public void setUp() {
+        valorDecimal = BigDecimal.valueOf(valor);
+    }
+
+    @Benchmark
+    public String inteiroPorExtenso() {
+        return inteiro.toWords(numero);
+    }
+
+    @Benchmark
+    public String reaisPorExtenso() {
+        return real.toWords(valor);
+    }
+
+    @Benchmark
+    public String reaisPorExtensoDeBigDecimal() {
+        return real.toWords(valorDecimal);
+    }
+
+    @Benchmark
+    public int reaisPorExtensoNoMesmoBuffer() {
+        buffer.setLength(0);
+        return real.toWords(valorDecimal, buffer).length();
+    }
+
+}
@@ -0,0 +1,80 @@
+package br.com.caelum.stella.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.validation.InvalidStateException;
+import br.com.caelum.stella.validation.InvalidValue;
+import br.com.caelum.stella.validation.Validator;
+
+/**
+ * Mede os validadores de documentos de formato fixo com valores válidos e
+ * inválidos, formatados ou não.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidatorsBenchmark {
+
+    @Param
+    public Documento documento;
+
+    @Param({ "true", "false" })
+    public boolean formatado;
+
+    private Validator<String> validator;
+
+    private String valido;
+
+    private String invalido;
+
+    @Setup
+    public void setUp() {
+        validator = documento.getValidator(formatado);
+        valido = documento.getValido(formatado);
+        invalido = documento.getInvalido(formatado);
+        Amostras.verifica(validator, valido, true);
+        Amostras.verifica(validator, invalido, false);
+    }
+
+    @Benchmark
+    public boolean isValidComValorValido() {
+        return validator.isValid(valido);
+    }
+
+    @Benchmark
+    public InvalidValue invalidValueForComValorInvalido() {
+        return validator.invalidValueFor(invalido);
+    }
+
+    @Benchmark
+    public List<ValidationMessage> invalidMessagesForComValorValido() {
+        return validator.invalidMessagesFor(valido);
+    }
+
+    @Benchmark
+    public List<ValidationMessage> invalidMessagesForComValorInvalido() {
+        return validator.invalidMessagesFor(invalido);
+    }
+
+    @Benchmark
+    public Object assertValidComValorInvalido() {
+        try {
+            validator.assertValid(invalido);
+            return null;
+        } catch (InvalidStateException e) {
+            return e;
+        }
+    }
+
+}
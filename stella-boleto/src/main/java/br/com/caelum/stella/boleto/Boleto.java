@@ -2,7 +2,6 @@ package br.com.caelum.stella.boleto;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
 
@@ -17,6 +16,11 @@ import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
  */
 public class Boleto {
 
+    /**
+     * 07/10/1997, a data base do fator de vencimento, em dias desde 1970.
+     */
+    private static final int DATA_BASE_FATOR_VENCIMENTO = Formatador.dias(1997, 10, 7);
+
     private BigDecimal valorBoleto;
 
     private BigDecimal quantidadeMoeda;
@@ -444,37 +448,13 @@ public class Boleto {
      * @return
      */
     public String getFatorVencimento() {
-        Calendar dataBase = Calendar.getInstance();
-        dataBase.set(Calendar.DAY_OF_MONTH, 7);
-        dataBase.set(Calendar.MONTH, 10 - 1);
-        dataBase.set(Calendar.YEAR, 1997);
-        dataBase.set(Calendar.HOUR_OF_DAY, 0);
-        dataBase.set(Calendar.MINUTE, 0);
-        dataBase.set(Calendar.SECOND, 0);
-        dataBase.set(Calendar.MILLISECOND, 0);
-
-        Calendar vencimentoSemHoras = Calendar.getInstance();
-        vencimentoSemHoras.set(Calendar.DAY_OF_MONTH, this.datas
-                .getVencimento().get(Calendar.DAY_OF_MONTH));
-        vencimentoSemHoras.set(Calendar.MONTH, this.datas.getVencimento().get(
-                Calendar.MONTH));
-        vencimentoSemHoras.set(Calendar.YEAR, this.datas.getVencimento().get(
-                Calendar.YEAR));
-        vencimentoSemHoras.set(Calendar.HOUR_OF_DAY, 0);
-        vencimentoSemHoras.set(Calendar.MINUTE, 0);
-        vencimentoSemHoras.set(Calendar.SECOND, 0);
-        vencimentoSemHoras.set(Calendar.MILLISECOND, 0);
-
-        long diferencasEmMiliSegundos = vencimentoSemHoras.getTimeInMillis()
-                - dataBase.getTimeInMillis();
-        long diferencasEmDias = diferencasEmMiliSegundos
-                / (1000 * 60 * 60 * 24);
+        int diferencasEmDias = Formatador.dias(this.datas.getVencimento()) - DATA_BASE_FATOR_VENCIMENTO;
 
         if (diferencasEmDias > 9999) {
             throw new CriacaoBoletoException("Data fora do formato aceito!");
         }
 
-        return String.valueOf((int) diferencasEmDias);
+        return String.valueOf(diferencasEmDias);
     }
 
     /**
@@ -483,8 +463,7 @@ public class Boleto {
      * @return
      */
     public String getValorFormatado() {
-        return String.format("%011.2f", this.valorBoleto).replaceAll("[^0-9]",
-                "");
+        return Formatador.centavos(this.valorBoleto, 11);
     }
 
     /**
@@ -501,6 +480,6 @@ public class Boleto {
      * @return
      */
     public String getNumeroDoDocumentoFormatado() {
-    	return String.format("%04d", Integer.parseInt(this.numeroDocumento));
+    	return Formatador.zeros(Integer.parseInt(this.numeroDocumento), 4);
     }
 }
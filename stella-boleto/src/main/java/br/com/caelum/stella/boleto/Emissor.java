@@ -258,7 +258,7 @@ public class Emissor {
 	 * @return
 	 */
 	public String getAgenciaFormatado() {
-		return String.format("%04d", this.agencia);
+		return Formatador.zeros(this.agencia, 4);
 	}
 
 	/**
@@ -0,0 +1,125 @@
+package br.com.caelum.stella.boleto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Calendar;
+
+/**
+ * Formatações usadas na geração de cada boleto: números com zeros à esquerda,
+ * datas no formato dd/mm/aaaa e a contagem de dias entre datas. Substitui o
+ * <code>String.format</code> e a aritmética com {@link Calendar} no caminho de
+ * geração dos boletos, e pode escrever diretamente num {@link StringBuilder}
+ * compartilhado.
+ */
+public final class Formatador {
+
+    private Formatador() {
+    }
+
+    /**
+     * Equivalente a <code>String.format("%0Nd", numero)</code>.
+     *
+     * @param numero
+     * @param digitos
+     *            quantidade mínima de caracteres, incluindo o sinal
+     * @return o número com zeros à esquerda
+     */
+    public static String zeros(final long numero, final int digitos) {
+        return zeros(new StringBuilder(Math.max(digitos, 20)), numero, digitos).toString();
+    }
+
+    /**
+     * Escreve o número com zeros à esquerda, como
+     * <code>String.format("%0Nd", numero)</code>, no final do destino.
+     *
+     * @param destino
+     * @param numero
+     * @param digitos
+     *            quantidade mínima de caracteres, incluindo o sinal
+     * @return o próprio destino
+     */
+    public static StringBuilder zeros(final StringBuilder destino, final long numero, final int digitos) {
+        int tamanho = numero < 0 ? 2 : 1;
+        for (long resto = numero / 10; resto != 0; resto /= 10) {
+            tamanho++;
+        }
+        if (numero < 0) {
+            destino.append('-');
+        }
+        for (int i = tamanho; i < digitos; i++) {
+            destino.append('0');
+        }
+        if (numero == Long.MIN_VALUE) {
+            return destino.append("9223372036854775808");
+        }
+        return destino.append(Math.abs(numero));
+    }
+
+    /**
+     * Equivalente a
+     * <code>String.format("%0N.2f", valor).replaceAll("[^0-9]", "")</code>,
+     * isto é, o valor em centavos com N - 1 dígitos.
+     *
+     * @param valor
+     * @param tamanho
+     *            tamanho do valor formatado com a vírgula, como no
+     *            <code>String.format</code>
+     */
+    public static String centavos(final BigDecimal valor, final int tamanho) {
+        if (valor.signum() < 0) {
+            return String.format("%0" + tamanho + ".2f", valor).replaceAll("[^0-9]", "");
+        }
+        return zeros(valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue(), tamanho - 1);
+    }
+
+    /**
+     * @param data
+     * @return a data no formato dd/mm/aaaa.
+     */
+    public static String data(final Calendar data) {
+        return data(new StringBuilder(10), data).toString();
+    }
+
+    /**
+     * Escreve a data no formato dd/mm/aaaa no final do destino.
+     *
+     * @param destino
+     * @param data
+     * @return o próprio destino
+     */
+    public static StringBuilder data(final StringBuilder destino, final Calendar data) {
+        zeros(destino, data.get(Calendar.DAY_OF_MONTH), 2).append('/');
+        zeros(destino, data.get(Calendar.MONTH) + 1, 2).append('/');
+        return zeros(destino, data.get(Calendar.YEAR), 4);
+    }
+
+    /**
+     * @param data
+     * @return a quantidade de dias entre 01/01/1970 e o dia da data,
+     *         desconsiderando horas e fuso horário.
+     */
+    public static int dias(final Calendar data) {
+        return dias(data.get(Calendar.YEAR), data.get(Calendar.MONTH) + 1, data.get(Calendar.DAY_OF_MONTH));
+    }
+
+    /**
+     * Conta os dias entre 01/01/1970 e o dia indicado, no calendário
+     * gregoriano, sem criar nenhum {@link Calendar}.
+     *
+     * @param ano
+     * @param mes
+     *            de 1 a 12
+     * @param dia
+     * @return a quantidade de dias, negativa para datas anteriores a 1970.
+     */
+    public static int dias(final int ano, final int mes, final int dia) {
+        // anos começando em março, para o dia 29 de fevereiro ficar no fim
+        int y = mes <= 2 ? ano - 1 : ano;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int anoDaEra = y - era * 400;
+        int diaDoAno = (153 * (mes > 2 ? mes - 3 : mes + 9) + 2) / 5 + dia - 1;
+        int diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+        return era * 146097 + diaDaEra - 719468;
+    }
+
+}
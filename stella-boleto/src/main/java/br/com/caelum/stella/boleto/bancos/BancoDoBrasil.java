@@ -3,6 +3,7 @@ package br.com.caelum.stella.boleto.bancos;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 /**
@@ -90,25 +91,25 @@ public class BancoDoBrasil implements Banco {
     
     public String getNumeroConvenioDoEmissorFormatado(Emissor emissor) {
     	if (emissor.getNumeroConvenio() < 1000000) {
-    		return String.format("%06d", emissor.getNumeroConvenio());
+    		return Formatador.zeros(emissor.getNumeroConvenio(), 6);
     	} else {
-    		return String.format("%07d", emissor.getNumeroConvenio());
+    		return Formatador.zeros(emissor.getNumeroConvenio(), 7);
     	}
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%08d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 8);
     }
 
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%02d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 2);
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
         if (emissor.getCarteira() == 18) {
-            return String.format("%017d", emissor.getNossoNumero());
+            return Formatador.zeros(emissor.getNossoNumero(), 17);
         } else {
-            return String.format("%011d", emissor.getNossoNumero());
+            return Formatador.zeros(emissor.getNossoNumero(), 11);
         }
     }
 
@@ -3,6 +3,7 @@ package br.com.caelum.stella.boleto.bancos;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 /**
@@ -72,19 +73,19 @@ public class Bradesco implements Banco {
     }
     
     public String getNumeroConvenioDoEmissorFormatado(Emissor emissor) {
-    	return String.format("%07d", emissor.getNumeroConvenio());
+    	return Formatador.zeros(emissor.getNumeroConvenio(), 7);
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%07d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 7);
     }
 
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%02d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 2);
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
-        return String.format("%011d", emissor.getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), 11);
     }
 
 }
@@ -5,6 +5,7 @@ import java.net.URL;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 public class Caixa implements Banco {
@@ -46,19 +47,19 @@ public class Caixa implements Banco {
     }
 
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%02d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 2);
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%05d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 5);
     }
 
     public String getCodigoFornecidoPelaAgenciaFormatado(Emissor emissor) {
-        return String.format("%08d", emissor.getCodigoFornecidoPelaAgencia());
+        return Formatador.zeros(emissor.getCodigoFornecidoPelaAgencia(), 8);
     }
 
     public String getCodigoOperacaoFormatado(Emissor emissor) {
-        return String.format("%03d", emissor.getCodigoOperacao());
+        return Formatador.zeros(emissor.getCodigoOperacao(), 3);
     }
 
     public URL getImage() {
@@ -69,8 +70,7 @@ public class Caixa implements Banco {
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
         int length = 10 - (emissor.getCarteira() / 10);
-        return String.format("%0" + (length - 1) + "d", emissor
-                .getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), length - 1);
     }
 
     public String getNumeroFormatado() {
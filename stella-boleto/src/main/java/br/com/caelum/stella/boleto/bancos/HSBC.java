@@ -3,6 +3,7 @@ package br.com.caelum.stella.boleto.bancos;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 
 import java.net.URL;
 import java.util.Calendar;
@@ -29,16 +30,21 @@ public class HSBC implements Banco {
     private GeradorDeDigitoDeBoleto dvGenerator = new GeradorDeDigitoDeBoleto();
     private static final String CODIGO_APLICATIVO = "2";
 
-    private int getSegundoDigitoVerificador(Boleto boleto) {
+    /**
+     * 01/07/1997, em dias desde 1970.
+     */
+    private static final int DATA_LIMITE = Formatador.dias(1997, 7, 1);
+
+    private int getSegundoDigitoVerificador(Boleto boleto, String nossoNumero, int primeiroDigitoVerificador,
+            int tipo) {
         /*
            * estou deixando todo mundo com o mesmo numero de digitos do codigo
            * para facilitar no calculo.
            */
 
-        int tipo = getTipoIdentificador(boleto);
-        long codigoDoDocumento = Long.parseLong(getNossoNumeroDoEmissorFormatado(boleto.getEmissor()));
+        long codigoDoDocumento = Long.parseLong(nossoNumero);
         long codigo = Long.valueOf("" + codigoDoDocumento
-                + getPrimeiroDigitoVerificador(boleto)
+                + primeiroDigitoVerificador
                 + tipo);
         int codigoDoCedente = boleto.getEmissor().getCodigoFornecidoPelaAgencia();
 
@@ -46,11 +52,13 @@ public class HSBC implements Banco {
         String soma;
         if (tipo == 4) {
 
-            int data = Integer.valueOf(String.format("%1$td%1$tm%1$ty", boleto.getDatas()
-                    .getVencimento()));
-            soma = String.format("%010d", codigo + codigoDoCedente + data);
+            // ddmmaa
+            Calendar vencimento = boleto.getDatas().getVencimento();
+            int data = vencimento.get(Calendar.DAY_OF_MONTH) * 10000 + (vencimento.get(Calendar.MONTH) + 1) * 100
+                    + vencimento.get(Calendar.YEAR) % 100;
+            soma = Formatador.zeros(codigo + codigoDoCedente + data, 10);
         } else {
-            soma = String.format("%010d", codigo + codigoDoCedente);
+            soma = Formatador.zeros(codigo + codigoDoCedente, 10);
         }
         resultado = 0;
         int i = 0;
@@ -66,22 +74,21 @@ public class HSBC implements Banco {
     }
 
     public String getCodigoDoDocumentoFinalComDigitosVerificadores(Boleto boleto) {
-        return String.format("%s%d%d%d", boleto.getNumeroDoDocumento(), getPrimeiroDigitoVerificador(boleto), getTipoIdentificador(boleto), getSegundoDigitoVerificador(boleto));
+        String nossoNumero = getNossoNumeroDoEmissorFormatado(boleto.getEmissor());
+        int primeiroDigitoVerificador = getPrimeiroDigitoVerificador(nossoNumero);
+        int tipo = getTipoIdentificador(boleto);
+        return new StringBuilder().append(boleto.getNumeroDoDocumento()).append(primeiroDigitoVerificador).append(
+                tipo).append(getSegundoDigitoVerificador(boleto, nossoNumero, primeiroDigitoVerificador, tipo))
+                .toString();
     }
 
-    private int getPrimeiroDigitoVerificador(Boleto boleto) {
-        return dvGenerator
-                .geraDigitoMod11(getNossoNumeroDoEmissorFormatado(boleto.getEmissor()));
+    private int getPrimeiroDigitoVerificador(String nossoNumero) {
+        return dvGenerator.geraDigitoMod11(nossoNumero);
     }
 
     public String geraCodigoDeBarrasPara(Boleto boleto) {
-        StringBuilder digitosVerificadores = new StringBuilder();
-        int primeiroDigitoVerificador = getPrimeiroDigitoVerificador(boleto);
+        String nossoNumero = getNossoNumeroDoEmissorFormatado(boleto.getEmissor());
         int tipo = getTipoIdentificador(boleto);
-        int segundoDigitoVerificador = getSegundoDigitoVerificador(boleto);
-        digitosVerificadores.append(primeiroDigitoVerificador);
-        digitosVerificadores.append(tipo);
-        digitosVerificadores.append(segundoDigitoVerificador);
 
         StringBuilder codigoDeBarras = new StringBuilder();
         codigoDeBarras.append(getNumeroFormatado());
@@ -91,13 +98,11 @@ public class HSBC implements Banco {
         /*
            * codigo do cedente
            */
-        codigoDeBarras.append(String.format("%07d", boleto.getEmissor()
-                .getCodigoFornecidoPelaAgencia()));
+        Formatador.zeros(codigoDeBarras, boleto.getEmissor().getCodigoFornecidoPelaAgencia(), 7);
         /*
            * codigo do documento.
            */
-        codigoDeBarras.append(getNossoNumeroDoEmissorFormatado(boleto
-                .getEmissor()));
+        codigoDeBarras.append(nossoNumero);
 
         /*
            * n�o sei o que � retorno de tres digitos
@@ -134,11 +139,7 @@ public class HSBC implements Banco {
            * calculando.
            */
         String result;
-        Calendar dataLimite = Calendar.getInstance();
-        dataLimite.set(Calendar.DAY_OF_MONTH, 1);
-        dataLimite.set(Calendar.MONTH, 7 - 1);
-        dataLimite.set(Calendar.YEAR, 1997);
-        if (vencimento.before(dataLimite)) {
+        if (Formatador.dias(vencimento) < DATA_LIMITE) {
             result = "0000";
         } else {
             if (tipo == 4) {
@@ -154,8 +155,7 @@ public class HSBC implements Banco {
                      */
                 int diaDoAno = vencimento.get(Calendar.DAY_OF_YEAR);
                 int digitoDoAno = vencimento.get(Calendar.YEAR) % 10;
-                result = String.format("%03d%d", diaDoAno,
-                        digitoDoAno);
+                result = Formatador.zeros(new StringBuilder(4), diaDoAno, 3).append(digitoDoAno).toString();
 
             } else if (tipo == 5) {
                 result = "0000";
@@ -171,7 +171,7 @@ public class HSBC implements Banco {
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%07d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 7);
     }
 
     public URL getImage() {
@@ -181,7 +181,7 @@ public class HSBC implements Banco {
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
-        return String.format("%013d", emissor.getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), 13);
     }
 
     public String getNumeroFormatado() {
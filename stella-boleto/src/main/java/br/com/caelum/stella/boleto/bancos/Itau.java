@@ -5,6 +5,7 @@ import java.net.URL;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 public class Itau implements Banco {
@@ -38,11 +39,11 @@ public class Itau implements Banco {
     }
 
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%03d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 3);
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%05d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 5);
     }
 
     public URL getImage() {
@@ -52,7 +53,7 @@ public class Itau implements Banco {
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
-        return String.format("%08d", emissor.getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), 8);
     }
 
     public String getNumeroFormatado() {
@@ -7,9 +7,20 @@ public class LinhaDigitavelGenerator {
     private final GeradorDeDigitoDeBoleto dvGenerator = new GeradorDeDigitoDeBoleto();
 
     public String geraLinhaDigitavelPara(Boleto boleto) {
-        Banco banco = boleto.getBanco();
+        return geraLinhaDigitavelPara(boleto, boleto.getBanco().geraCodigoDeBarrasPara(boleto));
+    }
 
-        String codigoDeBarras = banco.geraCodigoDeBarrasPara(boleto);
+    /**
+     * Gera a linha digitável a partir de um código de barras já calculado para
+     * o boleto, evitando que ele seja calculado novamente.
+     * 
+     * @param boleto
+     * @param codigoDeBarras
+     *            código de barras do boleto
+     * @return
+     */
+    public String geraLinhaDigitavelPara(Boleto boleto, String codigoDeBarras) {
+        Banco banco = boleto.getBanco();
 
         StringBuilder bloco1 = new StringBuilder();
         bloco1.append(banco.getNumeroFormatado());
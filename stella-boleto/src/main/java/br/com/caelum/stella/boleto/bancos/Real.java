@@ -5,6 +5,7 @@ import java.net.URL;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 
 public class Real implements Banco {
 
@@ -60,14 +61,14 @@ public class Real implements Banco {
     }
 
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%02d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 2);
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%07d", emissor.getContaCorrente());
+        return Formatador.zeros(emissor.getContaCorrente(), 7);
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
-        return String.format("%013d", emissor.getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), 13);
     }
 }
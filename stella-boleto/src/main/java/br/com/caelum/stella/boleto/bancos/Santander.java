@@ -4,6 +4,7 @@ import java.net.URL;
 import br.com.caelum.stella.boleto.Banco;
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 public class Santander implements Banco {
@@ -44,15 +45,14 @@ public class Santander implements Banco {
     }
 
     public String getValorFormatado(Boleto boleto) {
-        return String.format("%010.2f", boleto.getValorBoleto()).replaceAll("[^0-9]",
-                "");
+        return Formatador.centavos(boleto.getValorBoleto(), 10);
     }
     public String getCarteiraDoEmissorFormatado(Emissor emissor) {
-        return String.format("%03d", emissor.getCarteira());
+        return Formatador.zeros(emissor.getCarteira(), 3);
     }
 
     public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
-        return String.format("%07d",emissor.getCodigoFornecidoPelaAgencia());
+        return Formatador.zeros(emissor.getCodigoFornecidoPelaAgencia(), 7);
     }
 
     public URL getImage() {
@@ -62,7 +62,7 @@ public class Santander implements Banco {
     }
 
     public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
-        return String.format("%013d", emissor.getNossoNumero());
+        return Formatador.zeros(emissor.getNossoNumero(), 13);
     }
 
     public String getNumeroFormatado() {
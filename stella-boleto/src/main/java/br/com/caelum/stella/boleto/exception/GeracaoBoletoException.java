@@ -18,4 +18,8 @@ public class GeracaoBoletoException extends BoletoException {
         super(e);
     }
 
+    public GeracaoBoletoException(String message) {
+        super(message);
+    }
+
 }
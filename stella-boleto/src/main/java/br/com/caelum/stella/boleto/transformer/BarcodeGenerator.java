@@ -1,34 +1,145 @@
 package br.com.caelum.stella.boleto.transformer;
 
-import java.awt.Color;
-import java.awt.Image;
-
-import com.lowagie.text.Element;
-import com.lowagie.text.pdf.BarcodeInter25;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.Arrays;
 
 /**
- * Implementa um gerador de códigos de barras
- * 
+ * Codificação do código de barras dos boletos, no padrão Intercalado 2 de 5
+ * (Interleaved 2 of 5), sem depender do AWT ou do iText. As barras são
+ * descritas pelas suas larguras e cada writer as desenha no seu próprio
+ * formato, sem perda de resolução.
+ *
  * @author Cauê Guerra
  * @author Paulo Silveira
- * 
  */
 class BarcodeGenerator {
 
     /**
-     * Retorna uma imagem com o código de barras para uma determinada String
-     * 
+     * Largura de uma barra ou espaço largo, em módulos. As barras e espaços
+     * finos têm um módulo.
+     */
+    static final int WIDE = 3;
+
+    /**
+     * Barras largas (1) e finas (0) de cada dígito.
+     */
+    private static final byte[][] PATTERNS = { { 0, 0, 1, 1, 0 }, { 1, 0, 0, 0, 1 }, { 0, 1, 0, 0, 1 },
+            { 1, 1, 0, 0, 0 }, { 0, 0, 1, 0, 1 }, { 1, 0, 1, 0, 0 }, { 0, 1, 1, 0, 0 }, { 0, 0, 0, 1, 1 },
+            { 1, 0, 0, 1, 0 }, { 0, 1, 0, 1, 0 } };
+
+    /**
+     * Retorna as larguras, em módulos, das barras e espaços do código de
+     * barras para uma determinada String, alternando barras e espaços e
+     * começando por uma barra. Caracteres que não são dígitos são ignorados e
+     * um zero é acrescentado à esquerda quando a quantidade de dígitos é
+     * ímpar.
+     *
+     * @param code
+     */
+    static byte[] generateBarsFor(final String code) {
+        StringBuilder digits = new StringBuilder(code.length() + 1);
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if ((digits.length() & 1) != 0) {
+            digits.insert(0, '0');
+        }
+
+        byte[] bars = new byte[4 + digits.length() * 5 + 3];
+        Arrays.fill(bars, 0, 4, (byte) 1);
+        int k = 4;
+        for (int i = 0; i < digits.length(); i += 2) {
+            byte[] bar = PATTERNS[digits.charAt(i) - '0'];
+            byte[] space = PATTERNS[digits.charAt(i + 1) - '0'];
+            for (int j = 0; j < 5; j++) {
+                bars[k++] = (byte) (bar[j] == 1 ? WIDE : 1);
+                bars[k++] = (byte) (space[j] == 1 ? WIDE : 1);
+            }
+        }
+        bars[k++] = WIDE;
+        bars[k++] = 1;
+        bars[k] = 1;
+        return bars;
+    }
+
+    /**
+     * @param bars
+     *            larguras das barras e espaços
+     * @return a largura total, em módulos.
+     */
+    static int widthOf(final byte[] bars) {
+        int width = 0;
+        for (byte bar : bars) {
+            width += bar;
+        }
+        return width;
+    }
+
+    /**
+     * Retorna uma imagem de 1 bit por pixel com o código de barras para uma
+     * determinada String, em que cada barra começa e termina no pixel mais
+     * próximo da sua posição exata.
+     *
+     * @param code
+     * @param moduleWidth
+     *            largura de um módulo, em pixels
+     * @param height
+     *            altura, em pixels
+     */
+    static BufferedImage generateRasterFor(final String code, final float moduleWidth, final int height) {
+        byte[] bars = generateBarsFor(code);
+        int width = Math.round(widthOf(bars) * moduleWidth);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int stride = (width + 7) >> 3;
+
+        // no modelo padrão, 1 é branco e 0 é preto
+        Arrays.fill(pixels, 0, stride, (byte) 0xff);
+        int modules = 0;
+        for (int i = 0; i < bars.length; i++) {
+            int start = Math.round(modules * moduleWidth);
+            modules += bars[i];
+            if ((i & 1) == 0) {
+                int end = Math.round(modules * moduleWidth);
+                for (int x = start; x < end; x++) {
+                    pixels[x >> 3] &= ~(0x80 >> (x & 7));
+                }
+            }
+        }
+        for (int y = 1; y < height; y++) {
+            System.arraycopy(pixels, 0, pixels, y * stride, stride);
+        }
+        return image;
+    }
+
+    /**
+     * Retorna um SVG com o código de barras para uma determinada String, com
+     * uma unidade por módulo.
+     *
      * @param code
+     * @param height
+     *            altura, em módulos
      */
-    static Image generateBarcodeFor(String code,float barHeight) {
-        BarcodeInter25 bar = new BarcodeInter25();
-        bar.setCode(code);
-        bar.setExtended(true);       
-        bar.setTextAlignment(Element.ALIGN_LEFT);
-        bar.setBarHeight(barHeight);           
-        bar.setFont(null);
-        bar.setX(0.73f);
-        bar.setN(3);          
-        return bar.createAwtImage(Color.BLACK, Color.WHITE);
+    static String generateSvgFor(final String code, final int height) {
+        byte[] bars = generateBarsFor(code);
+        int width = widthOf(bars);
+        StringBuilder svg = new StringBuilder(64 + bars.length * 8);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width).append("\" height=\"")
+                .append(height).append("\" viewBox=\"0 0 ").append(width).append(' ').append(height).append(
+                        "\" shape-rendering=\"crispEdges\"><path d=\"");
+        int x = 0;
+        for (int i = 0; i < bars.length; i++) {
+            if ((i & 1) == 0) {
+                svg.append('M').append(x).append(" 0h").append(bars[i]).append('v').append(height).append("h-")
+                        .append(bars[i]).append('z');
+            }
+            x += bars[i];
+        }
+        svg.append("\"/></svg>");
+        return svg.toString();
     }
 }
@@ -0,0 +1,23 @@
+package br.com.caelum.stella.boleto.transformer;
+
+/**
+ * TextWriter capaz de desenhar o código de barras diretamente no seu formato,
+ * sem passar por uma imagem intermediária.
+ */
+public interface BarcodeWriter extends TextWriter {
+
+    /**
+     * Escreve o código de barras, no padrão Intercalado 2 de 5, com o canto
+     * inferior esquerdo na posição x, y.
+     * 
+     * @param x
+     * @param y
+     * @param code
+     *            dígitos do código de barras
+     * @param moduleWidth
+     *            largura de uma barra fina
+     * @param height
+     */
+    void writeBarcode(float x, float y, String code, float moduleWidth, float height);
+
+}
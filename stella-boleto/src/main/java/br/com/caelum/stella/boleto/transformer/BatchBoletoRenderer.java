@@ -0,0 +1,368 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.BadPdfFormatException;
+import com.lowagie.text.pdf.PRIndirectReference;
+import com.lowagie.text.pdf.PRStream;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfDictionary;
+import com.lowagie.text.pdf.PdfIndirectReference;
+import com.lowagie.text.pdf.PdfName;
+import com.lowagie.text.pdf.PdfObject;
+import com.lowagie.text.pdf.PdfReader;
+
+/**
+ * <p>
+ * Geração de grandes quantidades de boletos em PDF usando várias threads. Os
+ * boletos são divididos em lotes, cada lote é gerado de forma independente
+ * por uma tarefa do {@link ExecutorService} indicado e os resultados são
+ * montados na mesma ordem em que os boletos foram passados.
+ * </p>
+ * <p>
+ * Apenas uma quantidade limitada de lotes fica pendente ao mesmo tempo, de
+ * modo que a memória utilizada não depende da quantidade de boletos quando o
+ * resultado é gravado em um stream. O executor não é finalizado por essa
+ * classe.
+ * </p>
+ */
+public class BatchBoletoRenderer {
+
+    /**
+     * Quantidade padrão de boletos gerados por tarefa.
+     */
+    public static final int DEFAULT_BOLETOS_POR_TAREFA = 32;
+
+    private final ExecutorService executor;
+
+    private final int boletosPorTarefa;
+
+    private final int tarefasPendentes;
+
+    public BatchBoletoRenderer(final ExecutorService executor) {
+        this(executor, DEFAULT_BOLETOS_POR_TAREFA);
+    }
+
+    /**
+     * @param executor
+     * @param boletosPorTarefa
+     *            quantidade de boletos gerados por cada tarefa.
+     */
+    public BatchBoletoRenderer(final ExecutorService executor, final int boletosPorTarefa) {
+        this(executor, boletosPorTarefa, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param executor
+     * @param boletosPorTarefa
+     *            quantidade de boletos gerados por cada tarefa.
+     * @param tarefasPendentes
+     *            quantidade máxima de tarefas submetidas e ainda não montadas.
+     */
+    public BatchBoletoRenderer(final ExecutorService executor, final int boletosPorTarefa,
+            final int tarefasPendentes) {
+        if (boletosPorTarefa < 1 || tarefasPendentes < 1) {
+            throw new IllegalArgumentException("Batch and window sizes must be positive.");
+        }
+        this.executor = executor;
+        this.boletosPorTarefa = boletosPorTarefa;
+        this.tarefasPendentes = tarefasPendentes;
+    }
+
+    /**
+     * Gera um único PDF com os boletos, um por página e na ordem em que foram
+     * passados, gravando no stream indicado. O stream não é fechado.
+     *
+     * @param boletos
+     * @param os
+     * @throws GeracaoBoletoException
+     *             se não houver boletos, já que um PDF precisa de ao menos
+     *             uma página; nada é gravado no stream nesse caso.
+     */
+    public void toPDF(final Iterable<Boleto> boletos, final OutputStream os) {
+        Montagem montagem = new Montagem(os);
+        render(boletos, false, montagem);
+        montagem.close();
+    }
+
+    /**
+     * Gera um PDF para cada boleto.
+     *
+     * @param boletos
+     * @return os PDFs, na ordem em que os boletos foram passados.
+     */
+    public List<byte[]> toPDFs(final Iterable<Boleto> boletos) {
+        final List<byte[]> pdfs = new ArrayList<byte[]>();
+        render(boletos, true, new Destino() {
+            public void receive(final byte[] pdf) {
+                pdfs.add(pdf);
+            }
+        });
+        return pdfs;
+    }
+
+    /**
+     * Gera um PDF para cada boleto e os grava, na ordem em que foram passados,
+     * como entradas <code>boleto-1.pdf</code>, <code>boleto-2.pdf</code>,
+     * etc. de um arquivo ZIP no stream indicado. O stream não é fechado.
+     *
+     * @param boletos
+     * @param os
+     */
+    public void toZip(final Iterable<Boleto> boletos, final OutputStream os) {
+        final ZipOutputStream zip = new ZipOutputStream(os);
+        render(boletos, true, new Destino() {
+            private int count;
+
+            public void receive(final byte[] pdf) throws IOException {
+                zip.putNextEntry(new ZipEntry("boleto-" + (++count) + ".pdf"));
+                zip.write(pdf);
+                zip.closeEntry();
+            }
+        });
+        try {
+            zip.finish();
+        } catch (IOException e) {
+            throw new GeracaoBoletoException("Erro na geração dos boletos em ZIP", e);
+        }
+    }
+
+    private void render(final Iterable<Boleto> boletos, final boolean umPorBoleto, final Destino destino) {
+        LinkedList<Future<List<byte[]>>> pendentes = new LinkedList<Future<List<byte[]>>>();
+        try {
+            List<Boleto> lote = new ArrayList<Boleto>(boletosPorTarefa);
+            for (Boleto boleto : boletos) {
+                lote.add(boleto);
+                if (lote.size() == boletosPorTarefa) {
+                    pendentes.add(executor.submit(new Tarefa(lote, umPorBoleto)));
+                    lote = new ArrayList<Boleto>(boletosPorTarefa);
+                    if (pendentes.size() >= tarefasPendentes) {
+                        deliver(pendentes.removeFirst(), destino);
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                pendentes.add(executor.submit(new Tarefa(lote, umPorBoleto)));
+            }
+            while (!pendentes.isEmpty()) {
+                deliver(pendentes.removeFirst(), destino);
+            }
+        } catch (IOException e) {
+            throw new GeracaoBoletoException("Erro na geração dos boletos", e);
+        } finally {
+            for (Future<List<byte[]>> pendente : pendentes) {
+                pendente.cancel(true);
+            }
+        }
+    }
+
+    private void deliver(final Future<List<byte[]>> tarefa, final Destino destino) throws IOException {
+        List<byte[]> pdfs;
+        try {
+            pdfs = tarefa.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeracaoBoletoException("Geração dos boletos interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GeracaoBoletoException("Erro na geração dos boletos", e);
+        }
+        for (byte[] pdf : pdfs) {
+            destino.receive(pdf);
+        }
+    }
+
+    private interface Destino {
+        void receive(byte[] pdf) throws IOException;
+    }
+
+    /**
+     * Gera um lote de boletos em um único PDF ou em um PDF para cada boleto.
+     */
+    private static class Tarefa implements Callable<List<byte[]>> {
+
+        private final List<Boleto> lote;
+
+        private final boolean umPorBoleto;
+
+        Tarefa(final List<Boleto> lote, final boolean umPorBoleto) {
+            this.lote = lote;
+            this.umPorBoleto = umPorBoleto;
+        }
+
+        public List<byte[]> call() throws IOException {
+            if (!umPorBoleto) {
+                return Collections.singletonList(toPDF(lote));
+            }
+            List<byte[]> pdfs = new ArrayList<byte[]>(lote.size());
+            for (Boleto boleto : lote) {
+                pdfs.add(toPDF(Collections.singletonList(boleto)));
+            }
+            return pdfs;
+        }
+
+        private byte[] toPDF(final List<Boleto> boletos) throws IOException {
+            PDFBoletoWriter writer = new PDFBoletoWriter();
+            new BoletoTransformer(writer).write(boletos);
+            InputStream is = writer.toInputStream();
+            try {
+                byte[] pdf = new byte[is.available()];
+                is.read(pdf);
+                return pdf;
+            } finally {
+                is.close();
+            }
+        }
+    }
+
+    /**
+     * Copia as páginas de cada lote para o PDF final.
+     */
+    private static class Montagem implements Destino {
+
+        private final OutputStream os;
+
+        private Document document;
+
+        private PdfCopy copy;
+
+        Montagem(final OutputStream os) {
+            this.os = os;
+        }
+
+        public void receive(final byte[] pdf) throws IOException {
+            try {
+                if (document == null) {
+                    document = new Document();
+                    copy = new CopiaSemImagensRepetidas(document, os);
+                    copy.setCloseStream(false);
+                    document.open();
+                }
+                PdfReader reader = new PdfReader(pdf);
+                for (int i = 1; i <= reader.getNumberOfPages(); i++) {
+                    copy.addPage(copy.getImportedPage(reader, i));
+                }
+                copy.freeReader(reader);
+                copy.flush();
+            } catch (DocumentException e) {
+                throw new GeracaoBoletoException("Erro na geração dos boletos em PDF", e);
+            }
+        }
+
+        void close() {
+            if (document == null) {
+                throw new GeracaoBoletoException("Nenhum boleto para gerar o PDF");
+            }
+            document.close();
+        }
+    }
+
+    /**
+     * Cópia de PDFs em que as imagens repetidas entre os documentos, como o
+     * fundo do boleto e os logotipos, são gravadas uma única vez. Ao contrário
+     * do {@link com.lowagie.text.pdf.PdfSmartCopy}, apenas as imagens são
+     * comparadas, o que mantém o custo da cópia próximo ao do {@link PdfCopy}.
+     */
+    private static class CopiaSemImagensRepetidas extends PdfCopy {
+
+        private final Map<String, PdfIndirectReference> imagens = new HashMap<String, PdfIndirectReference>();
+
+        private final Map<Integer, PdfIndirectReference> copiadasDoDocumento = new HashMap<Integer, PdfIndirectReference>();
+
+        private PdfReader documento;
+
+        CopiaSemImagensRepetidas(final Document document, final OutputStream os) throws DocumentException {
+            super(document, os);
+        }
+
+        @Override
+        protected PdfIndirectReference copyIndirect(final PRIndirectReference in) throws IOException,
+                BadPdfFormatException {
+            PdfObject object = PdfReader.getPdfObjectRelease(in);
+            if (!isImage(object)) {
+                return super.copyIndirect(in);
+            }
+            if (documento != reader) {
+                documento = reader;
+                copiadasDoDocumento.clear();
+            }
+            Integer numero = Integer.valueOf(in.getNumber());
+            PdfIndirectReference ref = copiadasDoDocumento.get(numero);
+            if (ref == null) {
+                String chave = chave((PRStream) object);
+                ref = imagens.get(chave);
+                if (ref == null) {
+                    ref = super.copyIndirect(in);
+                    imagens.put(chave, ref);
+                }
+                copiadasDoDocumento.put(numero, ref);
+            }
+            return ref;
+        }
+
+        private static boolean isImage(final PdfObject object) {
+            return object != null && object.isStream()
+                    && PdfName.IMAGE.equals(((PdfDictionary) object).get(PdfName.SUBTYPE));
+        }
+
+        /**
+         * Identifica a imagem pelos seus bytes e pelos atributos que afetam a
+         * sua exibição, incluindo a máscara de transparência.
+         */
+        private static String chave(final PRStream image) throws IOException {
+            StringBuilder chave = new StringBuilder();
+            try {
+                byte[] digest = MessageDigest.getInstance("MD5").digest(PdfReader.getStreamBytesRaw(image));
+                for (byte b : digest) {
+                    chave.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+                }
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            PdfName[] atributos = { PdfName.WIDTH, PdfName.HEIGHT, PdfName.BITSPERCOMPONENT, PdfName.COLORSPACE,
+                    PdfName.FILTER, PdfName.DECODEPARMS, PdfName.DECODE, PdfName.IMAGEMASK };
+            for (PdfName atributo : atributos) {
+                chave.append('/').append(image.get(atributo));
+            }
+            PdfName[] mascaras = { PdfName.SMASK, PdfName.MASK };
+            for (PdfName mascara : mascaras) {
+                PdfObject object = PdfReader.getPdfObjectRelease(image.get(mascara));
+                chave.append('/');
+                if (isImage(object)) {
+                    chave.append('[').append(chave((PRStream) object)).append(']');
+                } else {
+                    chave.append(object);
+                }
+            }
+            return chave.toString();
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ import java.util.Calendar;
 
 import javax.swing.text.NumberFormatter;
 
+import br.com.caelum.stella.boleto.Formatador;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 
 /**
@@ -17,16 +18,20 @@ import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
  */
 class BoletoFormatter {
 
-    private static final NumberFormatter formatter = new NumberFormatter(new DecimalFormat("#,##0.00"));
-    private static final String datePattern = "%1$td/%1$tm/%1$tY";
+    private static final ThreadLocal<NumberFormatter> formatter = new ThreadLocal<NumberFormatter>() {
+        @Override
+        protected NumberFormatter initialValue() {
+            return new NumberFormatter(new DecimalFormat("#,##0.00"));
+        }
+    };
 
     static String formatDate(final Calendar date) {
-        return String.format(datePattern, date);
+        return Formatador.data(date);
     }
 
     static String formatValue(final double value) {
         try {
-            return formatter.valueToString(value);
+            return formatter.get().valueToString(value);
         } catch (ParseException e) {
             throw new CriacaoBoletoException("Erro na formata��o do valor", e);
         }
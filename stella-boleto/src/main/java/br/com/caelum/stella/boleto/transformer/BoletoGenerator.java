@@ -1,11 +1,17 @@
 package br.com.caelum.stella.boleto.transformer;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
 
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
@@ -23,9 +29,20 @@ import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
  */
 public class BoletoGenerator {
 
-	private final Boleto[] boletos;
+	private final Iterable<Boleto> boletos;
 
 	public BoletoGenerator(Boleto... boletos) {
+		this.boletos = Arrays.asList(boletos);
+	}
+
+	/**
+	 * Os boletos sao consumidos um a um durante a geracao, e portanto podem
+	 * ser obtidos sob demanda; combinado com {@link #toPDF(OutputStream)}, a
+	 * memoria utilizada nao depende da quantidade de boletos.
+	 * 
+	 * @param boletos
+	 */
+	public BoletoGenerator(Iterable<Boleto> boletos) {
 		this.boletos = boletos;
 	}
 
@@ -45,25 +62,65 @@ public class BoletoGenerator {
 	 * @param arquivo
 	 */
 	public void toPDF(File arquivo) {
-		FileOutputStream fos = null;
+		Iterator<Boleto> paraGerar = boletosParaPDF();
+		OutputStream os = null;
 		try {
-			fos = new FileOutputStream(arquivo);
-			byte[] b = toPDF();
-
-			fos.write(b);
-			fos.close();
+			os = new BufferedOutputStream(new FileOutputStream(arquivo));
+			toPDF(os, paraGerar);
 		} catch (FileNotFoundException e) {
 			throw new GeracaoBoletoException(
 					"Erro na geração do boleto em PDF", e);
-		} catch (NumberFormatException e) {
-			throw new GeracaoBoletoException(
-					"Erro na geração do boleto em PDF", e);
-		} catch (IOException e) {
-			throw new GeracaoBoletoException(
-					"Erro na geração do boleto em PDF", e);
 		} finally {
-			tryToClose(fos);
+			if (os != null) {
+				tryToClose(os);
+			}
+		}
+	}
+
+	/**
+	 * Gera um boleto em PDF, gravando cada pagina no canal indicado assim que
+	 * ela e completada. O canal nao e fechado.
+	 * 
+	 * @param canal
+	 */
+	public void toPDF(WritableByteChannel canal) {
+		OutputStream os = new BufferedOutputStream(Channels.newOutputStream(canal));
+		toPDF(os);
+	}
+
+	/**
+	 * Gera um boleto em PDF, gravando cada pagina no stream indicado assim que
+	 * ela e completada, sem manter o documento inteiro em memoria. O stream
+	 * nao e fechado. Sem boletos nada e gravado e uma
+	 * {@link GeracaoBoletoException} e lancada.
+	 * 
+	 * @param os
+	 */
+	public void toPDF(OutputStream os) {
+		toPDF(os, boletosParaPDF());
+	}
+
+	private void toPDF(OutputStream os, final Iterator<Boleto> paraGerar) {
+		PDFBoletoWriter writer = new PDFBoletoWriter(os);
+		new BoletoTransformer(writer).write(new Iterable<Boleto>() {
+			public Iterator<Boleto> iterator() {
+				return paraGerar;
+			}
+		});
+		writer.close();
+	}
+
+	/**
+	 * O iterator e obtido uma unica vez, ja que os boletos podem ser gerados
+	 * sob demanda. Sem boletos o PDF nao teria paginas, e o iText so reclama
+	 * depois de ter gravado o cabecalho no stream.
+	 */
+	private Iterator<Boleto> boletosParaPDF() {
+		Iterator<Boleto> paraGerar = this.boletos.iterator();
+		if (!paraGerar.hasNext()) {
+			throw new GeracaoBoletoException("Nenhum boleto para gerar o PDF");
 		}
+		return paraGerar;
 	}
 
 	private void tryToClose(Closeable c) {
@@ -126,6 +183,17 @@ public class BoletoGenerator {
 		return to(new PNGBoletoWriter());
 	}
 
+	/**
+	 * Devolve um array de bytes representando o PNG desse boleto ja gerado,
+	 * em tons de cinza e na resolução indicada.
+	 * 
+	 * @param dpi
+	 * @see GrayscalePNGBoletoWriter
+	 */
+	public byte[] toGrayscalePNG(int dpi) {
+		return to(new GrayscalePNGBoletoWriter(dpi));
+	}
+
 
 	/**
 	 * Devolve o array de bytes do boleto escrito pelo writer indicado.
@@ -135,7 +203,8 @@ public class BoletoGenerator {
 	private byte[] to(BoletoWriter writer) {
 		BoletoTransformer transformer = new BoletoTransformer(writer);
 
-		InputStream is = transformer.transform(this.boletos);
+		transformer.write(this.boletos);
+		InputStream is = writer.toInputStream();
 
 		byte[] b;
 		try {
@@ -0,0 +1,336 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.imageio.ImageIO;
+
+import br.com.caelum.stella.boleto.Banco;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.bancos.Bradesco;
+import br.com.caelum.stella.boleto.bancos.Caixa;
+import br.com.caelum.stella.boleto.bancos.HSBC;
+import br.com.caelum.stella.boleto.bancos.Itau;
+import br.com.caelum.stella.boleto.bancos.Real;
+import br.com.caelum.stella.boleto.bancos.Santander;
+import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
+
+import com.lowagie.text.BadElementException;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Image;
+
+/**
+ * <p>
+ * Mantém as imagens usadas na geração dos boletos, como o fundo do boleto e o
+ * logotipo dos bancos, já decodificadas, na forma de PNG e na forma usada pelo
+ * PDF, evitando que sejam lidas novamente a cada boleto ou a cada requisição.
+ * </p>
+ * <p>
+ * As imagens são identificadas pelo seu endereço e podem ser usadas por várias
+ * threads ao mesmo tempo, desde que não sejam alteradas. A quantidade de
+ * imagens guardadas é limitada e as usadas há mais tempo são descartadas
+ * primeiro.
+ * </p>
+ */
+public final class BoletoImageCache {
+
+    /**
+     * Quantidade padrão de imagens guardadas.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    static final String IMAGENS = "/br/com/caelum/stella/boleto/img/";
+
+    private static final byte[] ASSINATURA_PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+    private static final BoletoImageCache INSTANCE = new BoletoImageCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final Map<String, BufferedImage> images;
+
+    private final Map<String, Png> pngs;
+
+    private final Map<String, Image> pdfImages;
+
+    /**
+     * @param maximumSize
+     *            quantidade máxima de imagens guardadas em cada uma das formas.
+     */
+    public BoletoImageCache(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        this.images = newLruMap(maximumSize);
+        this.pngs = newLruMap(maximumSize);
+        this.pdfImages = newLruMap(maximumSize);
+    }
+
+    private static <V> Map<String, V> newLruMap(final int maximumSize) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return o cache compartilhado por toda a aplicação.
+     */
+    public static BoletoImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param url
+     *            endereço da imagem.
+     * @return a imagem decodificada, lida apenas na primeira vez em que for
+     *         pedida. A imagem é compartilhada e não deve ser alterada.
+     * @throws IOException
+     *             caso a imagem não possa ser lida.
+     */
+    public BufferedImage getImage(final URL url) throws IOException {
+        String key = url.toExternalForm();
+        synchronized (images) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                return image;
+            }
+        }
+        BufferedImage image = ImageIO.read(url);
+        if (image == null) {
+            throw new IOException("Formato de imagem desconhecido: " + key);
+        }
+        synchronized (images) {
+            images.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * @param url
+     *            endereço da imagem.
+     * @return a imagem no formato PNG, lida apenas na primeira vez em que for
+     *         pedida. Imagens que já estão em PNG são devolvidas sem serem
+     *         decodificadas. O vetor é compartilhado e não deve ser alterado.
+     * @throws IOException
+     *             caso a imagem não possa ser lida.
+     */
+    public byte[] getPng(final URL url) throws IOException {
+        return png(url).bytes;
+    }
+
+    /**
+     * @param url
+     *            endereço da imagem.
+     * @return o MD5, em hexadecimal, dos bytes devolvidos por
+     *         {@link #getPng(URL)}, calculado junto com eles. Serve para
+     *         identificar o conteúdo da imagem, por exemplo num ETag.
+     * @throws IOException
+     *             caso a imagem não possa ser lida.
+     */
+    public String getPngDigest(final URL url) throws IOException {
+        return png(url).digest;
+    }
+
+    private Png png(final URL url) throws IOException {
+        String key = url.toExternalForm();
+        synchronized (pngs) {
+            Png png = pngs.get(key);
+            if (png != null) {
+                return png;
+            }
+        }
+        byte[] png = read(url);
+        if (!isPng(png)) {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                throw new IOException("Formato de imagem desconhecido: " + key);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            png = out.toByteArray();
+        }
+        Png result = new Png(png);
+        synchronized (pngs) {
+            pngs.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param url
+     *            endereço da imagem.
+     * @return a imagem no formato usado pelo PDF, com os pixels já
+     *         comprimidos, preparada apenas na primeira vez em que for pedida.
+     *         Dessa forma, cada documento apenas copia os dados já
+     *         comprimidos. A imagem é compartilhada e não deve ser alterada,
+     *         nem mesmo posicionada ou redimensionada.
+     * @throws IOException
+     *             caso a imagem não possa ser lida.
+     */
+    public Image getPdfImage(final URL url) throws IOException {
+        String key = url.toExternalForm();
+        synchronized (pdfImages) {
+            Image image = pdfImages.get(key);
+            if (image != null) {
+                return image;
+            }
+        }
+        Image image = toPdfImage(getImage(url));
+        synchronized (pdfImages) {
+            pdfImages.put(key, image);
+        }
+        return image;
+    }
+
+    /**
+     * Lê antecipadamente o fundo do boleto e os logotipos dos bancos
+     * suportados, para que nenhum boleto pague pela leitura.
+     *
+     * @throws IOException
+     *             caso alguma das imagens não possa ser lida.
+     */
+    public void preload() throws IOException {
+        preload(new BancoDoBrasil(), new Bradesco(), new Caixa(), new HSBC(), new Itau(), new Real(),
+                new Santander());
+    }
+
+    /**
+     * Lê antecipadamente o fundo do boleto e os logotipos dos bancos
+     * indicados.
+     *
+     * @param bancos
+     * @throws IOException
+     *             caso alguma das imagens não possa ser lida.
+     */
+    public void preload(final Banco... bancos) throws IOException {
+        URL template = BoletoImageCache.class.getResource(IMAGENS + "template.png");
+        preload(template);
+        for (Banco banco : bancos) {
+            preload(banco.getImage());
+        }
+    }
+
+    private void preload(final URL url) throws IOException {
+        getImage(url);
+        getPng(url);
+        getPdfImage(url);
+    }
+
+    /**
+     * @return quantidade de imagens decodificadas guardadas.
+     */
+    public int size() {
+        synchronized (images) {
+            return images.size();
+        }
+    }
+
+    /**
+     * Descarta todas as imagens guardadas.
+     */
+    public void clear() {
+        synchronized (images) {
+            images.clear();
+        }
+        synchronized (pngs) {
+            pngs.clear();
+        }
+        synchronized (pdfImages) {
+            pdfImages.clear();
+        }
+    }
+
+    private static Image toPdfImage(final BufferedImage image) throws IOException {
+        try {
+            Image raw = Image.getInstance(image, null);
+            Image result = deflate(raw);
+            Image mask = raw.getImageMask();
+            if (mask != null) {
+                Image deflatedMask = deflate(mask);
+                deflatedMask.setSmask(mask.isSmask());
+                deflatedMask.makeMask();
+                result.setImageMask(deflatedMask);
+            }
+            return result;
+        } catch (DocumentException e) {
+            throw new GeracaoBoletoException(e);
+        }
+    }
+
+    private static Image deflate(final Image raw) throws IOException, BadElementException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DeflaterOutputStream deflater = new DeflaterOutputStream(out);
+        deflater.write(raw.getRawData());
+        deflater.close();
+        Image result = Image.getInstance((int) raw.getWidth(), (int) raw.getHeight(), raw.getColorspace(), raw
+                .getBpc(), out.toByteArray(), raw.getTransparency());
+        result.setDeflated(true);
+        return result;
+    }
+
+    private static byte[] read(final URL url) throws IOException {
+        InputStream in = url.openStream();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String md5(final byte[] bytes) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("MD5").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    private static boolean isPng(final byte[] bytes) {
+        if (bytes.length < ASSINATURA_PNG.length) {
+            return false;
+        }
+        for (int i = 0; i < ASSINATURA_PNG.length; i++) {
+            if (bytes[i] != ASSINATURA_PNG[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Png {
+
+        private final byte[] bytes;
+
+        private final String digest;
+
+        Png(final byte[] bytes) {
+            this.bytes = bytes;
+            this.digest = md5(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import java.util.Calendar;
+
+import br.com.caelum.stella.boleto.Banco;
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.bancos.LinhaDigitavelGenerator;
+
+/**
+ * <p>
+ * Valores derivados de um {@link Boleto} usados na sua impressão, como o
+ * código de barras, a linha digitável, o fator de vencimento e os campos
+ * formatados. Todos são calculados uma única vez, na criação, e consumidos por
+ * todos os writers.
+ * </p>
+ * <p>
+ * Os valores não acompanham alterações feitas no boleto depois de preparado.
+ * </p>
+ */
+public final class BoletoPreparado {
+
+    private final Boleto boleto;
+
+    private final String codigoDeBarras;
+
+    private final String linhaDigitavel;
+
+    private final String fatorVencimento;
+
+    private final String valor;
+
+    private final String nossoNumero;
+
+    private final String carteira;
+
+    private final String contaCorrente;
+
+    private final String agenciaEContaCorrente;
+
+    private final String vencimento;
+
+    private final String documento;
+
+    private final String processamento;
+
+    public BoletoPreparado(final Boleto boleto) {
+        Banco banco = boleto.getBanco();
+        Emissor emissor = boleto.getEmissor();
+
+        this.boleto = boleto;
+        this.codigoDeBarras = banco.geraCodigoDeBarrasPara(boleto);
+        this.linhaDigitavel = new LinhaDigitavelGenerator().geraLinhaDigitavelPara(boleto, codigoDeBarras);
+        this.fatorVencimento = boleto.getFatorVencimento();
+        this.valor = BoletoFormatter.formatValue(boleto.getValorBoleto().doubleValue());
+        this.nossoNumero = banco.getNossoNumeroDoEmissorFormatado(emissor);
+        this.carteira = banco.getCarteiraDoEmissorFormatado(emissor);
+        this.contaCorrente = banco.getContaCorrenteDoEmissorFormatado(emissor);
+        this.agenciaEContaCorrente = emissor.getAgenciaFormatado() + " / " + contaCorrente + "-"
+                + emissor.getDigitoContaCorrente();
+        this.vencimento = formatDate(boleto.getDatas().getVencimento());
+        this.documento = formatDate(boleto.getDatas().getDocumento());
+        this.processamento = formatDate(boleto.getDatas().getProcessamento());
+    }
+
+    private static String formatDate(final Calendar date) {
+        return date != null ? BoletoFormatter.formatDate(date) : "";
+    }
+
+    public Boleto getBoleto() {
+        return boleto;
+    }
+
+    public String getCodigoDeBarras() {
+        return codigoDeBarras;
+    }
+
+    public String getLinhaDigitavel() {
+        return linhaDigitavel;
+    }
+
+    public String getFatorVencimento() {
+        return fatorVencimento;
+    }
+
+    /**
+     * @return valor do boleto formatado para impressão, como
+     *         <code>1.234,56</code>.
+     */
+    public String getValor() {
+        return valor;
+    }
+
+    public String getNossoNumero() {
+        return nossoNumero;
+    }
+
+    public String getCarteira() {
+        return carteira;
+    }
+
+    public String getContaCorrente() {
+        return contaCorrente;
+    }
+
+    /**
+     * @return agência e conta corrente com dígito do emissor, no formato
+     *         <code>agência / conta-dígito</code>.
+     */
+    public String getAgenciaEContaCorrente() {
+        return agenciaEContaCorrente;
+    }
+
+    /**
+     * @return data de vencimento no formato dd/mm/aaaa.
+     */
+    public String getVencimento() {
+        return vencimento;
+    }
+
+    /**
+     * @return data do documento no formato dd/mm/aaaa.
+     */
+    public String getDocumento() {
+        return documento;
+    }
+
+    /**
+     * @return data de processamento no formato dd/mm/aaaa, ou vazia quando não
+     *         informada.
+     */
+    public String getProcessamento() {
+        return processamento;
+    }
+
+}
@@ -1,6 +1,7 @@
 package br.com.caelum.stella.boleto.transformer;
 
 import java.io.InputStream;
+import java.util.Arrays;
 
 import br.com.caelum.stella.boleto.Boleto;
 
@@ -27,7 +28,18 @@ public class BoletoTransformer {
 	 * 
 	 */
 	public InputStream transform(Boleto... boletos) {
+		write(Arrays.asList(boletos));
+		return this.writer.toInputStream();
+	}
 
+	/**
+	 * Escreve os boletos no writer, um por pagina, sem gerar o resultado.
+	 * Como os boletos sao consumidos um a um, eles podem ser obtidos sob
+	 * demanda, por exemplo de uma consulta ao banco de dados.
+	 * 
+	 * @param boletos
+	 */
+	public void write(Iterable<Boleto> boletos) {
 		boolean firstPage = true;
 		for (Boleto boleto : boletos) {
 			if (!firstPage) {
@@ -36,7 +48,6 @@ public class BoletoTransformer {
 			this.writer.write(boleto);
 			firstPage = false;
 		}
-		return this.writer.toInputStream();
 	}
 
 }
@@ -0,0 +1,636 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
+
+import com.lowagie.text.pdf.BaseFont;
+
+/**
+ * <p>
+ * Writer que sabe escrever num PNG em tons de cinza, com 4 bits por pixel.
+ * Produz o mesmo boleto do {@link PNGBoletoWriter}, com uma fração da memória
+ * e do processamento:
+ * </p>
+ * <ul>
+ * <li>o boleto é composto num canvas de 1 byte por pixel, reaproveitado (e
+ * apenas limpo) entre os boletos gerados; no máximo {@link #CANVAS_LIVRES}
+ * canvas ficam guardados, e apenas por {@link SoftReference}, que o coletor de
+ * lixo pode liberar;</li>
+ * <li>os textos são copiados de glyphs rasterizados uma única vez por fonte e
+ * tamanho, e as imagens são convertidas para cinza uma única vez por canvas,
+ * sem Graphics2D na geração de cada boleto;</li>
+ * <li>o PNG é codificado diretamente, sem ImageIO.</li>
+ * </ul>
+ * <p>
+ * A resolução é configurável; a página tem o mesmo tamanho, em pontos, da do
+ * {@link PNGBoletoWriter}.
+ * </p>
+ */
+public class GrayscalePNGBoletoWriter implements BoletoWriter, BarcodeWriter {
+
+    /**
+     * Resolução padrão, próxima à do {@link PNGBoletoWriter}.
+     */
+    public static final int DEFAULT_DPI = 300;
+
+    /*
+     * Tamanhos da página e das fontes do PNGBoletoWriter, convertidos para
+     * pontos.
+     */
+    private static final float LARGURA = 2144 / 4.16f;
+
+    private static final float ALTURA = 1900 / 4.16f;
+
+    private static final float NORMAL_SIZE = 36 / 4.16f;
+
+    private static final float BIG_SIZE = 45 / 4.16f;
+
+    private static final byte[] ASSINATURA = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n' };
+
+    /**
+     * Tom de cinza de 4 bits mais próximo de cada tom de 8 bits.
+     */
+    private static final int[] QUATRO_BITS = new int[256];
+    static {
+        for (int i = 0; i < QUATRO_BITS.length; i++) {
+            QUATRO_BITS[i] = (i * 15 + 127) / 255;
+        }
+    }
+
+    /**
+     * Quantidade máxima de canvas livres guardados para reaproveitamento. Com
+     * 300 dpi cada um ocupa cerca de 4 MB.
+     */
+    public static final int CANVAS_LIVRES = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final Queue<SoftReference<Canvas>> LIVRES = new ConcurrentLinkedQueue<SoftReference<Canvas>>();
+
+    private static final AtomicInteger QUANTIDADE_DE_LIVRES = new AtomicInteger();
+
+    /**
+     * Quantidade máxima de fontes rasterizadas guardadas. Cada resolução usa
+     * duas, a simples e a negrito, e as usadas há mais tempo são descartadas
+     * primeiro.
+     */
+    public static final int FONTES_GUARDADAS = 8;
+
+    private static final Map<String, Fonte> FONTES = new LinkedHashMap<String, Fonte>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Fonte> eldest) {
+            return size() > FONTES_GUARDADAS;
+        }
+    };
+
+    private final int dpi;
+
+    private final float escala;
+
+    private final Canvas canvas;
+
+    private final Fonte fonteSimples;
+
+    private final Fonte fonteBold;
+
+    private final PNGPDFTransformerHelper writerHelper;
+
+    private InputStream stream;
+
+    public GrayscalePNGBoletoWriter() {
+        this(DEFAULT_DPI);
+    }
+
+    /**
+     * @param dpi
+     *            resolução da imagem gerada, em pontos por polegada
+     */
+    public GrayscalePNGBoletoWriter(final int dpi) {
+        if (dpi <= 0) {
+            throw new IllegalArgumentException("A resolucao deve ser positiva: " + dpi);
+        }
+        this.dpi = dpi;
+        this.escala = dpi / 72f;
+        this.canvas = canvasPara(Math.round(LARGURA * escala), Math.round(ALTURA * escala));
+        this.fonteSimples = fonte(BaseFont.HELVETICA, Font.PLAIN, NORMAL_SIZE * escala);
+        this.fonteBold = fonte(BaseFont.HELVETICA_BOLD, Font.BOLD, BIG_SIZE * escala);
+        this.writerHelper = new PNGPDFTransformerHelper(this);
+    }
+
+    /**
+     * Pega um canvas livre com o tamanho pedido, ou cria um novo. Ele só volta
+     * a ficar livre quando o PNG for gerado. Canvas de outro tamanho, ou já
+     * liberados pelo coletor de lixo, são descartados no caminho.
+     */
+    private static Canvas canvasPara(final int largura, final int altura) {
+        SoftReference<Canvas> referencia;
+        while ((referencia = LIVRES.poll()) != null) {
+            QUANTIDADE_DE_LIVRES.decrementAndGet();
+            Canvas canvas = referencia.get();
+            if (canvas != null && canvas.largura == largura && canvas.altura == altura) {
+                canvas.limpa();
+                return canvas;
+            }
+        }
+        return new Canvas(largura, altura);
+    }
+
+    private static void devolve(final Canvas canvas) {
+        if (QUANTIDADE_DE_LIVRES.incrementAndGet() <= CANVAS_LIVRES) {
+            LIVRES.offer(new SoftReference<Canvas>(canvas));
+        } else {
+            QUANTIDADE_DE_LIVRES.decrementAndGet();
+        }
+    }
+
+    private static Fonte fonte(final String nome, final int estilo, final float tamanho) {
+        String chave = nome + "-" + estilo + "-" + tamanho;
+        synchronized (FONTES) {
+            Fonte fonte = FONTES.get(chave);
+            if (fonte == null) {
+                fonte = new Fonte(new Font(nome, estilo, 1).deriveFont(tamanho));
+                FONTES.put(chave, fonte);
+            }
+            return fonte;
+        }
+    }
+
+    static int fontesGuardadas() {
+        synchronized (FONTES) {
+            return FONTES.size();
+        }
+    }
+
+    public InputStream toInputStream() {
+        if (stream == null) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try {
+                writeTo(baos);
+            } catch (IOException e) {
+                throw new GeracaoBoletoException(e); // nao esperado
+            }
+            stream = new ByteArrayInputStream(baos.toByteArray());
+            devolve(canvas);
+        }
+        return stream;
+    }
+
+    public void write(final float x, final float y, final String text) {
+        write(fonteSimples, x, y, text);
+    }
+
+    public void writeBold(final float x, final float y, final String text) {
+        write(fonteBold, x, y, text);
+    }
+
+    private void write(final Fonte fonte, final float x, final float y, final String text) {
+        checkIfDocIsClosed();
+
+        float caneta = x * escala;
+        int base = Math.round(canvas.altura - y * escala);
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = fonte.glyph(text.charAt(i));
+            canvas.escurece(glyph, Math.round(caneta) + glyph.x, base + glyph.y);
+            caneta += glyph.avanco;
+        }
+    }
+
+    public void writeImage(final float x, final float y, final BufferedImage image, final float width,
+            final float height) throws IOException {
+
+        checkIfDocIsClosed();
+
+        int largura = Math.round(width * escala);
+        int altura = Math.round(height * escala);
+        canvas.desenha(canvas.imagem(image, largura, altura), Math.round(x * escala), Math.round(canvas.altura
+                - (y + height) * escala));
+    }
+
+    /**
+     * As barras são preenchidas diretamente no canvas, começando e terminando
+     * no pixel mais próximo da sua posição exata.
+     */
+    public void writeBarcode(final float x, final float y, final String code, final float moduleWidth,
+            final float height) {
+
+        checkIfDocIsClosed();
+
+        byte[] bars = BarcodeGenerator.generateBarsFor(code);
+        float inicio = x * escala;
+        float modulo = moduleWidth * escala;
+        int topo = Math.round(canvas.altura - (y + height) * escala);
+        int base = Math.round(canvas.altura - y * escala);
+        int modulos = 0;
+        for (int i = 0; i < bars.length; i++) {
+            int esquerda = Math.round(inicio + modulos * modulo);
+            modulos += bars[i];
+            if ((i & 1) == 0) {
+                canvas.preenche(esquerda, topo, Math.round(inicio + modulos * modulo), base);
+            }
+        }
+    }
+
+    private void checkIfDocIsClosed() {
+        if (stream != null) {
+            throw new IllegalStateException("boleto ja gerado, voce nao pode mais escrever na imagem");
+        }
+    }
+
+    public boolean newPage() {
+        throw new IllegalStateException("Nao é possivel criar uma nova pagina em um arquivo png.");
+    }
+
+    public void write(final Boleto boleto) {
+        write(new BoletoPreparado(boleto));
+    }
+
+    /**
+     * Escreve um boleto cujos valores derivados já foram calculados.
+     *
+     * @param boleto
+     */
+    public void write(final BoletoPreparado boleto) {
+        writerHelper.transform(boleto);
+    }
+
+    public int getDpi() {
+        return dpi;
+    }
+
+    /**
+     * Codifica o PNG, em tons de cinza de 4 bits, com o filtro Up em todas as
+     * linhas e a resolução registrada no chunk pHYs.
+     */
+    private void writeTo(final OutputStream out) throws IOException {
+        out.write(ASSINATURA);
+
+        byte[] cabecalho = new byte[13];
+        escreveInt(cabecalho, 0, canvas.largura);
+        escreveInt(cabecalho, 4, canvas.altura);
+        cabecalho[8] = 4;
+        escreveChunk(out, "IHDR", cabecalho, cabecalho.length);
+
+        byte[] resolucao = new byte[9];
+        int pixelsPorMetro = Math.round(dpi / 0.0254f);
+        escreveInt(resolucao, 0, pixelsPorMetro);
+        escreveInt(resolucao, 4, pixelsPorMetro);
+        resolucao[8] = 1;
+        escreveChunk(out, "pHYs", resolucao, resolucao.length);
+
+        int bytesPorLinha = (canvas.largura + 1) >> 1;
+        ExposedByteArrayOutputStream comprimido = new ExposedByteArrayOutputStream(bytesPorLinha * canvas.altura
+                / 8);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            DeflaterOutputStream dados = new DeflaterOutputStream(comprimido, deflater, 8192);
+            byte[] anterior = new byte[bytesPorLinha + 1];
+            byte[] linha = new byte[bytesPorLinha + 1];
+            byte[] filtrada = new byte[bytesPorLinha + 1];
+            filtrada[0] = 2;
+            byte[] pixels = canvas.pixels;
+            for (int y = 0; y < canvas.altura; y++) {
+                int inicio = y * canvas.largura;
+                for (int x = 0; x < canvas.largura; x += 2) {
+                    int alto = QUATRO_BITS[pixels[inicio + x] & 0xff];
+                    int baixo = x + 1 < canvas.largura ? QUATRO_BITS[pixels[inicio + x + 1] & 0xff] : 0;
+                    linha[1 + (x >> 1)] = (byte) (alto << 4 | baixo);
+                }
+                for (int i = 1; i <= bytesPorLinha; i++) {
+                    filtrada[i] = (byte) (linha[i] - anterior[i]);
+                }
+                dados.write(filtrada);
+                byte[] troca = anterior;
+                anterior = linha;
+                linha = troca;
+            }
+            dados.finish();
+        } finally {
+            deflater.end();
+        }
+        escreveChunk(out, "IDAT", comprimido.buffer(), comprimido.size());
+
+        escreveChunk(out, "IEND", new byte[0], 0);
+    }
+
+    private static void escreveInt(final byte[] destino, final int posicao, final int valor) {
+        destino[posicao] = (byte) (valor >>> 24);
+        destino[posicao + 1] = (byte) (valor >>> 16);
+        destino[posicao + 2] = (byte) (valor >>> 8);
+        destino[posicao + 3] = (byte) valor;
+    }
+
+    private static void escreveChunk(final OutputStream out, final String tipo, final byte[] dados,
+            final int tamanho) throws IOException {
+        byte[] cabecalho = new byte[8];
+        escreveInt(cabecalho, 0, tamanho);
+        for (int i = 0; i < 4; i++) {
+            cabecalho[4 + i] = (byte) tipo.charAt(i);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(cabecalho, 4, 4);
+        crc.update(dados, 0, tamanho);
+        byte[] rodape = new byte[4];
+        escreveInt(rodape, 0, (int) crc.getValue());
+
+        out.write(cabecalho);
+        out.write(dados, 0, tamanho);
+        out.write(rodape);
+    }
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        ExposedByteArrayOutputStream(final int tamanho) {
+            super(Math.max(tamanho, 32));
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+
+    /**
+     * Imagem de 1 byte por pixel (255 é branco) em que o boleto é composto.
+     */
+    private static final class Canvas {
+
+        /**
+         * Quantidade de imagens convertidas mantidas por canvas. O boleto usa
+         * apenas o template e o logo do banco.
+         */
+        private static final int IMAGENS = 16;
+
+        private final int largura;
+
+        private final int altura;
+
+        private final byte[] pixels;
+
+        private final Map<BufferedImage, ImagemEmCinza> imagens = new IdentityHashMap<BufferedImage, ImagemEmCinza>();
+
+        Canvas(final int largura, final int altura) {
+            this.largura = largura;
+            this.altura = altura;
+            this.pixels = new byte[largura * altura];
+            limpa();
+        }
+
+        void limpa() {
+            Arrays.fill(pixels, (byte) 0xff);
+        }
+
+        ImagemEmCinza imagem(final BufferedImage image, final int largura, final int altura) {
+            ImagemEmCinza imagem = imagens.get(image);
+            if (imagem == null || imagem.largura != largura || imagem.altura != altura) {
+                if (imagens.size() >= IMAGENS) {
+                    imagens.clear();
+                }
+                imagem = new ImagemEmCinza(image, largura, altura);
+                imagens.put(image, imagem);
+            }
+            return imagem;
+        }
+
+        void desenha(final ImagemEmCinza imagem, final int x, final int y) {
+            int inicio = Math.max(0, -x);
+            int fim = Math.min(imagem.largura, largura - x);
+            for (int linha = Math.max(0, -y); linha < imagem.altura && linha + y < altura; linha++) {
+                if (inicio >= fim || imagem.linhas[linha] == ImagemEmCinza.TRANSPARENTE) {
+                    continue;
+                }
+                int origem = linha * imagem.largura;
+                int destino = (linha + y) * largura + x;
+                if (imagem.linhas[linha] == ImagemEmCinza.OPACA) {
+                    System.arraycopy(imagem.cinza, origem + inicio, pixels, destino + inicio, fim - inicio);
+                    continue;
+                }
+                for (int i = inicio; i < fim; i++) {
+                    int alfa = imagem.alfa[origem + i] & 0xff;
+                    int fundo = pixels[destino + i] & 0xff;
+                    pixels[destino + i] = (byte) ((imagem.cinza[origem + i] & 0xff) + (fundo * (255 - alfa) + 127)
+                            / 255);
+                }
+            }
+        }
+
+        void escurece(final Glyph glyph, final int x, final int y) {
+            int inicio = Math.max(0, -x);
+            int fim = Math.min(glyph.largura, largura - x);
+            for (int linha = Math.max(0, -y); linha < glyph.altura && linha + y < altura; linha++) {
+                int origem = linha * glyph.largura;
+                int destino = (linha + y) * largura + x;
+                for (int i = inicio; i < fim; i++) {
+                    int cobertura = glyph.cobertura[origem + i] & 0xff;
+                    if (cobertura != 0) {
+                        int fundo = pixels[destino + i] & 0xff;
+                        pixels[destino + i] = (byte) ((fundo * (255 - cobertura) + 127) / 255);
+                    }
+                }
+            }
+        }
+
+        void preenche(final int x0, final int y0, final int x1, final int y1) {
+            int inicio = Math.max(0, x0);
+            int fim = Math.min(largura, x1);
+            if (inicio >= fim) {
+                return;
+            }
+            for (int y = Math.max(0, y0); y < Math.min(altura, y1); y++) {
+                Arrays.fill(pixels, y * largura + inicio, y * largura + fim, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Imagem redimensionada (bilinear) e convertida para cinza, com o cinza
+     * pré-multiplicado pelo alfa.
+     */
+    private static final class ImagemEmCinza {
+
+        static final byte TRANSPARENTE = 0;
+
+        static final byte OPACA = 1;
+
+        static final byte MISTA = 2;
+
+        final int largura;
+
+        final int altura;
+
+        final byte[] cinza;
+
+        final byte[] alfa;
+
+        final byte[] linhas;
+
+        ImagemEmCinza(final BufferedImage image, final int largura, final int altura) {
+            this.largura = Math.max(largura, 0);
+            this.altura = Math.max(altura, 0);
+            this.cinza = new byte[this.largura * this.altura];
+            this.alfa = new byte[this.largura * this.altura];
+            this.linhas = new byte[this.altura];
+
+            int w = image.getWidth();
+            int h = image.getHeight();
+            int[] argb = image.getRGB(0, 0, w, h, null, 0, w);
+            int[] cinzaOriginal = new int[argb.length];
+            int[] alfaOriginal = new int[argb.length];
+            for (int i = 0; i < argb.length; i++) {
+                int a = argb[i] >>> 24;
+                int r = (argb[i] >> 16) & 0xff;
+                int g = (argb[i] >> 8) & 0xff;
+                int b = argb[i] & 0xff;
+                alfaOriginal[i] = a;
+                cinzaOriginal[i] = ((r * 77 + g * 150 + b * 29 + 128) >> 8) * a;
+            }
+
+            for (int y = 0; y < this.altura; y++) {
+                float fy = Math.max(0, Math.min(h - 1, (y + 0.5f) * h / this.altura - 0.5f));
+                int y0 = (int) fy;
+                int y1 = Math.min(y0 + 1, h - 1);
+                float dy = fy - y0;
+                boolean opaca = true;
+                boolean transparente = true;
+                for (int x = 0; x < this.largura; x++) {
+                    float fx = Math.max(0, Math.min(w - 1, (x + 0.5f) * w / this.largura - 0.5f));
+                    int x0 = (int) fx;
+                    int x1 = Math.min(x0 + 1, w - 1);
+                    float dx = fx - x0;
+                    float p00 = (1 - dx) * (1 - dy);
+                    float p01 = dx * (1 - dy);
+                    float p10 = (1 - dx) * dy;
+                    float p11 = dx * dy;
+                    int i00 = y0 * w + x0;
+                    int i01 = y0 * w + x1;
+                    int i10 = y1 * w + x0;
+                    int i11 = y1 * w + x1;
+                    int a = Math.round(alfaOriginal[i00] * p00 + alfaOriginal[i01] * p01 + alfaOriginal[i10] * p10
+                            + alfaOriginal[i11] * p11);
+                    int c = Math.round((cinzaOriginal[i00] * p00 + cinzaOriginal[i01] * p01 + cinzaOriginal[i10]
+                            * p10 + cinzaOriginal[i11] * p11) / 255);
+                    int i = y * this.largura + x;
+                    alfa[i] = (byte) a;
+                    cinza[i] = (byte) Math.min(c, a);
+                    opaca &= a == 255;
+                    transparente &= a == 0;
+                }
+                linhas[y] = opaca ? OPACA : transparente ? TRANSPARENTE : MISTA;
+            }
+        }
+    }
+
+    /**
+     * Glyphs de uma fonte, rasterizados pelo Java2D apenas no primeiro uso de
+     * cada caractere. Os caracteres Latin-1 são lidos sem lock; se duas
+     * threads rasterizarem o mesmo caractere ao mesmo tempo, uma delas
+     * simplesmente descarta o seu.
+     */
+    private static final class Fonte {
+
+        private static final FontRenderContext CONTEXTO = new FontRenderContext(null, true, true);
+
+        private final Font font;
+
+        private final AtomicReferenceArray<Glyph> latin1 = new AtomicReferenceArray<Glyph>(256);
+
+        private final Map<Character, Glyph> outros = new HashMap<Character, Glyph>();
+
+        Fonte(final Font font) {
+            this.font = font;
+        }
+
+        Glyph glyph(final char c) {
+            if (c < latin1.length()) {
+                Glyph glyph = latin1.get(c);
+                if (glyph == null) {
+                    latin1.compareAndSet(c, null, rasteriza(c));
+                    glyph = latin1.get(c);
+                }
+                return glyph;
+            }
+            synchronized (outros) {
+                Glyph glyph = outros.get(c);
+                if (glyph == null) {
+                    glyph = rasteriza(c);
+                    outros.put(c, glyph);
+                }
+                return glyph;
+            }
+        }
+
+        private Glyph rasteriza(final char c) {
+            GlyphVector vector = font.createGlyphVector(CONTEXTO, String.valueOf(c));
+            float avanco = vector.getGlyphMetrics(0).getAdvance();
+            Rectangle bounds = vector.getPixelBounds(CONTEXTO, 0, 0);
+            if (bounds.isEmpty()) {
+                return new Glyph(0, 0, 0, 0, new byte[0], avanco);
+            }
+
+            BufferedImage image = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            graphics.setColor(Color.WHITE);
+            graphics.drawGlyphVector(vector, -bounds.x, -bounds.y);
+            graphics.dispose();
+
+            byte[] cobertura = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            return new Glyph(bounds.x, bounds.y, bounds.width, bounds.height, cobertura, avanco);
+        }
+    }
+
+    /**
+     * Cobertura de um caractere, posicionada em relação à origem do texto.
+     */
+    private static final class Glyph {
+
+        final int x;
+
+        final int y;
+
+        final int largura;
+
+        final int altura;
+
+        final byte[] cobertura;
+
+        final float avanco;
+
+        Glyph(final int x, final int y, final int largura, final int altura, final byte[] cobertura,
+                final float avanco) {
+            this.x = x;
+            this.y = y;
+            this.largura = largura;
+            this.altura = altura;
+            this.cobertura = cobertura;
+            this.avanco = avanco;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.caelum.stella.boleto.transformer;
 
-import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.imageio.ImageIO;
 import javax.servlet.ServletException;
@@ -13,6 +16,13 @@ import javax.servlet.http.HttpServletResponse;
  * Essa classe tem como objetivo renderizar as imagens relativas ao boleto.
  * Dessa forma o usuario não precisa colocar nenhuma imagem ou coisa relativa na
  * estrutura dele.
+ * <p>
+ * Os PNGs dos códigos de barras ficam em memória, num cache LRU por valor, cujo
+ * tamanho pode ser configurado pelo init-param <code>barcodeCacheSize</code>.
+ * Todas as respostas levam um ETag forte e atendem GETs condicionais; os
+ * códigos de barras nunca mudam para um mesmo valor e são marcados como
+ * imutáveis, e o ETag das demais imagens vem do MD5 do PNG.
+ * </p>
  * 
  * @author Alberto
  * 
@@ -21,35 +31,193 @@ public class HTMLBoletoServlet extends HttpServlet {
 
 	private static final long serialVersionUID = 2942118702706573802L;
 
+    /**
+     * Quantidade padrão de códigos de barras mantidos em memória.
+     */
+    public static final int DEFAULT_BARCODE_CACHE_SIZE = 1024;
+
+    /**
+     * Quantidade máxima de dígitos aceitos num código de barras. O dos boletos
+     * tem 44.
+     */
+    private static final int MAXIMO_DE_DIGITOS = 64;
+
+    private static final String IMUTAVEL = "public, max-age=31536000, immutable";
+
+    private static final String UM_DIA = "public, max-age=86400";
+
+    private transient Map<String, byte[]> codigosDeBarras;
+
+    /**
+     * Lê antecipadamente o fundo do boleto e os logotipos dos bancos.
+     */
+    @Override
+    public void init() throws ServletException {
+        int tamanho = DEFAULT_BARCODE_CACHE_SIZE;
+        String parametro = getInitParameter("barcodeCacheSize");
+        if (parametro != null) {
+            try {
+                tamanho = Integer.parseInt(parametro.trim());
+            } catch (NumberFormatException e) {
+                throw new ServletException("barcodeCacheSize invalido: " + parametro, e);
+            }
+        }
+        codigosDeBarras = newLruMap(tamanho);
+        try {
+            BoletoImageCache.getInstance().preload();
+        } catch (IOException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    private static Map<String, byte[]> newLruMap(final int maximumSize) {
+        return new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
 	@Override
     protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException,
             IOException {
         String tipoRecurso = request.getParameter("type");
         String value = request.getParameter("value");
-        BufferedImage image = getCorrectImageFor(tipoRecurso, value);
+        if ("img".equals(tipoRecurso)) {
+            if (!nomeDeImagemValido(value)) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            URL url = HTMLBoletoServlet.class.getResource(BoletoImageCache.IMAGENS + value);
+            if (url == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            BoletoImageCache imagens = BoletoImageCache.getInstance();
+            envia(request, response, imagens.getPng(url), "\"img-" + imagens.getPngDigest(url) + "\"", UM_DIA);
+        } else {
+            String digitos = digitosDe(value);
+            if (digitos == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+            String etag = "\"barcode-" + digitos + "\"";
+            if (naoMudou(request, etag)) {
+                naoModificado(response, etag, IMUTAVEL);
+                return;
+            }
+            envia(request, response, getCorrectImageFor(digitos), etag, IMUTAVEL);
+        }
+    }
+
+    /**
+     * Aceita apenas nomes de arquivo simples, com letras, dígitos, ponto,
+     * hífen e sublinhado, sem começar com ponto; assim o valor não sai do
+     * diretório das imagens.
+     */
+    private static boolean nomeDeImagemValido(final String value) {
+        if (value == null || value.length() == 0 || value.charAt(0) == '.') {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean valido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.'
+                    || c == '-' || c == '_';
+            if (!valido) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return os dígitos do valor, ou <code>null</code> se ele não tiver
+     *         nenhum ou tiver mais do que o aceito.
+     */
+    private static String digitosDe(final String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        if (digitos.length() == 0 || digitos.length() > MAXIMO_DE_DIGITOS) {
+            return null;
+        }
+        return digitos.toString();
+    }
+
+    private static void envia(final HttpServletRequest request, final HttpServletResponse response,
+            final byte[] png, final String etag, final String cacheControl) throws IOException {
+        if (naoMudou(request, etag)) {
+            naoModificado(response, etag, cacheControl);
+            return;
+        }
         response.setContentType("image/png");
-        ImageIO.write(image, "png", response.getOutputStream());
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", cacheControl);
+        response.setContentLength(png.length);
+        response.getOutputStream().write(png);
+    }
+
+    private static void naoModificado(final HttpServletResponse response, final String etag,
+            final String cacheControl) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", cacheControl);
+    }
+
+    /**
+     * Verifica o If-None-Match do request, que pode ter vários ETags separados
+     * por vírgula ou <code>*</code>.
+     */
+    private static boolean naoMudou(final HttpServletRequest request, final String etag) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.startsWith("W/")) {
+                candidato = candidato.substring(2);
+            }
+            if (candidato.equals(etag) || candidato.equals("*")) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Retorna a imagem
+     * Retorna o PNG do código de barras, em 1 bit por pixel, gerando-o apenas
+     * na primeira vez que o valor é pedido.
      * 
-     * @param urlSolicitada
-     * @param parametro
+     * @param digitos
      * @return
-     * @throws IOException
      */
-    private BufferedImage getCorrectImageFor(final String tipoRecurso, final String value) throws IOException {
-        BufferedImage image;
-        if ("img".equals(tipoRecurso)) {
-            image = ImageIO.read(HTMLBoletoServlet.class.getResource("/br/com/caelum/stella/boleto/img/" + value));
-        } else {
-            // ainda tem que ajeitar a altura e talvez o tamanho da imagem
-            // gerada. Pode receber como parametro tb...
-            image = BufferedImageGenerator.generateBufferedImageFor(BarcodeGenerator.generateBarcodeFor(value, 37.00f),
-                    BufferedImage.TYPE_INT_ARGB);
+    private byte[] getCorrectImageFor(final String digitos) throws IOException {
+        synchronized (codigosDeBarras) {
+            byte[] png = codigosDeBarras.get(digitos);
+            if (png != null) {
+                return png;
+            }
+        }
+        // ainda tem que ajeitar a altura e talvez o tamanho da imagem
+        // gerada. Pode receber como parametro tb...
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        ImageIO.write(BarcodeGenerator.generateRasterFor(digitos, 1, 37), "png", out);
+        byte[] png = out.toByteArray();
+        synchronized (codigosDeBarras) {
+            codigosDeBarras.put(digitos, png);
         }
-        return image;
+        return png;
     }
 
 }
@@ -1,9 +1,13 @@
 package br.com.caelum.stella.boleto.transformer;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.util.ArrayList;
@@ -24,16 +28,20 @@ import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.Datas;
 import br.com.caelum.stella.boleto.Emissor;
 import br.com.caelum.stella.boleto.Sacado;
-import br.com.caelum.stella.boleto.bancos.LinhaDigitavelGenerator;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
 
 public class HTMLBoletoWriter implements BoletoWriter {
 
+    /**
+     * Codificação do template e do HTML gerado.
+     */
+    public static final String ENCODING = "UTF-8";
+
+    private static volatile Template template;
+
     private final URL urlServletBoleto;
-    private Template template;
     private final Collection<BoletoTemplateWrapper> boletos;
-    private final VelocityEngine velocityEngine;
 
     /**
      * 
@@ -43,13 +51,38 @@ public class HTMLBoletoWriter implements BoletoWriter {
     public HTMLBoletoWriter(final URL urlServletBoleto) {
         this.urlServletBoleto = urlServletBoleto;
         boletos = new ArrayList<BoletoTemplateWrapper>();
-        velocityEngine = new VelocityEngine();
+        template();
+    }
+
+    /**
+     * Devolve o template compilado, compartilhado por todos os writers. O
+     * template do Velocity é imutável depois de lido e pode ser usado por
+     * várias threads ao mesmo tempo; a engine só é iniciada no primeiro uso.
+     */
+    private static Template template() {
+        Template compilado = template;
+        if (compilado == null) {
+            synchronized (HTMLBoletoWriter.class) {
+                compilado = template;
+                if (compilado == null) {
+                    compilado = compila();
+                    template = compilado;
+                }
+            }
+        }
+        return compilado;
+    }
+
+    private static Template compila() {
+        VelocityEngine velocityEngine = new VelocityEngine();
         Properties config = new Properties();
         config.setProperty("file.resource.loader.class",
                 "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
+        config.setProperty("input.encoding", ENCODING);
+        config.setProperty("output.encoding", ENCODING);
         try {
             velocityEngine.init(config);
-            template = velocityEngine.getTemplate("/br/com/caelum/stella/boleto/template_html.vm");
+            return velocityEngine.getTemplate("/br/com/caelum/stella/boleto/template_html.vm", ENCODING);
         } catch (Exception e) {
             throw new GeracaoBoletoException("Não foi possivel iniciar a configuração do Velocity", e);
         }
@@ -61,6 +94,15 @@ public class HTMLBoletoWriter implements BoletoWriter {
      * 
      */
     public void write(final Boleto boleto) {
+        write(new BoletoPreparado(boleto));
+    }
+
+    /**
+     * Escreve um boleto cujos valores derivados já foram calculados.
+     * 
+     * @param boleto
+     */
+    public void write(final BoletoPreparado boleto) {
         BoletoTemplateWrapper wrapper = new BoletoTemplateWrapper(boleto);
         boletos.add(wrapper);
     }
@@ -70,13 +112,39 @@ public class HTMLBoletoWriter implements BoletoWriter {
     }
 
     public InputStream toInputStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
 
-        StringWriter writer = new StringWriter();
+    /**
+     * Escreve o HTML dos boletos no OutputStream indicado, em UTF-8. O stream
+     * não é fechado.
+     * 
+     * @param out
+     */
+    public void writeTo(final OutputStream out) {
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, ENCODING));
+            writeTo(writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new CriacaoBoletoException("Erro na criação do boleto", e);
+        }
+    }
+
+    /**
+     * Escreve o HTML dos boletos no Writer indicado, sem passar por uma String
+     * intermediária. O writer não é fechado.
+     * 
+     * @param writer
+     */
+    public void writeTo(final Writer writer) {
         VelocityContext context = new VelocityContext();
         context.put("boletos", boletos);
         context.put("urlServletBoleto", urlServletBoleto.toExternalForm());
         try {
-            template.merge(context, writer);
+            template().merge(context, writer);
         } catch (ResourceNotFoundException e) {
             throw new CriacaoBoletoException("Erro na criação do boleto", e);
         } catch (ParseErrorException e) {
@@ -86,7 +154,6 @@ public class HTMLBoletoWriter implements BoletoWriter {
         } catch (IOException e) {
             throw new CriacaoBoletoException("Erro na criação do boleto", e);
         }
-        return new ByteArrayInputStream(writer.toString().getBytes());
     }
 
     /**
@@ -97,21 +164,17 @@ public class HTMLBoletoWriter implements BoletoWriter {
      * 
      */
     public class BoletoTemplateWrapper {
-        private final LinhaDigitavelGenerator linhaDigitavelGenerator;
+        private final BoletoPreparado boletoPreparado;
         private final Boleto boleto;
-        private final String linhaDigitavel;
-        private final String codigoDeBarras;
 
         /**
          * Como a classe tinha que ter visibilidade p�blica, pois o template
          * fica em outro pacote, deixei o construtor privado para n�o correr o
          * risco de algu�m usar.
          */
-        private BoletoTemplateWrapper(final Boleto boleto) {
-            this.boleto = boleto;
-            linhaDigitavelGenerator = new LinhaDigitavelGenerator();
-            linhaDigitavel = linhaDigitavelGenerator.geraLinhaDigitavelPara(this.boleto);
-            codigoDeBarras = this.boleto.getBanco().geraCodigoDeBarrasPara(this.boleto);
+        private BoletoTemplateWrapper(final BoletoPreparado boletoPreparado) {
+            this.boletoPreparado = boletoPreparado;
+            this.boleto = boletoPreparado.getBoleto();
         }
 
         public char aceite() {
@@ -123,27 +186,35 @@ public class HTMLBoletoWriter implements BoletoWriter {
         }
 
         public String formataValor() {
-            return BoletoFormatter.formatValue(boleto.getValorBoleto().doubleValue());
+            return boletoPreparado.getValor();
         }
 
         public String nossoNumero() {
-            return getBanco().getNossoNumeroDoEmissorFormatado(boleto.getEmissor());
+            return boletoPreparado.getNossoNumero();
         }
 
         public String carteira() {
-            return getBanco().getCarteiraDoEmissorFormatado(boleto.getEmissor());
+            return boletoPreparado.getCarteira();
         }
 
         public String contaCorrente() {
-            return getBanco().getContaCorrenteDoEmissorFormatado(boleto.getEmissor());
+            return boletoPreparado.getContaCorrente();
         }
 
         public String linhaDigitavel() {
-            return linhaDigitavel;
+            return boletoPreparado.getLinhaDigitavel();
         }
 
         public String codigoDeBarras() {
-            return codigoDeBarras;
+            return boletoPreparado.getCodigoDeBarras();
+        }
+
+        /**
+         * @return o código de barras em SVG, para ser incluído diretamente na
+         *         página.
+         */
+        public String codigoDeBarrasSvg() {
+            return BarcodeGenerator.generateSvgFor(boletoPreparado.getCodigoDeBarras(), 37);
         }
 
         public boolean getAceite() {
@@ -180,7 +251,7 @@ public class HTMLBoletoWriter implements BoletoWriter {
         }
 
         public String getFatorVencimento() {
-            return boleto.getFatorVencimento();
+            return boletoPreparado.getFatorVencimento();
         }
 
         public List<String> getInstrucoes() {
@@ -220,7 +291,7 @@ public class HTMLBoletoWriter implements BoletoWriter {
         }
 
         public String nomeArquivoCodigoDeBarras() {
-            return codigoDeBarras + "_" + boleto.getBanco().getNumeroFormatado() + ".png";
+            return boletoPreparado.getCodigoDeBarras() + "_" + boleto.getBanco().getNumeroFormatado() + ".png";
         }
 
     }
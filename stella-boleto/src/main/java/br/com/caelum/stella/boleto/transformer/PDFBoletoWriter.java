@@ -5,6 +5,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
 
 import br.com.caelum.stella.boleto.Boleto;
 import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
@@ -32,7 +36,7 @@ import com.lowagie.text.pdf.PdfWriter;
  * @author Paulo Silveira
  * @author Leonardo Bessa
  */
-public class PDFBoletoWriter implements BoletoWriter, TextWriter {
+public class PDFBoletoWriter implements BoletoWriter, SharedImageWriter, BarcodeWriter {
 
     private static final int NORMAL_SIZE = 8;
 
@@ -40,7 +44,11 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
 
     private InputStream stream;
 
-    private final ByteArrayOutputStream bytes;
+    private final Bytes bytes;
+
+    private final boolean streaming;
+
+    private boolean closed;
 
     private final Document document;
 
@@ -56,12 +64,49 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
 
     private final PNGPDFTransformerHelper writerHelper;
 
+    private final Map<String, PdfTemplate> sharedTemplates = new HashMap<String, PdfTemplate>();
+
     public PDFBoletoWriter(final Rectangle rectangle) {
-        bytes = new ByteArrayOutputStream();
+        this(rectangle, new Bytes(), false);
+    }
+
+    public PDFBoletoWriter() {
+        this(PageSize.A4);
+    }
+
+    /**
+     * Grava o PDF diretamente no stream indicado, à medida que as páginas são
+     * completadas, sem mantê-lo em memória. O documento deve ser terminado
+     * através de {@link #close()}; o stream não é fechado.
+     *
+     * @param rectangle
+     *            tamanho das páginas
+     * @param out
+     *            stream onde o PDF será gravado
+     */
+    public PDFBoletoWriter(final Rectangle rectangle, final OutputStream out) {
+        this(rectangle, out, true);
+    }
+
+    /**
+     * Grava o PDF, em páginas A4, diretamente no stream indicado.
+     *
+     * @param out
+     *            stream onde o PDF será gravado
+     * @see #PDFBoletoWriter(Rectangle, OutputStream)
+     */
+    public PDFBoletoWriter(final OutputStream out) {
+        this(PageSize.A4, out);
+    }
+
+    private PDFBoletoWriter(final Rectangle rectangle, final OutputStream out, final boolean streaming) {
+        this.streaming = streaming;
+        this.bytes = streaming ? null : (Bytes) out;
         document = new Document(rectangle);
 
         try {
-            writer = PdfWriter.getInstance(document, bytes);
+            writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(!streaming);
 
             fonteSimples = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.EMBEDDED);
             fonteBold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.WINANSI, BaseFont.EMBEDDED);
@@ -78,18 +123,37 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
         writerHelper = new PNGPDFTransformerHelper(this);
     }
 
-    public PDFBoletoWriter() {
-        this(PageSize.A4);
-    }
-
+    /**
+     * @throws IllegalStateException
+     *             caso o PDF esteja sendo gravado diretamente em um
+     *             OutputStream
+     */
     public InputStream toInputStream() {
+        if (streaming) {
+            throw new IllegalStateException("o PDF foi gravado diretamente no OutputStream, use close()");
+        }
         if (stream == null) {
-            document.close();
-            stream = new ByteArrayInputStream(bytes.toByteArray());
+            close();
+            stream = bytes.toInputStream();
         }
         return stream;
     }
 
+    /**
+     * Termina o documento. Quando o PDF é gravado diretamente em um
+     * OutputStream, as últimas informações são gravadas e o stream é
+     * descarregado, mas não fechado.
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            document.close();
+            if (streaming) {
+                writer.flush();
+            }
+        }
+    }
+
     public void write(final float x, final float y, final String text) {
         write(x, y, text, fonteSimples, NORMAL_SIZE * scale);
     }
@@ -111,7 +175,7 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
     }
 
     private void checkIfDocIsClosed() {
-        if (stream != null) {
+        if (closed) {
             throw new IllegalStateException("boleto ja gerado, voce nao pode mais escrever na imagem");
         }
     }
@@ -120,14 +184,66 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
             final float height) throws IOException {
         checkIfDocIsClosed();
 
+        PdfTemplate template = createTemplate(image, width, height);
+        addTemplate(template, x, y);
+        if (streaming) {
+            writer.releaseTemplate(template);
+        }
+    }
+
+    /**
+     * A imagem é lida e gravada no PDF apenas na primeira vez em que é
+     * escrita; nas demais, todas as páginas referenciam o mesmo XObject.
+     */
+    public void writeImage(final float x, final float y, final URL image, final float width, final float height)
+            throws IOException {
+        checkIfDocIsClosed();
+
+        String key = image.toExternalForm() + "@" + width + "x" + height;
+        PdfTemplate template = sharedTemplates.get(key);
+        if (template == null) {
+            template = createTemplate(BoletoImageCache.getInstance().getPdfImage(image), width, height);
+            sharedTemplates.put(key, template);
+            addTemplate(template, x, y);
+            if (streaming) {
+                writer.releaseTemplate(template);
+            }
+        } else {
+            addTemplate(template, x, y);
+        }
+    }
+
+    /**
+     * As barras são desenhadas como retângulos, sem nenhuma imagem.
+     */
+    public void writeBarcode(final float x, final float y, final String code, final float moduleWidth,
+            final float height) {
+        checkIfDocIsClosed();
+
+        byte[] bars = BarcodeGenerator.generateBarsFor(code);
+        float position = document.leftMargin() + x;
+        contentByte.saveState();
+        contentByte.setGrayFill(0);
+        for (int i = 0; i < bars.length; i++) {
+            float width = bars[i] * moduleWidth;
+            if ((i & 1) == 0) {
+                contentByte.rectangle(position, y, width, height);
+            }
+            position += width;
+        }
+        contentByte.fill();
+        contentByte.restoreState();
+    }
+
+    private PdfTemplate createTemplate(final BufferedImage image, final float width, final float height)
+            throws IOException {
         try {
             Image pdfImage = Image.getInstance(image, null);
             pdfImage.setAbsolutePosition(0, 0);
             pdfImage.scaleToFit(width, height);
             PdfTemplate template = contentByte.createTemplate(image.getWidth(), image.getHeight());
             template.addImage(pdfImage);
-            final float leftMargin = document.leftMargin();
-            contentByte.addTemplate(template, leftMargin + x, y);
+            return template;
         } catch (BadElementException e) {
             throw new GeracaoBoletoException(e);
         } catch (DocumentException e) {
@@ -135,12 +251,57 @@ public class PDFBoletoWriter implements BoletoWriter, TextWriter {
         }
     }
 
+    /**
+     * A imagem compartilhada não é alterada: a escala é aplicada apenas na
+     * matriz de transformação do template.
+     */
+    private PdfTemplate createTemplate(final Image pdfImage, final float width, final float height) {
+        try {
+            float imageWidth = pdfImage.getWidth();
+            float imageHeight = pdfImage.getHeight();
+            float scale = Math.min(width / imageWidth, height / imageHeight);
+            PdfTemplate template = contentByte.createTemplate(imageWidth, imageHeight);
+            template.addImage(pdfImage, imageWidth * scale, 0, 0, imageHeight * scale, 0, 0);
+            return template;
+        } catch (DocumentException e) {
+            throw new GeracaoBoletoException(e);
+        }
+    }
+
+    private void addTemplate(final PdfTemplate template, final float x, final float y) {
+        final float leftMargin = document.leftMargin();
+        contentByte.addTemplate(template, leftMargin + x, y);
+    }
+
     public boolean newPage() {
-        return document.newPage();
+        boolean result = document.newPage();
+        if (streaming) {
+            writer.flush();
+        }
+        return result;
     }
 
     public void write(final Boleto boleto) {
+        write(new BoletoPreparado(boleto));
+    }
+
+    /**
+     * Escreve um boleto cujos valores derivados já foram calculados.
+     * 
+     * @param boleto
+     */
+    public void write(final BoletoPreparado boleto) {
         writerHelper.transform(boleto);
     }
 
+    /**
+     * Permite ler o PDF gerado em memória sem copiar os bytes.
+     */
+    private static class Bytes extends ByteArrayOutputStream {
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
 }
@@ -29,7 +29,7 @@ import com.lowagie.text.pdf.BaseFont;
  * @author Paulo Silveira
  * 
  */
-public class PNGBoletoWriter implements BoletoWriter, TextWriter {
+public class PNGBoletoWriter implements BoletoWriter, BarcodeWriter {
 
     private static final int NORMAL_SIZE = 36;
 
@@ -105,6 +105,19 @@ public class PNGBoletoWriter implements BoletoWriter, TextWriter {
                 (int) (width * 4.16f), (int) (height * 4.16f), null);
     }
 
+    /**
+     * O código de barras é gerado já na resolução final, em 1 bit por pixel.
+     */
+    public void writeBarcode(final float x, final float y, final String code, final float moduleWidth,
+            final float height) {
+
+        checkIfDocIsClosed();
+
+        BufferedImage barcode = BarcodeGenerator.generateRasterFor(code, moduleWidth * 4.16f, Math
+                .round(height * 4.16f));
+        graphics.drawImage(barcode, (int) x, (int) (PNGimage.getHeight() - (height * 4.16f) - (y * 4.16f)), null);
+    }
+
     private void checkIfDocIsClosed() {
         if (stream != null) {
             throw new IllegalStateException("boleto ja gerado, voce nao pode mais escrever na imagem");
@@ -128,6 +141,15 @@ public class PNGBoletoWriter implements BoletoWriter, TextWriter {
     }
 
     public void write(final Boleto boleto) {
+        write(new BoletoPreparado(boleto));
+    }
+
+    /**
+     * Escreve um boleto cujos valores derivados já foram calculados.
+     * 
+     * @param boleto
+     */
+    public void write(final BoletoPreparado boleto) {
         writerHelper.transform(boleto);
     }
 }
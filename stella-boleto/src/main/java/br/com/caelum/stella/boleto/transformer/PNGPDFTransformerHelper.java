@@ -1,15 +1,10 @@
 package br.com.caelum.stella.boleto.transformer;
 
-import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
-import java.util.Calendar;
-
-import javax.imageio.ImageIO;
 
 import br.com.caelum.stella.boleto.Boleto;
-import br.com.caelum.stella.boleto.bancos.LinhaDigitavelGenerator;
 import br.com.caelum.stella.boleto.exception.CriacaoBoletoException;
 import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
 
@@ -42,6 +37,8 @@ class PNGPDFTransformerHelper {
 	private static final float LINHA11 = 97;
 	private static final float LINHA12 = 87;
 	private static final float LINHA13 = 77;
+	private static final float BARCODE_MODULE_WIDTH = 1;
+	private static final float BARCODE_HEIGHT = 37;
 	private TextWriter writer;
 	private URL imagemTitulo;
 
@@ -55,16 +52,25 @@ class PNGPDFTransformerHelper {
 
 	/**
 	 * 
-	 * @param boleto
+	 * @param boletoPreparado
 	 * @return
 	 */
-	public TextWriter transform(Boleto boleto) {
+	public TextWriter transform(BoletoPreparado boletoPreparado) {
+		Boleto boleto = boletoPreparado.getBoleto();
 		// gera template com o fundo do boleto
 		try {
-			this.writer.writeImage(0, 55, imageFor(imagemTitulo), 514.22f,
-					385.109f);
-			this.writer.writeImage(0, 805 - 486, imageFor(boleto.getBanco()
-					.getImage()), 100, 23);
+			if (this.writer instanceof SharedImageWriter) {
+				SharedImageWriter sharedImageWriter = (SharedImageWriter) this.writer;
+				sharedImageWriter.writeImage(0, 55, imagemTitulo, 514.22f,
+						385.109f);
+				sharedImageWriter.writeImage(0, 805 - 486, boleto.getBanco()
+						.getImage(), 100, 23);
+			} else {
+				this.writer.writeImage(0, 55, imageFor(imagemTitulo), 514.22f,
+						385.109f);
+				this.writer.writeImage(0, 805 - 486, imageFor(boleto.getBanco()
+						.getImage()), 100, 23);
+			}
 		} catch (IOException e) {
 			throw new GeracaoBoletoException(
 					"Erro na leitura das imagens do boleto", e);
@@ -80,73 +86,51 @@ class PNGPDFTransformerHelper {
 
 		this.writer.write(5, LINHA2, boleto.getSacado().getNome());
 
-		this.writer.write(295, LINHA2, formatDate(boleto.getDatas()
-				.getVencimento()));
+		this.writer.write(295, LINHA2, boletoPreparado.getVencimento());
 
-		this.writer.write(400, LINHA2, BoletoFormatter.formatValue(boleto
-				.getValorBoleto().doubleValue()));
+		this.writer.write(400, LINHA2, boletoPreparado.getValor());
 
-		this.writer.write(5, LINHA3, boleto.getEmissor().getAgenciaFormatado()
-				+ " / "
-				+ boleto.getBanco().getContaCorrenteDoEmissorFormatado(
-						boleto.getEmissor()) + "-"
-				+ boleto.getEmissor().getDigitoContaCorrente());
+		this.writer.write(5, LINHA3, boletoPreparado.getAgenciaEContaCorrente());
 
-		this.writer.write(146, LINHA3, boleto.getBanco()
-				.getNossoNumeroDoEmissorFormatado(boleto.getEmissor()));
+		this.writer.write(146, LINHA3, boletoPreparado.getNossoNumero());
 
 		this.writer.writeBold(125, LINHA4, boleto.getBanco()
 				.getNumeroFormatado());
 
-		LinhaDigitavelGenerator linhaDigitavelGenerator = new LinhaDigitavelGenerator();
-		this.writer.writeBold(175, LINHA4, linhaDigitavelGenerator
-				.geraLinhaDigitavelPara(boleto));
+		this.writer.writeBold(175, LINHA4, boletoPreparado.getLinhaDigitavel());
 
 		for (int i = 0; i < boleto.getLocaisDePagamento().size(); i++) {
 			this.writer.write(5, LINHA5 - (i - 1) * 10, boleto
 					.getLocaisDePagamento().get(i));
 		}
 
-		this.writer.write(425, LINHA5, formatDate(boleto.getDatas()
-				.getVencimento()));
+		this.writer.write(425, LINHA5, boletoPreparado.getVencimento());
 
 		this.writer.write(5, LINHA6, boleto.getEmissor().getCedente());
 
-		this.writer.write(420, LINHA6, boleto.getEmissor()
-				.getAgenciaFormatado()
-				+ " / "
-				+ boleto.getBanco().getContaCorrenteDoEmissorFormatado(
-						boleto.getEmissor())
-				+ "-"
-				+ boleto.getEmissor().getDigitoContaCorrente());
+		this.writer.write(420, LINHA6, boletoPreparado.getAgenciaEContaCorrente());
 
-		this.writer.write(5, LINHA7, formatDate(boleto.getDatas()
-				.getDocumento()));
+		this.writer.write(5, LINHA7, boletoPreparado.getDocumento());
 
 		this.writer.write(70, LINHA7,
 				!boleto.getNumeroDoDocumento().equals("") ? boleto
-						.getNumeroDoDocumentoFormatado() : boleto.getBanco()
-						.getNossoNumeroDoEmissorFormatado(boleto.getEmissor()));
+						.getNumeroDoDocumentoFormatado() : boletoPreparado
+						.getNossoNumero());
 
 		this.writer.write(180, LINHA7, boleto.getEspecieDocumento());
 
 		this.writer.write(250, LINHA7, boleto.getAceite() ? "S" : "N");
 
-		this.writer.write(300, LINHA7, formatDate(boleto.getDatas()
-				.getProcessamento()));
+		this.writer.write(300, LINHA7, boletoPreparado.getProcessamento());
 
 		this.writer.write(410, LINHA7, boleto.getEmissor().getCarteira()
-				+ " / "
-				+ boleto.getBanco().getNossoNumeroDoEmissorFormatado(
-						boleto.getEmissor()));
+				+ " / " + boletoPreparado.getNossoNumero());
 
-		this.writer.write(122, LINHA8, boleto.getBanco()
-				.getCarteiraDoEmissorFormatado(boleto.getEmissor()));
+		this.writer.write(122, LINHA8, boletoPreparado.getCarteira());
 
 		this.writer.write(190, LINHA8, boleto.getEspecieMoeda());
 
-		this.writer.write(430, LINHA8, BoletoFormatter.formatValue(boleto
-				.getValorBoleto().doubleValue()));
+		this.writer.write(430, LINHA8, boletoPreparado.getValor());
 
 		for (int i = 0; i < boleto.getInstrucoes().size(); i++) {
 			this.writer
@@ -166,52 +150,36 @@ class PNGPDFTransformerHelper {
 				+ (boleto.getSacado().getCidade() != null ? boleto.getSacado().getCidade() : "") + " "
 				+ (boleto.getSacado().getUf() != null ? boleto.getSacado().getUf() : ""));
 
-		Image imagemDoCodigoDeBarras = BarcodeGenerator
-				.generateBarcodeFor(boleto.getBanco().geraCodigoDeBarrasPara(
-						boleto),37.00f);		
-
-		try {
-			this.writer.writeImage(40, 10, toBufferedImage(
-					imagemDoCodigoDeBarras, BufferedImage.TYPE_INT_ARGB),
-					imagemDoCodigoDeBarras.getWidth(null),
-					imagemDoCodigoDeBarras.getHeight(null));
-		} catch (IOException e) {
-			throw new CriacaoBoletoException(
-					"Erro na geração do código de barras", e);
+		String codigoDeBarras = boletoPreparado.getCodigoDeBarras();
+		if (this.writer instanceof BarcodeWriter) {
+			((BarcodeWriter) this.writer).writeBarcode(40, 10, codigoDeBarras,
+					BARCODE_MODULE_WIDTH, BARCODE_HEIGHT);
+		} else {
+			BufferedImage imagemDoCodigoDeBarras = BarcodeGenerator
+					.generateRasterFor(codigoDeBarras, BARCODE_MODULE_WIDTH,
+							(int) BARCODE_HEIGHT);
+			try {
+				this.writer.writeImage(40, 10, imagemDoCodigoDeBarras,
+						imagemDoCodigoDeBarras.getWidth(),
+						imagemDoCodigoDeBarras.getHeight());
+			} catch (IOException e) {
+				throw new CriacaoBoletoException(
+						"Erro na geração do código de barras", e);
+			}
 		}
 		return writer;
 
 	}
 
 	/**
-	 * Converte um Image em um BufferedImage
-	 * 
-	 * @param image
-	 * @param type
-	 */
-	private BufferedImage toBufferedImage(Image image, int type) {
-		return BufferedImageGenerator.generateBufferedImageFor(image,type);
-	}
-
-	/**
-	 * Abre um arquivo em um BufferedImage
+	 * Abre um arquivo em um BufferedImage, decodificado apenas uma vez
 	 * 
 	 * @param file
 	 * @return
 	 * @throws IOException
 	 */
 	private BufferedImage imageFor(URL file) throws IOException {
-		return ImageIO.read(file);
-	}
-
-	/**
-	 * Formata uma data para dd/mm/yyyy
-	 * 
-	 * @param date
-	 * @return
-	 */
-	private String formatDate(Calendar date) {
-		return BoletoFormatter.formatDate(date);
+		return BoletoImageCache.getInstance().getImage(file);
 	}
 
 }
@@ -0,0 +1,28 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * TextWriter capaz de reaproveitar as imagens que se repetem em todos os
+ * boletos, como o fundo do boleto e o logotipo dos bancos, identificando-as
+ * pelo seu endereço.
+ */
+public interface SharedImageWriter extends TextWriter {
+
+    /**
+     * Escreve a imagem do endereço indicado na posição x, y. A mesma imagem,
+     * com as mesmas dimensões, pode ser escrita diversas vezes sem ser lida ou
+     * gravada novamente.
+     * 
+     * @param x
+     * @param y
+     * @param image
+     *            endereço da imagem
+     * @param width
+     * @param height
+     * @throws IOException
+     */
+    void writeImage(float x, float y, URL image, float width, float height) throws IOException;
+
+}
@@ -0,0 +1,80 @@
+package br.com.caelum.stella.boleto;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class FormatadorTest {
+
+    @Test
+    public void shouldPadLikeStringFormat() {
+        long[] numeros = { 0, 7, 42, 123456, 9000206, 12345678901L, -5, -123456, Long.MAX_VALUE, Long.MIN_VALUE };
+        for (long numero : numeros) {
+            for (int digitos = 1; digitos <= 20; digitos++) {
+                assertEquals(String.format("%0" + digitos + "d", numero), Formatador.zeros(numero, digitos));
+            }
+        }
+    }
+
+    @Test
+    public void shouldAppendToTheGivenBuilder() {
+        StringBuilder destino = new StringBuilder("001");
+
+        Formatador.zeros(destino, 76000, 8).append('-');
+        Formatador.data(destino, new GregorianCalendar(2008, Calendar.MAY, 2));
+
+        assertEquals("00100076000-02/05/2008", destino.toString());
+    }
+
+    @Test
+    public void shouldFormatCentsLikeStringFormat() {
+        String[] valores = { "0", "40.00", "1234.5", "0.005", "0.015", "99999999.99", "12.3456", "-5.00" };
+        for (String valor : valores) {
+            BigDecimal decimal = new BigDecimal(valor);
+            assertEquals(String.format("%011.2f", decimal).replaceAll("[^0-9]", ""), Formatador.centavos(decimal, 11));
+            assertEquals(String.format("%010.2f", decimal).replaceAll("[^0-9]", ""), Formatador.centavos(decimal, 10));
+        }
+    }
+
+    @Test
+    public void shouldFormatDatesLikeStringFormat() {
+        Calendar data = new GregorianCalendar(1997, Calendar.OCTOBER, 7);
+        for (int i = 0; i < 20000; i += 7) {
+            assertEquals(String.format("%1$td/%1$tm/%1$tY", data), Formatador.data(data));
+            data.add(Calendar.DAY_OF_MONTH, 7);
+        }
+    }
+
+    @Test
+    public void shouldCountDaysSinceEpochIgnoringTimeZone() {
+        Calendar data = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        data.clear();
+        data.set(1900, Calendar.JANUARY, 1);
+        for (int i = 0; i < 80000; i += 13) {
+            assertEquals(data.getTimeInMillis() / (24 * 60 * 60 * 1000), Formatador.dias(data));
+            data.add(Calendar.DAY_OF_MONTH, 13);
+        }
+
+        Calendar saoPaulo = new GregorianCalendar(TimeZone.getTimeZone("America/Sao_Paulo"));
+        saoPaulo.set(2008, Calendar.OCTOBER, 19, 23, 59);
+        assertEquals(Formatador.dias(2008, 10, 19), Formatador.dias(saoPaulo));
+    }
+
+    @Test
+    public void shouldComputeFatorDeVencimento() {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(1, 1, 1998);
+        Boleto boleto = Boleto.newBoleto().withDatas(datas);
+        assertEquals("86", boleto.getFatorVencimento());
+
+        boleto.withDatas(Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008).withVencimento(
+                2, 5, 2008));
+        assertEquals("3860", boleto.getFatorVencimento());
+    }
+
+}
@@ -0,0 +1,68 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class BarcodeGeneratorTest {
+
+    private static final String CODIGO = "00193373700000001000500940144816060680935031";
+
+    private static final int PRETO = 0xff000000;
+
+    private static final int BRANCO = 0xffffffff;
+
+    @Test
+    public void shouldEncodeStartPairAndStop() {
+        byte[] bars = BarcodeGenerator.generateBarsFor("12");
+
+        // inicio, 1 nas barras e 2 nos espaços intercalados, fim
+        assertArrayEquals(new byte[] { 1, 1, 1, 1, 3, 1, 1, 3, 1, 1, 1, 1, 3, 3, 3, 1, 1 }, bars);
+    }
+
+    @Test
+    public void shouldKeepTheWidthOfTheBoletoBarcode() {
+        byte[] bars = BarcodeGenerator.generateBarsFor(CODIGO);
+
+        assertEquals(4 + 44 * 5 + 3, bars.length);
+        assertEquals(405, BarcodeGenerator.widthOf(bars));
+    }
+
+    @Test
+    public void shouldPadOddCodesWithZero() {
+        assertArrayEquals(BarcodeGenerator.generateBarsFor("05"), BarcodeGenerator.generateBarsFor("5"));
+        assertArrayEquals(BarcodeGenerator.generateBarsFor("12"), BarcodeGenerator.generateBarsFor("1.2"));
+    }
+
+    @Test
+    public void shouldRasterizeBarsInOneBitPerPixel() {
+        BufferedImage image = BarcodeGenerator.generateRasterFor(CODIGO, 2, 10);
+
+        assertEquals(BufferedImage.TYPE_BYTE_BINARY, image.getType());
+        assertEquals(810, image.getWidth());
+        assertEquals(10, image.getHeight());
+        for (int y = 0; y < 10; y += 9) {
+            assertEquals(PRETO, image.getRGB(0, y));
+            assertEquals(PRETO, image.getRGB(1, y));
+            assertEquals(BRANCO, image.getRGB(2, y));
+            assertEquals(BRANCO, image.getRGB(3, y));
+            assertEquals(PRETO, image.getRGB(4, y));
+            assertEquals(PRETO, image.getRGB(809, y));
+            assertEquals(BRANCO, image.getRGB(807, y));
+        }
+    }
+
+    @Test
+    public void shouldDescribeBarsAsSvgPath() {
+        String svg = BarcodeGenerator.generateSvgFor("12", 37);
+
+        assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"27\" height=\"37\""));
+        assertTrue(svg.contains("d=\"M0 0h1v37h-1zM2 0h1v37h-1zM4 0h3v37h-3z"));
+        assertTrue(svg.endsWith("\"/></svg>"));
+    }
+
+}
@@ -0,0 +1,144 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
+
+import com.lowagie.text.pdf.PdfReader;
+
+public class BatchBoletoRendererTest {
+
+    private ExecutorService executor;
+
+    private List<Boleto> boletos;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        boletos = new ArrayList<Boleto>();
+        for (int i = 1; i <= 10; i++) {
+            Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                    .withVencimento(2, 5, 2008);
+            Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                    .withAgencia(1824).withDigitoAgencia('4').withContaCorrente(76000)
+                    .withNumeroConvenio(1207113).withDigitoContaCorrente('5').withCarteira(18)
+                    .withNossoNumero(9000200 + i);
+            Sacado sacado = Sacado.newSacado().withNome("Fulano da Silva").withCpf("111.222.333-12")
+                    .withEndereco("Av dos testes, 111 apto 333").withBairro("Bairro Teste").withCep("01234-111")
+                    .withCidade("São Paulo").withUf("SP");
+            boletos.add(Boleto.newBoleto().withBanco(new BancoDoBrasil()).withDatas(datas).withEmissor(emissor)
+                    .withSacado(sacado).withValorBoleto(i + ".00").withNumeroDoDocumento("4323")
+                    .withDescricoes("descricao 1").withInstrucoes("instrucao 1").withLocaisDePagamento("local 1"));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldAssembleOnePagePerBoletoInASinglePDF() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new BatchBoletoRenderer(executor, 3, 2).toPDF(boletos, out);
+
+        assertEquals(10, new PdfReader(out.toByteArray()).getNumberOfPages());
+    }
+
+    @Test
+    public void shouldNotRepeatSharedImagesBetweenBatches() throws IOException {
+        ByteArrayOutputStream umLote = new ByteArrayOutputStream();
+        ByteArrayOutputStream dezLotes = new ByteArrayOutputStream();
+
+        new BatchBoletoRenderer(executor, 10).toPDF(boletos, umLote);
+        new BatchBoletoRenderer(executor, 1).toPDF(boletos, dezLotes);
+
+        assertTrue(dezLotes.size() < 2 * umLote.size());
+    }
+
+    @Test
+    public void shouldGenerateOnePDFPerBoleto() throws IOException {
+        List<byte[]> pdfs = new BatchBoletoRenderer(executor, 4).toPDFs(boletos);
+
+        assertEquals(10, pdfs.size());
+        for (byte[] pdf : pdfs) {
+            assertEquals(1, new PdfReader(pdf).getNumberOfPages());
+        }
+    }
+
+    @Test
+    public void shouldWriteEntriesInOrderToZip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new BatchBoletoRenderer(executor, 3).toZip(boletos, out);
+
+        ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (int i = 1; i <= 10; i++) {
+            assertEquals("boleto-" + i + ".pdf", zip.getNextEntry().getName());
+        }
+        assertNull(zip.getNextEntry());
+    }
+
+    @Test
+    public void shouldRejectEmptyPDFWithoutWritingAnything() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            new BatchBoletoRenderer(executor).toPDF(Collections.<Boleto> emptyList(), out);
+            fail();
+        } catch (GeracaoBoletoException e) {
+            assertEquals(0, out.size());
+        }
+    }
+
+    @Test
+    public void shouldPropagateRenderingErrors() {
+        Boleto comFalha = boletos.get(1).withBanco(new BancoComFalha());
+
+        try {
+            new BatchBoletoRenderer(executor, 1).toPDFs(Arrays.asList(boletos.get(0), comFalha));
+            fail();
+        } catch (FalhaNoBanco e) {
+            assertEquals("codigo de barras indisponivel", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class FalhaNoBanco extends RuntimeException {
+        FalhaNoBanco(final String message) {
+            super(message);
+        }
+    }
+
+    private static class BancoComFalha extends BancoDoBrasil {
+        @Override
+        public String geraCodigoDeBarrasPara(final Boleto boleto) {
+            throw new FalhaNoBanco("codigo de barras indisponivel");
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.exception.GeracaoBoletoException;
+
+import com.lowagie.text.pdf.PdfReader;
+
+public class BoletoGeneratorTest {
+
+    private Boleto boleto;
+
+    @Before
+    public void setUp() {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(2, 5, 2008);
+        Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                .withAgencia(1824).withDigitoAgencia('4').withContaCorrente(76000).withNumeroConvenio(1207113)
+                .withDigitoContaCorrente('5').withCarteira(18).withNossoNumero(9000206);
+        Sacado sacado = Sacado.newSacado().withNome("Fulano da Silva").withCpf("111.222.333-12")
+                .withEndereco("Av dos testes, 111 apto 333").withBairro("Bairro Teste").withCep("01234-111")
+                .withCidade("São Paulo").withUf("SP");
+
+        boleto = Boleto.newBoleto().withBanco(new BancoDoBrasil()).withDatas(datas).withEmissor(emissor)
+                .withSacado(sacado).withValorBoleto("40.00").withNumeroDoDocumento("4323")
+                .withDescricoes("descricao 1").withInstrucoes("instrucao 1").withLocaisDePagamento("local 1");
+    }
+
+    @Test
+    public void shouldStreamOnePagePerBoletoWithoutClosingTheStream() throws IOException {
+        FlagOnCloseStream out = new FlagOnCloseStream();
+
+        new BoletoGenerator(Arrays.asList(boleto, boleto, boleto)).toPDF(out);
+
+        assertFalse(out.closed);
+        assertEquals(3, new PdfReader(out.toByteArray()).getNumberOfPages());
+    }
+
+    @Test
+    public void shouldRejectEmptyPDFWithoutWritingAnything() {
+        FlagOnCloseStream out = new FlagOnCloseStream();
+
+        try {
+            new BoletoGenerator(Collections.<Boleto> emptyList()).toPDF(out);
+            fail();
+        } catch (GeracaoBoletoException e) {
+        }
+
+        assertEquals(0, out.size());
+        assertFalse(out.closed);
+    }
+
+    @Test
+    public void shouldNotCreateTheFileForAnEmptyPDF() throws IOException {
+        File arquivo = File.createTempFile("boletos", ".pdf");
+        arquivo.delete();
+
+        try {
+            new BoletoGenerator(Collections.<Boleto> emptyList()).toPDF(arquivo);
+            fail();
+        } catch (GeracaoBoletoException e) {
+        }
+
+        assertFalse(arquivo.exists());
+    }
+
+    @Test
+    public void shouldGenerateTheSamePagesInMemory() throws IOException {
+        byte[] pdf = new BoletoGenerator(boleto, boleto).toPDF();
+
+        assertEquals(2, new PdfReader(pdf).getNumberOfPages());
+    }
+
+    @Test
+    public void shouldShareTemplateAndLogoBetweenPages() {
+        int umaPagina = new BoletoGenerator(boleto).toPDF().length;
+        int dezPaginas = new BoletoGenerator(Arrays.asList(boleto, boleto, boleto, boleto, boleto, boleto, boleto,
+                boleto, boleto, boleto)).toPDF().length;
+
+        assertTrue(dezPaginas < 2 * umaPagina);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotReturnInputStreamWhenStreaming() {
+        PDFBoletoWriter writer = new PDFBoletoWriter(new ByteArrayOutputStream());
+        writer.write(boleto);
+
+        writer.toInputStream();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotWriteAfterClosingTheStreamingWriter() {
+        PDFBoletoWriter writer = new PDFBoletoWriter(new ByteArrayOutputStream());
+        writer.write(boleto);
+        writer.close();
+
+        writer.write(boleto);
+    }
+
+    private static class FlagOnCloseStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+}
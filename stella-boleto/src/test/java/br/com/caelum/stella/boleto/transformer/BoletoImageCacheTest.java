@@ -0,0 +1,92 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.bancos.Itau;
+
+import com.lowagie.text.Image;
+
+public class BoletoImageCacheTest {
+
+    private final URL template = getClass().getResource("/br/com/caelum/stella/boleto/img/template.png");
+
+    @Test
+    public void shouldDecodeEachImageOnlyOnce() throws IOException {
+        BoletoImageCache cache = new BoletoImageCache(4);
+
+        assertSame(cache.getImage(template), cache.getImage(template));
+        assertSame(cache.getPng(template), cache.getPng(template));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldPrepareCompressedPdfImagesOnlyOnce() throws IOException {
+        BoletoImageCache cache = new BoletoImageCache(4);
+
+        Image image = cache.getPdfImage(template);
+
+        assertSame(image, cache.getPdfImage(template));
+        assertTrue(image.isDeflated());
+        assertEquals(cache.getImage(template).getWidth(), (int) image.getWidth());
+    }
+
+    @Test
+    public void shouldDigestThePngContent() throws IOException {
+        BoletoImageCache cache = new BoletoImageCache(4);
+        URL logo = getClass().getResource("/br/com/caelum/stella/boleto/img/001.png");
+
+        String digest = cache.getPngDigest(template);
+
+        assertEquals(32, digest.length());
+        assertEquals(digest, new BoletoImageCache(4).getPngDigest(template));
+        assertFalse(digest.equals(cache.getPngDigest(logo)));
+    }
+
+    @Test
+    public void shouldKeepPngResourcesUntouched() throws IOException {
+        byte[] png = new BoletoImageCache(4).getPng(template);
+
+        assertEquals((byte) 0x89, png[0]);
+        assertEquals('P', png[1]);
+        assertEquals(template.openConnection().getContentLength(), png.length);
+    }
+
+    @Test
+    public void shouldDiscardLeastRecentlyUsedImages() throws IOException {
+        BoletoImageCache cache = new BoletoImageCache(1);
+        URL logo = new BancoDoBrasil().getImage();
+
+        Object primeira = cache.getImage(logo);
+        cache.getImage(template);
+
+        assertEquals(1, cache.size());
+        assertNotSame(primeira, cache.getImage(logo));
+    }
+
+    @Test
+    public void shouldPreloadTemplateAndLogos() throws IOException {
+        BoletoImageCache cache = new BoletoImageCache(8);
+
+        cache.preload(new BancoDoBrasil(), new Itau());
+
+        assertEquals(3, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptEmptyCache() {
+        new BoletoImageCache(0);
+    }
+
+}
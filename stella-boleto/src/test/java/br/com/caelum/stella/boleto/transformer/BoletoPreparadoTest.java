@@ -0,0 +1,105 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.Banco;
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+import br.com.caelum.stella.boleto.bancos.LinhaDigitavelGenerator;
+
+public class BoletoPreparadoTest {
+
+    private Boleto boleto;
+
+    private ContadorDeCodigosDeBarras banco;
+
+    @Before
+    public void setUp() {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(2, 5, 2008);
+        Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                .withAgencia(1824).withDigitoAgencia('4').withContaCorrente(76000).withNumeroConvenio(1207113)
+                .withDigitoContaCorrente('5').withCarteira(18).withNossoNumero(9000206);
+        Sacado sacado = Sacado.newSacado().withNome("Fulano da Silva").withCpf("111.222.333-12");
+        banco = new ContadorDeCodigosDeBarras();
+
+        boleto = Boleto.newBoleto().withBanco(banco).withDatas(datas).withEmissor(emissor).withSacado(sacado)
+                .withValorBoleto("1234.50").withNumeroDoDocumento("4323");
+    }
+
+    @Test
+    public void shouldComputeTheSameValuesAsTheBoleto() {
+        BoletoPreparado preparado = new BoletoPreparado(boleto);
+        BancoDoBrasil bancoDoBrasil = new BancoDoBrasil();
+
+        assertEquals(bancoDoBrasil.geraCodigoDeBarrasPara(boleto), preparado.getCodigoDeBarras());
+        assertEquals(new LinhaDigitavelGenerator().geraLinhaDigitavelPara(boleto), preparado.getLinhaDigitavel());
+        assertEquals(boleto.getFatorVencimento(), preparado.getFatorVencimento());
+        assertEquals("1.234,50", preparado.getValor());
+        assertEquals(bancoDoBrasil.getNossoNumeroDoEmissorFormatado(boleto.getEmissor()), preparado.getNossoNumero());
+        assertEquals("1824 / " + bancoDoBrasil.getContaCorrenteDoEmissorFormatado(boleto.getEmissor()) + "-"
+                + boleto.getEmissor().getDigitoContaCorrente(), preparado.getAgenciaEContaCorrente());
+        assertEquals("02/05/2008", preparado.getVencimento());
+        assertEquals("04/05/2008", preparado.getDocumento());
+    }
+
+    @Test
+    public void shouldComputeTheBarcodeOnlyOnce() {
+        banco.vezes = 0;
+
+        new BoletoPreparado(boleto);
+
+        assertEquals(1, banco.vezes);
+    }
+
+    @Test
+    public void shouldComputeTheBarcodeOnlyOncePerPage() {
+        banco.vezes = 0;
+
+        new PDFBoletoWriter().write(boleto);
+        new PNGBoletoWriter().write(boleto);
+
+        assertEquals(2, banco.vezes);
+    }
+
+    private static class ContadorDeCodigosDeBarras implements Banco {
+
+        private final Banco banco = new BancoDoBrasil();
+
+        private int vezes;
+
+        public String geraCodigoDeBarrasPara(Boleto boleto) {
+            vezes++;
+            return banco.geraCodigoDeBarrasPara(boleto);
+        }
+
+        public String getNumeroFormatado() {
+            return banco.getNumeroFormatado();
+        }
+
+        public URL getImage() {
+            return banco.getImage();
+        }
+
+        public String getContaCorrenteDoEmissorFormatado(Emissor emissor) {
+            return banco.getContaCorrenteDoEmissorFormatado(emissor);
+        }
+
+        public String getCarteiraDoEmissorFormatado(Emissor emissor) {
+            return banco.getCarteiraDoEmissorFormatado(emissor);
+        }
+
+        public String getNossoNumeroDoEmissorFormatado(Emissor emissor) {
+            return banco.getNossoNumeroDoEmissorFormatado(emissor);
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+
+public class GrayscalePNGBoletoWriterTest {
+
+    private Boleto boleto;
+
+    @Before
+    public void setUp() {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(2, 5, 2008);
+        Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                .withAgencia(1824).withDigitoAgencia('4').withContaCorrente(76000).withNumeroConvenio(1207113)
+                .withDigitoContaCorrente('5').withCarteira(18).withNossoNumero(9000206);
+        Sacado sacado = Sacado.newSacado().withNome("Fulano da Silva").withCpf("111.222.333-12")
+                .withEndereco("Av dos testes, 111 apto 333").withBairro("Bairro Teste").withCep("01234-111")
+                .withCidade("São Paulo").withUf("SP");
+
+        boleto = Boleto.newBoleto().withBanco(new BancoDoBrasil()).withDatas(datas).withEmissor(emissor)
+                .withSacado(sacado).withValorBoleto("40.00").withNumeroDoDocumento("4323")
+                .withDescricoes("descricao 1").withInstrucoes("instrucao 1").withLocaisDePagamento("local 1");
+    }
+
+    @Test
+    public void shouldWriteFourBitGrayscalePngAtTheRequestedResolution() throws IOException {
+        byte[] png = new BoletoGenerator(boleto).toGrayscalePNG(150);
+
+        // IHDR: profundidade 4, tipo de cor 0 (cinza)
+        assertEquals(4, png[24]);
+        assertEquals(0, png[25]);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertEquals(Math.round(2144 / 4.16f * 150 / 72), image.getWidth());
+        assertEquals(Math.round(1900 / 4.16f * 150 / 72), image.getHeight());
+    }
+
+    @Test
+    public void shouldDrawTheBarcodeInBlack() throws IOException {
+        byte[] png = new BoletoGenerator(boleto).toGrayscalePNG(72);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+
+        // primeira barra do código de barras, em (40, 10) com 37 de altura
+        int y = image.getHeight() - 10 - 18;
+        assertEquals(0xff000000, image.getRGB(40, y));
+        assertEquals(0xffffffff, image.getRGB(41, y));
+        assertEquals(0xff000000, image.getRGB(42, y));
+    }
+
+    @Test
+    public void shouldBeSmallerThanTheColorPng() {
+        byte[] cinza = new BoletoGenerator(boleto).toGrayscalePNG(GrayscalePNGBoletoWriter.DEFAULT_DPI);
+        byte[] colorido = new BoletoGenerator(boleto).toPNG();
+
+        assertTrue(cinza.length < colorido.length);
+    }
+
+    @Test
+    public void shouldClearTheReusedCanvas() {
+        Boleto outro = Boleto.newBoleto().withBanco(new BancoDoBrasil()).withDatas(boleto.getDatas())
+                .withEmissor(boleto.getEmissor()).withSacado(boleto.getSacado()).withValorBoleto("99999.99")
+                .withNumeroDoDocumento("8888888").withInstrucoes("outra instrucao bem mais comprida");
+
+        new BoletoGenerator(outro).toGrayscalePNG(100);
+        byte[] reaproveitado = new BoletoGenerator(boleto).toGrayscalePNG(100);
+        new BoletoGenerator(outro).toGrayscalePNG(101);
+        byte[] novo = new BoletoGenerator(boleto).toGrayscalePNG(100);
+
+        assertArrayEquals(novo, reaproveitado);
+    }
+
+    @Test
+    public void shouldRenderTheSameImageFromManyThreads() throws Exception {
+        final byte[] esperado = new BoletoGenerator(boleto).toGrayscalePNG(100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> pngs = new ArrayList<Future<byte[]>>();
+            for (int i = 0; i < 32; i++) {
+                pngs.add(executor.submit(new Callable<byte[]>() {
+                    public byte[] call() {
+                        return new BoletoGenerator(boleto).toGrayscalePNG(100);
+                    }
+                }));
+            }
+            for (Future<byte[]> png : pngs) {
+                assertArrayEquals(esperado, png.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldKeepALimitedNumberOfFontsAcrossResolutions() {
+        for (int dpi = 20; dpi < 40; dpi++) {
+            GrayscalePNGBoletoWriter writer = new GrayscalePNGBoletoWriter(dpi);
+            writer.write(boleto);
+            writer.toInputStream();
+        }
+
+        assertTrue(GrayscalePNGBoletoWriter.fontesGuardadas() <= GrayscalePNGBoletoWriter.FONTES_GUARDADAS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotWriteAfterGeneratingThePng() {
+        GrayscalePNGBoletoWriter writer = new GrayscalePNGBoletoWriter();
+        writer.write(boleto);
+        writer.toInputStream();
+
+        writer.write(boleto);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveResolution() {
+        new GrayscalePNGBoletoWriter(0);
+    }
+
+}
@@ -0,0 +1,151 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HTMLBoletoServletTest {
+
+    private static final String CODIGO = "00193373700000001000500940144816060680935031";
+
+    private HTMLBoletoServlet servlet;
+
+    @Before
+    public void setUp() throws ServletException {
+        servlet = new HTMLBoletoServlet();
+        servlet.init(mock(ServletConfig.class));
+    }
+
+    @Test
+    public void shouldSendImmutableBarcodeWithEtag() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        SaidaEmMemoria saida = new SaidaEmMemoria();
+        when(response.getOutputStream()).thenReturn(saida);
+
+        servlet.doGet(request(CODIGO, null), response);
+
+        verify(response).setContentType("image/png");
+        verify(response).setHeader("ETag", "\"barcode-" + CODIGO + "\"");
+        verify(response).setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        verify(response).setContentLength(saida.bytes.size());
+    }
+
+    @Test
+    public void shouldReuseTheEncodedBarcode() throws Exception {
+        SaidaEmMemoria primeira = new SaidaEmMemoria();
+        SaidaEmMemoria segunda = new SaidaEmMemoria();
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(primeira, segunda);
+
+        servlet.doGet(request(CODIGO, null), response);
+        servlet.doGet(request(CODIGO, null), response);
+
+        assertArrayEquals(primeira.bytes.toByteArray(), segunda.bytes.toByteArray());
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedWhenEtagMatches() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        servlet.doGet(request(CODIGO, "W/\"outro\", \"barcode-" + CODIGO + "\""), response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void shouldRejectValuesWithoutDigits() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        servlet.doGet(request("abc", null), response);
+
+        verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST);
+        verify(response, never()).setContentLength(anyInt());
+        verify(response, never()).setHeader(any(String.class), any(String.class));
+    }
+
+    @Test
+    public void shouldTagImagesWithTheirContentDigest() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(new SaidaEmMemoria());
+        URL logo = getClass().getResource(BoletoImageCache.IMAGENS + "001.png");
+
+        servlet.doGet(request("img", "001.png", null), response);
+
+        verify(response).setHeader("ETag", "\"img-" + BoletoImageCache.getInstance().getPngDigest(logo) + "\"");
+        verify(response).setHeader("Cache-Control", "public, max-age=86400");
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedForUnchangedImages() throws Exception {
+        URL logo = getClass().getResource(BoletoImageCache.IMAGENS + "001.png");
+        String etag = "\"img-" + BoletoImageCache.getInstance().getPngDigest(logo) + "\"";
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        servlet.doGet(request("img", "001.png", etag), response);
+
+        verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void shouldRejectImageNamesOutsideTheImageDirectory() throws Exception {
+        for (String value : new String[] { "../img/001.png", "..", "0\"01.png", "/001.png", "" }) {
+            HttpServletResponse response = mock(HttpServletResponse.class);
+
+            servlet.doGet(request("img", value, null), response);
+
+            verify(response).sendError(HttpServletResponse.SC_BAD_REQUEST);
+            verify(response, never()).setHeader(any(String.class), any(String.class));
+        }
+    }
+
+    @Test
+    public void shouldNotFindMissingImages() throws Exception {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        servlet.doGet(request("img", "nao-existe.png", null), response);
+
+        verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+    }
+
+    private HttpServletRequest request(final String value, final String ifNoneMatch) {
+        return request("barCode", value, ifNoneMatch);
+    }
+
+    private HttpServletRequest request(final String type, final String value, final String ifNoneMatch) {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getParameter("type")).thenReturn(type);
+        when(request.getParameter("value")).thenReturn(value);
+        when(request.getHeader("If-None-Match")).thenReturn(ifNoneMatch);
+        return request;
+    }
+
+    private static class SaidaEmMemoria extends ServletOutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void write(final int b) throws IOException {
+            bytes.write(b);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package br.com.caelum.stella.boleto.transformer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.URL;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.boleto.Boleto;
+import br.com.caelum.stella.boleto.Datas;
+import br.com.caelum.stella.boleto.Emissor;
+import br.com.caelum.stella.boleto.Sacado;
+import br.com.caelum.stella.boleto.bancos.BancoDoBrasil;
+
+public class HTMLBoletoWriterTest {
+
+    private HTMLBoletoWriter writer;
+
+    @Before
+    public void setUp() throws IOException {
+        Datas datas = Datas.newDatas().withDocumento(4, 5, 2008).withProcessamento(4, 5, 2008)
+                .withVencimento(2, 5, 2008);
+        Emissor emissor = Emissor.newEmissor().withCedente("Caue").withEnderecoCedente("Rua dos testes, 100")
+                .withAgencia(1824).withDigitoAgencia('4').withContaCorrente(76000).withNumeroConvenio(1207113)
+                .withDigitoContaCorrente('5').withCarteira(18).withNossoNumero(9000206);
+        Sacado sacado = Sacado.newSacado().withNome("João da Conceição").withCpf("111.222.333-12");
+        Boleto boleto = Boleto.newBoleto().withBanco(new BancoDoBrasil()).withDatas(datas).withEmissor(emissor)
+                .withSacado(sacado).withValorBoleto("40.00").withNumeroDoDocumento("4323");
+
+        writer = new HTMLBoletoWriter(new URL("http://localhost:8080/stella-boleto/"));
+        writer.write(boleto);
+    }
+
+    @Test
+    public void shouldWriteUtf8ToTheOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.writeTo(out);
+
+        String html = new String(out.toByteArray(), "UTF-8");
+        assertTrue(html.contains("Agência"));
+        assertTrue(html.contains("João da Conceição"));
+    }
+
+    @Test
+    public void shouldWriteTheSameHtmlToWriterAndInputStream() throws IOException {
+        StringWriter html = new StringWriter();
+        writer.writeTo(html);
+
+        InputStream is = writer.toInputStream();
+        byte[] bytes = new byte[is.available()];
+        assertEquals(bytes.length, is.read(bytes));
+
+        assertArrayEquals(html.toString().getBytes("UTF-8"), bytes);
+    }
+
+}
@@ -0,0 +1,130 @@
+package br.com.caelum.stella;
+
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import br.com.caelum.stella.validation.InvalidValue;
+import br.com.caelum.stella.validation.error.CNPJError;
+import br.com.caelum.stella.validation.error.CPFError;
+import br.com.caelum.stella.validation.error.IEError;
+import br.com.caelum.stella.validation.error.NITError;
+import br.com.caelum.stella.validation.error.RenavamError;
+import br.com.caelum.stella.validation.error.TituloEleitoralError;
+
+/**
+ * <p>
+ * PrecomputedMessageProducer gera as mensagens de erro uma única vez, através
+ * de outro {@link MessageProducer}, e passa a devolver sempre a mesma instância
+ * de {@link ValidationMessage} para cada erro.
+ * </p>
+ * <p>
+ * As mensagens de todos os erros do Stella ({@link CPFError},
+ * {@link CNPJError}, {@link IEError}, {@link NITError}, {@link RenavamError} e
+ * {@link TituloEleitoralError}) são geradas na construção. Mensagens de
+ * outros erros declarados como <code>enum</code> são guardadas na primeira vez
+ * em que forem pedidas; os demais erros são sempre repassados ao produtor
+ * original.
+ * </p>
+ * <p>
+ * O produtor original deve gerar sempre a mesma mensagem para um mesmo erro.
+ * </p>
+ */
+public class PrecomputedMessageProducer implements MessageProducer {
+
+    private static final int MAXIMUM_BUNDLES = 64;
+
+    private static final ConcurrentMap<ResourceBundle, PrecomputedMessageProducer> POR_BUNDLE = new ConcurrentHashMap<ResourceBundle, PrecomputedMessageProducer>();
+
+    private final MessageProducer messageProducer;
+
+    private final ConcurrentMap<InvalidValue, ValidationMessage> messages = new ConcurrentHashMap<InvalidValue, ValidationMessage>();
+
+    /**
+     * @param messageProducer
+     *            produtor utilizado para gerar as mensagens.
+     */
+    public PrecomputedMessageProducer(final MessageProducer messageProducer) {
+        this.messageProducer = messageProducer;
+        precompute(CPFError.class);
+        precompute(CNPJError.class);
+        precompute(IEError.class);
+        precompute(NITError.class);
+        precompute(RenavamError.class);
+        precompute(TituloEleitoralError.class);
+    }
+
+    /**
+     * Devolve o produtor compartilhado para as mensagens de um
+     * {@link ResourceBundle}, e portanto de um locale, criando-o na primeira
+     * vez em que for pedido.
+     *
+     * @param bundle
+     *            ResourceBundle que contém as mensagens.
+     * @return produtor que gera as mensagens através de um
+     *         {@link ResourceBundleMessageProducer}.
+     */
+    public static PrecomputedMessageProducer forBundle(final ResourceBundle bundle) {
+        PrecomputedMessageProducer result = POR_BUNDLE.get(bundle);
+        if (result == null) {
+            if (POR_BUNDLE.size() >= MAXIMUM_BUNDLES) {
+                POR_BUNDLE.clear();
+            }
+            result = new PrecomputedMessageProducer(new ResourceBundleMessageProducer(bundle));
+            PrecomputedMessageProducer previous = POR_BUNDLE.putIfAbsent(bundle, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gera as mensagens de todos os erros de uma enumeração.
+     *
+     * @param errorClass
+     *            enumeração de erros.
+     * @return este produtor.
+     */
+    public PrecomputedMessageProducer precompute(final Class<? extends InvalidValue> errorClass) {
+        InvalidValue[] errors = errorClass.getEnumConstants();
+        if (errors == null) {
+            throw new IllegalArgumentException(errorClass + " is not an enum.");
+        }
+        for (InvalidValue error : errors) {
+            messages.putIfAbsent(error, messageProducer.getMessage(error));
+        }
+        return this;
+    }
+
+    public ValidationMessage getMessage(final InvalidValue error) {
+        ValidationMessage message = messages.get(error);
+        if (message == null) {
+            message = messageProducer.getMessage(error);
+            if (error instanceof Enum<?>) {
+                ValidationMessage previous = messages.putIfAbsent(error, message);
+                if (previous != null) {
+                    message = previous;
+                }
+            }
+        }
+        return message;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return messageProducer.equals(((PrecomputedMessageProducer) obj).messageProducer);
+    }
+
+    @Override
+    public int hashCode() {
+        return messageProducer.hashCode();
+    }
+
+}
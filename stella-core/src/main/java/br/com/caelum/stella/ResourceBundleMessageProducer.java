@@ -57,7 +57,8 @@ public class ResourceBundleMessageProducer implements MessageProducer {
         try {
             message = bundle.getString(key);
         } catch (MissingResourceException ex) {
-            message = key.replaceFirst("[.]", " : ").replaceAll("_", " ");
+            int separator = key.indexOf('.');
+            message = (key.substring(0, separator) + " : " + key.substring(separator + 1)).replace('_', ' ');
         }
         return new SimpleValidationMessage(message);
     }
@@ -89,4 +90,20 @@ public class ResourceBundleMessageProducer implements MessageProducer {
         String key = simpleName + "." + errorName;
         return key.toLowerCase(locale);
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        return bundle.equals(((ResourceBundleMessageProducer) obj).bundle);
+    }
+
+    @Override
+    public int hashCode() {
+        return bundle.hashCode();
+    }
 }
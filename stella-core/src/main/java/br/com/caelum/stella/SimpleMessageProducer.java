@@ -33,9 +33,21 @@ public class SimpleMessageProducer implements MessageProducer {
     public ValidationMessage getMessage(InvalidValue error) {
         String simpleName = error.getClass().getSimpleName();
         String errorName = error.name();
-        String key = simpleName + "." + errorName;
-        String message;
-        message = key.replaceFirst("[.]", " : ").replaceAll("_", " ");
+        String message = (simpleName + " : " + errorName).replace('_', ' ');
         return new SimpleValidationMessage(message);
     }
+
+    /**
+     * Todas as instâncias produzem as mesmas mensagens e, portanto, são
+     * iguais entre si.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return obj != null && obj.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
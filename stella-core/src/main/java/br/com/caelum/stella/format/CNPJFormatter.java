@@ -7,18 +7,18 @@ import br.com.caelum.stella.validation.CNPJValidator;
  * 
  */
 public class CNPJFormatter implements Formatter {
-    private final BaseFormatter base;
+    private final MascaraDeDocumento mascara;
 
     public CNPJFormatter() {
-        this.base = new BaseFormatter(CNPJValidator.FORMATED, "$1.$2.$3/$4-$5", CNPJValidator.UNFORMATED, "$1$2$3$4$5");
+        this.mascara = CNPJValidator.MASCARA;
     }
 
     public String format(String value) {
-        return base.format(value);
+        return mascara.formata(value);
     }
 
     public String unformat(String value) {
-        return base.unformat(value);
+        return mascara.desformata(value);
     }
 
 }
@@ -8,18 +8,18 @@ import br.com.caelum.stella.validation.CPFValidator;
  */
 public class CPFFormatter implements Formatter {
 
-    private final BaseFormatter base;
+    private final MascaraDeDocumento mascara;
 
     public CPFFormatter() {
-        this.base = new BaseFormatter(CPFValidator.FORMATED, "$1.$2.$3-$4", CPFValidator.UNFORMATED, "$1$2$3$4");
+        this.mascara = CPFValidator.MASCARA;
     }
 
     public String format(String value) {
-        return base.format(value);
+        return mascara.formata(value);
     }
 
     public String unformat(String value) {
-        return base.unformat(value);
+        return mascara.desformata(value);
     }
 
 }
@@ -0,0 +1,228 @@
+package br.com.caelum.stella.format;
+
+/**
+ * <p>
+ * Máscara de tamanho fixo de um documento, como <code>###.###.###-##</code>
+ * para o CPF, onde <code>#</code> representa um dígito decimal e qualquer
+ * outro caractere deve aparecer literalmente na cadeia formatada.
+ * </p>
+ * <p>
+ * Verifica o formato e extrai os dígitos em uma única passada pela cadeia,
+ * sem utilizar expressões regulares nem criar cadeias intermediárias.
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ * </p>
+ */
+public class MascaraDeDocumento {
+
+    private static final char DIGITO = '#';
+
+    private final char[] mascara;
+
+    private final int quantidadeDeDigitos;
+
+    /**
+     * @param mascara
+     *            máscara do documento formatado, utilizando <code>#</code>
+     *            para representar cada dígito.
+     */
+    public MascaraDeDocumento(String mascara) {
+        this.mascara = mascara.toCharArray();
+        int digitos = 0;
+        for (char c : this.mascara) {
+            if (c == DIGITO) {
+                digitos++;
+            }
+        }
+        this.quantidadeDeDigitos = digitos;
+    }
+
+    /**
+     * @return quantidade de dígitos do documento sem formatação.
+     */
+    public int getQuantidadeDeDigitos() {
+        return quantidadeDeDigitos;
+    }
+
+    /**
+     * @param valor
+     *            cadeia a ser verificada.
+     * @return <code>true</code> se a cadeia segue exatamente esta máscara.
+     */
+    public boolean isFormatado(CharSequence valor) {
+        if (valor.length() != mascara.length) {
+            return false;
+        }
+        for (int i = 0; i < mascara.length; i++) {
+            char c = valor.charAt(i);
+            if (mascara[i] == DIGITO ? !isDigito(c) : c != mascara[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param valor
+     *            cadeia a ser verificada.
+     * @return <code>true</code> se a cadeia é composta apenas pela quantidade
+     *         de dígitos desta máscara.
+     */
+    public boolean isDesformatado(CharSequence valor) {
+        if (valor.length() != quantidadeDeDigitos) {
+            return false;
+        }
+        for (int i = 0; i < quantidadeDeDigitos; i++) {
+            if (!isDigito(valor.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>
+     * Verifica se a cadeia segue esta máscara e, em caso positivo, extrai os
+     * seus dígitos.
+     * </p>
+     * <p>
+     * Os dígitos ficam num pequeno array criado a cada chamada, sem cópia para
+     * uma {@link String}. Não há buffer compartilhado: a máscara não guarda
+     * estado por thread e pode ficar em campos estáticos sem prender o
+     * classloader nas threads de um servidor.
+     * </p>
+     *
+     * @param valor
+     *            cadeia formatada.
+     * @return os dígitos da cadeia, ou <code>null</code> caso ela não siga
+     *         esta máscara.
+     */
+    public CharSequence extraiDigitos(CharSequence valor) {
+        Digitos digitos = new Digitos(quantidadeDeDigitos);
+        return extraiDigitos(valor, digitos.valores) ? digitos : null;
+    }
+
+    private boolean extraiDigitos(CharSequence valor, char[] destino) {
+        if (valor.length() != mascara.length) {
+            return false;
+        }
+        int j = 0;
+        for (int i = 0; i < mascara.length; i++) {
+            char c = valor.charAt(i);
+            if (mascara[i] == DIGITO) {
+                if (!isDigito(c)) {
+                    return false;
+                }
+                destino[j++] = c;
+            } else if (c != mascara[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param valor
+     *            cadeia composta apenas pelos dígitos do documento.
+     * @return cadeia formatada segundo esta máscara.
+     * @throws IllegalArgumentException
+     *             caso a cadeia seja nula ou não seja composta apenas pela
+     *             quantidade de dígitos desta máscara.
+     */
+    public String formata(String valor) throws IllegalArgumentException {
+        verificaNulo(valor);
+        if (!isDesformatado(valor)) {
+            throw new IllegalArgumentException("Value is not properly formatted.");
+        }
+        char[] result = new char[mascara.length];
+        int j = 0;
+        for (int i = 0; i < mascara.length; i++) {
+            result[i] = mascara[i] == DIGITO ? valor.charAt(j++) : mascara[i];
+        }
+        return new String(result);
+    }
+
+    /**
+     * @param valor
+     *            cadeia formatada segundo esta máscara.
+     * @return cadeia composta apenas pelos dígitos do documento.
+     * @throws IllegalArgumentException
+     *             caso a cadeia seja nula ou não siga esta máscara.
+     */
+    public String desformata(String valor) throws IllegalArgumentException {
+        verificaNulo(valor);
+        char[] result = new char[quantidadeDeDigitos];
+        if (!extraiDigitos(valor, result)) {
+            throw new IllegalArgumentException("Value is not properly formatted.");
+        }
+        return new String(result);
+    }
+
+    /**
+     * Remove todos os caracteres que não são dígitos decimais, em uma única
+     * passada e sem expressões regulares. Útil para documentos cujo formato
+     * varia e não cabe numa máscara de tamanho fixo, como a inscrição
+     * estadual.
+     *
+     * @param valor
+     *            cadeia possivelmente formatada.
+     * @return a própria cadeia, quando ela já é composta apenas por dígitos;
+     *         caso contrário, uma nova cadeia apenas com os seus dígitos.
+     */
+    public static String apenasDigitos(String valor) {
+        int tamanho = valor.length();
+        int i = 0;
+        while (i < tamanho && isDigito(valor.charAt(i))) {
+            i++;
+        }
+        if (i == tamanho) {
+            return valor;
+        }
+        char[] digitos = new char[tamanho - 1];
+        valor.getChars(0, i, digitos, 0);
+        int j = i;
+        for (i++; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (isDigito(c)) {
+                digitos[j++] = c;
+            }
+        }
+        return new String(digitos, 0, j);
+    }
+
+    private void verificaNulo(String valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Value may not be null.");
+        }
+    }
+
+    private static boolean isDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static class Digitos implements CharSequence {
+
+        private final char[] valores;
+
+        Digitos(int tamanho) {
+            this.valores = new char[tamanho];
+        }
+
+        public int length() {
+            return valores.length;
+        }
+
+        public char charAt(int index) {
+            return valores[index];
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return new String(valores, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(valores);
+        }
+    }
+
+}
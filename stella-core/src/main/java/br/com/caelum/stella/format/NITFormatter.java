@@ -7,18 +7,18 @@ import br.com.caelum.stella.validation.NITValidator;
  */
 public class NITFormatter implements Formatter {
 
-    private final BaseFormatter base;
+    private final MascaraDeDocumento mascara;
 
     public NITFormatter() {
-        this.base = new BaseFormatter(NITValidator.NIT_FORMATED, "$1.$2.$3-$4", NITValidator.NIT_UNFORMATED, "$1$2$3$4");
+        this.mascara = NITValidator.NIT_MASCARA;
     }
 
     public String format(String value) {
-        return base.format(value);
+        return mascara.formata(value);
     }
 
     public String unformat(String value) {
-        return base.unformat(value);
+        return mascara.desformata(value);
     }
 
 }
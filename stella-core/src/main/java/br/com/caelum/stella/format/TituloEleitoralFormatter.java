@@ -6,18 +6,18 @@ import br.com.caelum.stella.validation.TituloEleitoralValidator;
 public class TituloEleitoralFormatter implements Formatter{
 	  
 	
-	private final BaseFormatter base;
+	private final MascaraDeDocumento mascara;
 	
     public TituloEleitoralFormatter() {
-        this.base = new BaseFormatter(TituloEleitoralValidator.FORMATED, "$1/$2",TituloEleitoralValidator.UNFORMATED, "$1$2");
+        this.mascara = TituloEleitoralValidator.MASCARA;
     }
 
     public String format(String value) {
-        return base.format(value);
+        return mascara.formata(value);
     }
 
     public String unformat(String value) {
-        return base.unformat(value);
+        return mascara.desformata(value);
     }
 	
 }
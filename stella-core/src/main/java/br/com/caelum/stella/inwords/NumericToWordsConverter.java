@@ -1,18 +1,73 @@
 package br.com.caelum.stella.inwords;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.MissingResourceException;
 
 /**
+ * <p>
  * Responsável por transformar um número em sua representação por extenso.
- * 
+ * </p>
+ * <p>
+ * As palavras de todos os números de 0 a 999 e das potências de mil são
+ * montadas uma única vez, a partir do arquivo de mensagens; a transformação
+ * separa o número em blocos de três dígitos aritmeticamente e apenas concatena
+ * as palavras já prontas. Os métodos que recebem um {@link Appendable} escrevem
+ * o resultado diretamente nele, sem criar a {@link String} intermediária.
+ * </p>
+ *
  * @author Victor dos Santos Pereira
  * @author Leonardo Bessa
- * 
+ *
  */
 public class NumericToWordsConverter {
 
+    private static final String SEPARADOR = getString("sep");
+
+    private static final String SEPARADOR_DE_MILHAR = getString("sep.mil");
+
+    private static final String[] NUMEROS = new String[1000];
+
+    private static final String[] POTENCIAS_NO_SINGULAR;
+
+    private static final String[] POTENCIAS_NO_PLURAL;
+
+    /**
+     * Maior quantidade de blocos de três dígitos de um long.
+     */
+    private static final int BLOCOS_DE_UM_LONG = 7;
+
+    private static final long[] POTENCIAS_DE_DEZ = new long[19];
+
+    static {
+        POTENCIAS_DE_DEZ[0] = 1;
+        for (int i = 1; i < POTENCIAS_DE_DEZ.length; i++) {
+            POTENCIAS_DE_DEZ[i] = POTENCIAS_DE_DEZ[i - 1] * 10;
+        }
+        for (int i = 0; i < NUMEROS.length; i++) {
+            NUMEROS[i] = porExtenso(i);
+        }
+        List<String> singular = new ArrayList<String>();
+        List<String> plural = new ArrayList<String>();
+        try {
+            for (int potencia = 1;; potencia++) {
+                String prefixo = "1e" + 3 * potencia + ".";
+                singular.add(getString(prefixo + "singular"));
+                plural.add(getString(prefixo + "plural"));
+            }
+        } catch (MissingResourceException e) {
+            // não há mais potências de mil
+        }
+        POTENCIAS_NO_SINGULAR = singular.toArray(new String[singular.size()]);
+        POTENCIAS_NO_PLURAL = plural.toArray(new String[plural.size()]);
+    }
+
+    private static final BigInteger DOIS = BigInteger.valueOf(2);
+
     private final FormatoDeExtenso formato;
 
     /**
@@ -29,33 +84,7 @@ public class NumericToWordsConverter {
      * @return Representação do número por extenso.
      */
     public String toWords(long number) {
-        try {
-            if (number < 0) {
-                throw new IllegalArgumentException("Não é possível transforma número negativos.");
-            }
-            StringBuffer result = new StringBuffer();
-            if (number == 0) {
-                result.append(getNumber(0));
-            } else {
-                DecimalFormatSymbols symbols = new DecimalFormatSymbols();
-                symbols.setGroupingSeparator(',');
-                symbols.setDecimalSeparator('.');
-                DecimalFormat formatter = new DecimalFormat("###,###", symbols);
-                String formattedInt = formatter.format(number);
-                String[] ints = formattedInt.split("[,]");
-                ThousandBlock[] blocks = new ThousandBlock[ints.length];
-                for (int i = 0; i < blocks.length; i++) {
-                    String block = ints[i];
-                    blocks[i] = new ThousandBlock(block);
-                }
-
-                appendIntegers(result, blocks);
-                appendIntegersUnits(number, result, blocks);
-            }
-            return result.toString();
-        } catch (MissingResourceException e) {
-            throw new IllegalArgumentException("Número muito grande para ser transformado em extenso.");
-        }
+        return toWords(number, new StringBuilder()).toString();
     }
 
     /**
@@ -64,197 +93,424 @@ public class NumericToWordsConverter {
      * @return Representação do número por extenso.
      */
     public String toWords(double number) {
+        return toWords(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * @param number
+     *            número a ser transformado, arredondado para a quantidade de
+     *            casas decimais do formato
+     * @return Representação do número por extenso.
+     */
+    public String toWords(BigDecimal number) {
+        return toWords(number, new StringBuilder()).toString();
+    }
+
+    /**
+     * @param units
+     *            parte inteira do número
+     * @param decimals
+     *            parte decimal do número, com a quantidade de casas decimais
+     *            do formato; por exemplo, os centavos em {@link FormatoDeReal}
+     * @return Representação do número por extenso.
+     */
+    public String toWords(long units, int decimals) {
+        return toWords(units, decimals, new StringBuilder()).toString();
+    }
+
+    /**
+     * @param number
+     *            número a ser transformado
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @return o próprio <code>out</code>.
+     */
+    public StringBuilder toWords(long number, StringBuilder out) {
         try {
-            if (number < 0) {
-                throw new IllegalArgumentException("Não é possível transforma número negativos.");
-            }
-            StringBuffer result = new StringBuffer();
-            if (number == 0) {
-                result.append(getNumber(0));
-            } else {
+            toWords(number, (Appendable) out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // nao esperado
+        }
+        return out;
+    }
 
-                String[] parts = split(number);
-                String formattedInt = parts[0];
-                String[] ints = formattedInt.split("[,]");
-                ThousandBlock[] blocks = new ThousandBlock[ints.length];
-                for (int i = 0; i < blocks.length; i++) {
-                    String block = ints[i];
-                    blocks[i] = new ThousandBlock(block);
-                }
-                String formattedMod = parts[1];
-                ThousandBlock modBlock = new ThousandBlock(formattedMod);
+    /**
+     * @param number
+     *            número a ser transformado
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @return o próprio <code>out</code>.
+     */
+    public StringBuilder toWords(double number, StringBuilder out) {
+        try {
+            toWords(number, (Appendable) out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // nao esperado
+        }
+        return out;
+    }
 
-                boolean hasMod = !modBlock.isZero();
-                boolean hasInteger = (blocks.length > 1) || (!blocks[blocks.length - 1].isZero());
+    /**
+     * @param number
+     *            número a ser transformado, arredondado para a quantidade de
+     *            casas decimais do formato
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @return o próprio <code>out</code>.
+     */
+    public StringBuilder toWords(BigDecimal number, StringBuilder out) {
+        try {
+            toWords(number, (Appendable) out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // nao esperado
+        }
+        return out;
+    }
 
-                if (hasInteger) {
-                    appendIntegers(result, blocks);
-                    appendIntegersUnits(number, result, blocks);
-                }
-                if (hasInteger && hasMod) {
-                    result.append(getAndSeparator());
-                }
-                if (hasMod) {
-                    appendIntegers(result, modBlock);
-                    appendDecimalUnits(result, modBlock);
-                }
-            }
-            return result.toString();
-        } catch (MissingResourceException e) {
-            throw new IllegalArgumentException("Número muito grande para ser transformado em extenso.");
+    /**
+     * @param units
+     *            parte inteira do número
+     * @param decimals
+     *            parte decimal do número, com a quantidade de casas decimais
+     *            do formato
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @return o próprio <code>out</code>.
+     */
+    public StringBuilder toWords(long units, int decimals, StringBuilder out) {
+        try {
+            toWords(units, decimals, (Appendable) out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // nao esperado
         }
+        return out;
     }
 
-    private void appendDecimalUnits(StringBuffer result, ThousandBlock modBlock) {
-        result.append(" ");
-        if (modBlock.isUnitary()) {
-            result.append(formato.getUnidadeDecimalNoSingular());
+    /**
+     * @param number
+     *            número a ser transformado
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @throws IOException
+     *             caso ocorra algum erro na escrita
+     */
+    public void toWords(long number, Appendable out) throws IOException {
+        if (number < 0) {
+            throw new IllegalArgumentException("Não é possível transforma número negativos.");
+        }
+        if (number == 0) {
+            out.append(NUMEROS[0]);
         } else {
-            result.append(formato.getUnidadeDecimalNoPlural());
+            int[] blocos = new int[BLOCOS_DE_UM_LONG];
+            int quantidade = separaEmBlocos(number, blocos);
+            appendInteiros(out, blocos, quantidade);
+            appendUnidadeInteira(out, blocos, quantidade, number >= 2);
         }
     }
 
-    private String[] split(double number) {
-        final StringBuffer pattern = new StringBuffer();
-        pattern.append("###,000.");
-        for (int i = 1; i <= formato.getCasasDecimais(); i++) {
-            pattern.append("0");
-        }
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols();
-        symbols.setGroupingSeparator(',');
-        symbols.setDecimalSeparator('.');
-        DecimalFormat decimalFormat = new DecimalFormat(pattern.toString(), symbols);
-        String formatted = decimalFormat.format(number);
-        String[] parts = formatted.split("[.]");
-        return parts;
+    /**
+     * @param number
+     *            número a ser transformado, arredondado para a quantidade de
+     *            casas decimais do formato
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @throws IOException
+     *             caso ocorra algum erro na escrita
+     */
+    public void toWords(double number, Appendable out) throws IOException {
+        if (number < 0) {
+            throw new IllegalArgumentException("Não é possível transforma número negativos.");
+        }
+        if (number == 0) {
+            out.append(NUMEROS[0]);
+        } else {
+            BigDecimal arredondado = arredonda(number, formato.getCasasDecimais());
+            BigInteger[] partes = arredondado.unscaledValue().divideAndRemainder(
+                    BigInteger.TEN.pow(formato.getCasasDecimais()));
+            append(out, partes[0], partes[1].intValue(), number >= 2);
+        }
     }
 
-    private void appendIntegersUnits(double number, StringBuffer result, ThousandBlock[] blocks) {
-        if (blocks.length != 1 || !blocks[0].isZero()) {
-            result.append(" ");
-            if (number >= 2) {
-                int length = blocks.length;
-                if (length > 2 && blocks[length - 1].isZero() && blocks[length - 2].isZero()) {
-                    result.append("de ");
-                }
-                result.append(formato.getUnidadeInteiraNoPlural());
+    /**
+     * Trabalha diretamente sobre o valor sem escala e a escala do número, sem
+     * formatá-lo; o arredondamento é feito com {@link RoundingMode#HALF_EVEN},
+     * como em {@link #toWords(double)}. A unidade no plural e o
+     * "zero" são decididos pelo valor já arredondado.
+     *
+     * @param number
+     *            número a ser transformado, arredondado para a quantidade de
+     *            casas decimais do formato
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @throws IOException
+     *             caso ocorra algum erro na escrita
+     */
+    public void toWords(BigDecimal number, Appendable out) throws IOException {
+        if (number.signum() < 0) {
+            throw new IllegalArgumentException("Não é possível transforma número negativos.");
+        }
+        if (number.signum() == 0) {
+            out.append(NUMEROS[0]);
+            return;
+        }
+        int casasDecimais = formato.getCasasDecimais();
+        BigInteger unscaled = number.unscaledValue();
+        int deslocamento = casasDecimais - number.scale();
+        if (unscaled.bitLength() < Long.SIZE && casasDecimais < POTENCIAS_DE_DEZ.length
+                && Math.abs(deslocamento) < POTENCIAS_DE_DEZ.length) {
+            long valor = unscaled.longValue();
+            if (deslocamento < 0) {
+                valor = divideArredondando(valor, POTENCIAS_DE_DEZ[-deslocamento]);
+            } else if (valor <= Long.MAX_VALUE / POTENCIAS_DE_DEZ[deslocamento]) {
+                valor *= POTENCIAS_DE_DEZ[deslocamento];
             } else {
-                result.append(formato.getUnidadeInteiraNoSingular());
+                valor = -1;
             }
+            if (valor >= 0) {
+                long divisor = POTENCIAS_DE_DEZ[casasDecimais];
+                long unidades = valor / divisor;
+                int decimais = (int) (valor % divisor);
+                if (unidades == 0 && decimais == 0) {
+                    out.append(NUMEROS[0]);
+                } else {
+                    append(out, unidades, decimais, unidades >= 2);
+                }
+                return;
+            }
+        }
+        BigInteger[] partes = number.setScale(casasDecimais, RoundingMode.HALF_EVEN).unscaledValue()
+                .divideAndRemainder(BigInteger.TEN.pow(casasDecimais));
+        // o plural e o zero consideram o valor ja arredondado
+        if (partes[0].signum() == 0 && partes[1].signum() == 0) {
+            out.append(NUMEROS[0]);
+        } else {
+            append(out, partes[0], partes[1].intValue(), partes[0].compareTo(DOIS) >= 0);
         }
     }
 
-    private void appendIntegers(StringBuffer result, ThousandBlock... blocks) {
-        boolean hasStarted = false;
-        for (int i = 0; i < blocks.length; i++) {
-            ThousandBlock thousandBlock = blocks[i];
-            if (!(hasStarted && thousandBlock.isZero())) {
-                int thousandPower = (blocks.length - i - 1);
-                if (hasStarted) {
-                    if (thousandBlock.isUnitary()) {
-                        result.append(getAndSeparator());
-                    } else {
-                        if (thousandPower < 1) {
-                            result.append(getAndSeparator());
-                        } else {
-                            result.append(getThousandSeparator());
-                        }
-                    }
-                }
+    /**
+     * @param units
+     *            parte inteira do número
+     * @param decimals
+     *            parte decimal do número, com a quantidade de casas decimais
+     *            do formato
+     * @param out
+     *            onde a representação do número por extenso será escrita
+     * @throws IOException
+     *             caso ocorra algum erro na escrita
+     */
+    public void toWords(long units, int decimals, Appendable out) throws IOException {
+        if (units < 0 || decimals < 0) {
+            throw new IllegalArgumentException("Não é possível transforma número negativos.");
+        }
+        int casasDecimais = formato.getCasasDecimais();
+        if (casasDecimais < POTENCIAS_DE_DEZ.length && decimals >= POTENCIAS_DE_DEZ[casasDecimais]) {
+            throw new IllegalArgumentException("A parte decimal deve ter no máximo " + casasDecimais + " dígitos.");
+        }
+        if (units == 0 && decimals == 0) {
+            out.append(NUMEROS[0]);
+        } else {
+            append(out, units, decimals, units >= 2);
+        }
+    }
 
-                result.append(thousandBlock.toWords());
+    /**
+     * Divide arredondando com {@link RoundingMode#HALF_EVEN}.
+     */
+    private static long divideArredondando(long valor, long divisor) {
+        long quociente = valor / divisor;
+        long dobroDoResto = (valor % divisor) * 2;
+        if (dobroDoResto > divisor || (dobroDoResto == divisor && quociente % 2 == 1)) {
+            quociente++;
+        }
+        return quociente;
+    }
 
-                if (thousandPower > 0) {
-                    result.append(" ");
-                    result.append(this.getString("1e" + 3 * thousandPower + "."
-                            + (thousandBlock.isUnitary() ? "singular" : "plural")));
-                }
-                hasStarted = true;
-            }
+    /**
+     * Arredonda da mesma forma que {@link java.text.DecimalFormat}: a partir
+     * dos dígitos da menor representação decimal do número, desempatando pelo
+     * seu valor binário exato.
+     */
+    private static BigDecimal arredonda(double number, int casasDecimais) {
+        BigDecimal valor = BigDecimal.valueOf(number);
+        BigDecimal paraCima = valor.setScale(casasDecimais, RoundingMode.HALF_UP);
+        BigDecimal paraBaixo = valor.setScale(casasDecimais, RoundingMode.HALF_DOWN);
+        if (paraCima.equals(paraBaixo)) {
+            return paraCima;
+        }
+        int comparacao = new BigDecimal(number).compareTo(valor);
+        if (comparacao > 0) {
+            return paraCima;
+        }
+        if (comparacao < 0) {
+            return paraBaixo;
         }
+        return valor.setScale(casasDecimais, RoundingMode.HALF_EVEN);
     }
 
-    private final class ThousandBlock {
+    private void append(Appendable out, BigInteger inteiro, int decimal, boolean isPlural) throws IOException {
+        if (inteiro.bitLength() < Long.SIZE) {
+            append(out, inteiro.longValue(), decimal, isPlural);
+        } else {
+            int[] blocos = separaEmBlocos(inteiro.toString());
+            append(out, blocos, blocos.length, decimal, isPlural);
+        }
+    }
 
-        private int numberValue;
+    private void append(Appendable out, long inteiro, int decimal, boolean isPlural) throws IOException {
+        int[] blocos = new int[BLOCOS_DE_UM_LONG];
+        int quantidade = separaEmBlocos(inteiro, blocos);
+        append(out, blocos, quantidade, decimal, isPlural);
+    }
 
-        public ThousandBlock(String number) {
-            super();
-            if (number.length() > 3) {
-                throw new IllegalArgumentException("ThousandBlock deve conter numeros" + " de no maximo 3 digitos.");
+    private void append(Appendable out, int[] blocos, int quantidade, int decimal, boolean isPlural)
+            throws IOException {
+        if (decimal >= NUMEROS.length) {
+            throw new IllegalArgumentException("ThousandBlock deve conter numeros de no maximo 3 digitos.");
+        }
+        boolean hasInteger = quantidade > 1 || blocos[0] != 0;
+        boolean hasMod = decimal != 0;
+        if (hasInteger) {
+            appendInteiros(out, blocos, quantidade);
+            appendUnidadeInteira(out, blocos, quantidade, isPlural);
+        }
+        if (hasInteger && hasMod) {
+            out.append(SEPARADOR);
+        }
+        if (hasMod) {
+            out.append(NUMEROS[decimal]);
+            out.append(' ');
+            if (decimal == 1) {
+                out.append(formato.getUnidadeDecimalNoSingular());
+            } else {
+                out.append(formato.getUnidadeDecimalNoPlural());
             }
-            this.numberValue = Integer.parseInt(number);
         }
+    }
+
+    /**
+     * @return quantidade de blocos preenchidos, do menos para o mais
+     *         significativo.
+     */
+    private static int separaEmBlocos(long valor, int[] blocos) {
+        int quantidade = 0;
+        do {
+            blocos[quantidade++] = (int) (valor % 1000);
+            valor /= 1000;
+        } while (valor > 0);
+        return quantidade;
+    }
 
-        public boolean isZero() {
-            return numberValue == 0;
+    private static int[] separaEmBlocos(String digitos) {
+        int[] blocos = new int[(digitos.length() + 2) / 3];
+        int fim = digitos.length();
+        for (int i = 0; i < blocos.length; i++) {
+            int inicio = Math.max(0, fim - 3);
+            int bloco = 0;
+            for (int j = inicio; j < fim; j++) {
+                bloco = bloco * 10 + (digitos.charAt(j) - '0');
+            }
+            blocos[i] = bloco;
+            fim = inicio;
         }
+        return blocos;
+    }
 
-        public boolean isUnitary() {
-            return numberValue == 1;
+    private void appendUnidadeInteira(Appendable out, int[] blocos, int quantidade, boolean isPlural)
+            throws IOException {
+        out.append(' ');
+        if (isPlural) {
+            if (quantidade > 2 && blocos[0] == 0 && blocos[1] == 0) {
+                out.append("de ");
+            }
+            out.append(formato.getUnidadeInteiraNoPlural());
+        } else {
+            out.append(formato.getUnidadeInteiraNoSingular());
         }
+    }
 
-        public String toWords() {
-            String result;
-            if (numberValue <= 20) {
-                result = NumericToWordsConverter.this.getNumber(numberValue);
-            } else if (numberValue <= 99) {
-                result = getNumberUnder100(numberValue);
-            } else if (numberValue == 100) {
-                result = NumericToWordsConverter.this.getNumber(100);
-            } else {
-                int c = (numberValue / 100) * 100;
-                String centena;
-                if (c == 100) {
-                    centena = NumericToWordsConverter.this.getString("100+?");
-                } else {
-                    centena = NumericToWordsConverter.this.getNumber(c);
-                }
-                int resto = numberValue % 100;
-                if (resto == 0) {
-                    result = centena;
-                } else {
-                    result = centena + getAndSeparator() + getNumberUnder100(resto);
+    private void appendInteiros(Appendable out, int[] blocos, int quantidade) throws IOException {
+        if (quantidade > POTENCIAS_NO_SINGULAR.length + 1) {
+            throw new IllegalArgumentException("Número muito grande para ser transformado em extenso.");
+        }
+        boolean hasStarted = false;
+        for (int potencia = quantidade - 1; potencia >= 0; potencia--) {
+            int bloco = blocos[potencia];
+            if (!(hasStarted && bloco == 0)) {
+                if (hasStarted) {
+                    if (bloco == 1 || potencia < 1) {
+                        out.append(SEPARADOR);
+                    } else {
+                        out.append(SEPARADOR_DE_MILHAR);
+                    }
                 }
-            }
-            return result;
-        }
-
-        private String getNumberUnder100(int number) {
-            String result = null;
-            if (number <= 20) {
-                result = getNumber(number);
-            } else if (number <= 99) {
-                int d = number / 10;
-                int u = number % 10;
-                String dezena = getNumber(d * 10);
-                if (u == 0) {
-                    result = dezena;
-                } else {
-                    String unidade = getNumber(u);
-                    result = dezena + getAndSeparator() + unidade;
+
+                out.append(NUMEROS[bloco]);
+
+                if (potencia > 0) {
+                    out.append(' ');
+                    if (bloco == 1) {
+                        out.append(POTENCIAS_NO_SINGULAR[potencia - 1]);
+                    } else {
+                        out.append(POTENCIAS_NO_PLURAL[potencia - 1]);
+                    }
                 }
+                hasStarted = true;
             }
-            return result;
         }
-
     }
 
-    private String getThousandSeparator() {
-        return getString("sep.mil");
+    private static String porExtenso(int numero) {
+        String result;
+        if (numero <= 20) {
+            result = getNumber(numero);
+        } else if (numero <= 99) {
+            result = porExtensoAbaixoDeCem(numero);
+        } else if (numero == 100) {
+            result = getNumber(100);
+        } else {
+            int c = (numero / 100) * 100;
+            String centena;
+            if (c == 100) {
+                centena = getString("100+?");
+            } else {
+                centena = getNumber(c);
+            }
+            int resto = numero % 100;
+            if (resto == 0) {
+                result = centena;
+            } else {
+                result = centena + SEPARADOR + porExtensoAbaixoDeCem(resto);
+            }
+        }
+        return result;
     }
 
-    private String getAndSeparator() {
-        return getString("sep");
+    private static String porExtensoAbaixoDeCem(int numero) {
+        String result;
+        if (numero <= 20) {
+            result = getNumber(numero);
+        } else {
+            int u = numero % 10;
+            String dezena = getNumber(numero - u);
+            if (u == 0) {
+                result = dezena;
+            } else {
+                result = dezena + SEPARADOR + getNumber(u);
+            }
+        }
+        return result;
     }
 
-    private String getString(String paramMessage) {
+    private static String getString(String paramMessage) {
         return Messages.getString("Extenso." + paramMessage);
     }
 
-    private String getNumber(int number) {
-        DecimalFormat formater = new DecimalFormat("000");
-        String formatted = formater.format(number);
-        return Messages.getString("Extenso." + formatted);
+    private static String getNumber(int number) {
+        String formatted = String.valueOf(number);
+        while (formatted.length() < 3) {
+            formatted = "0" + formatted;
+        }
+        return getString(formatted);
     }
-}
\ No newline at end of file
+}
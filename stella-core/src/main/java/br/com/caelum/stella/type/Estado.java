@@ -210,6 +210,7 @@ public enum Estado {
      *            indicando se o validador deve considerar as cadeias como
      *            formatadas.
      * @return Validador de Inscrição Estudual correspondente.
+     * @see br.com.caelum.stella.validation.ie.IEValidatorRegistry
      */
     public abstract Validator<String> getIEValidator(MessageProducer messageProducer, boolean isFormatted);
 }
@@ -65,6 +65,24 @@ public class AcceptAnyValidator implements Validator<String> {
         return result;
     }
 
+    public boolean isValid(String value) {
+        return invalidValueFor(value) == null;
+    }
+
+    public InvalidValue invalidValueFor(String value) {
+        InvalidValue result = null;
+        for (Validator<String> validator : validators) {
+            InvalidValue error = validator.invalidValueFor(value);
+            if (error == null) {
+                result = null;
+                break;
+            } else if (result == null) {
+                result = error;
+            }
+        }
+        return result;
+    }
+
     public boolean isEligible(String object) {
         boolean result = false;
         for (Validator<String> validator : validators) {
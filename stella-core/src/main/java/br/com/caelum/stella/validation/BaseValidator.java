@@ -53,6 +53,33 @@ public class BaseValidator {
         return messages;
     }
 
+    /**
+     * @param invalidValue
+     *            valor que descreve um erro de validação, ou <code>null</code>
+     *            caso não haja erro.
+     * @return lista de mensagens inválidas obtida pelo produto de mensagem.
+     */
+    public List<ValidationMessage> generateValidationMessages(InvalidValue invalidValue) {
+        List<ValidationMessage> messages = new ArrayList<ValidationMessage>();
+        if (invalidValue != null) {
+            messages.add(messageProducer.getMessage(invalidValue));
+        }
+        return messages;
+    }
+
+    /**
+     * @param invalidValue
+     *            valor que descreve um erro de validação, ou <code>null</code>
+     *            caso não haja erro.
+     * @throws InvalidStateException
+     *             caso o valor não seja nulo.
+     */
+    public void assertValid(InvalidValue invalidValue) {
+        if (invalidValue != null) {
+            throw new InvalidStateException(generateValidationMessages(invalidValue));
+        }
+    }
+
     /**
      * @param invalidValues
      *            lista de valores que descrevem erros de validação.
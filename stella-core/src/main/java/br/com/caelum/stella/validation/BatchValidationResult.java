@@ -0,0 +1,123 @@
+package br.com.caelum.stella.validation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Resultado de uma validação feita por {@link BatchValidator}. As posições
+ * dos valores inválidos ficam em um {@link BitSet} e os erros encontrados são
+ * guardados apenas para essas posições, então o resultado ocupa pouco mais
+ * de um bit por valor válido.
+ */
+public class BatchValidationResult {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private final int size;
+
+    private final BitSet invalidPositions;
+
+    private final int[] positions;
+
+    private final InvalidValue[] invalidValues;
+
+    private final long elapsedNanos;
+
+    /**
+     * @param size
+     *            quantidade de valores validados.
+     * @param positions
+     *            posições dos valores inválidos, em ordem crescente.
+     * @param invalidValues
+     *            erro de cada posição inválida.
+     * @param count
+     *            quantidade de posições inválidas.
+     */
+    BatchValidationResult(int size, int[] positions, InvalidValue[] invalidValues, int count, long elapsedNanos) {
+        this.size = size;
+        if (positions.length == count) {
+            this.positions = positions;
+            this.invalidValues = invalidValues;
+        } else {
+            this.positions = new int[count];
+            this.invalidValues = new InvalidValue[count];
+            System.arraycopy(positions, 0, this.positions, 0, count);
+            System.arraycopy(invalidValues, 0, this.invalidValues, 0, count);
+        }
+        this.invalidPositions = new BitSet(size);
+        for (int i = 0; i < count; i++) {
+            invalidPositions.set(positions[i]);
+        }
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return quantidade de valores validados.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index
+     *            posição do valor.
+     * @return <code>true</code> se o valor na posição é válido.
+     */
+    public boolean isValid(int index) {
+        checkIndex(index);
+        return !invalidPositions.get(index);
+    }
+
+    /**
+     * @param index
+     *            posição do valor.
+     * @return o erro encontrado no valor da posição, ou <code>null</code> caso
+     *         ele seja válido.
+     */
+    public InvalidValue getInvalidValue(int index) {
+        checkIndex(index);
+        if (!invalidPositions.get(index)) {
+            return null;
+        }
+        return invalidValues[Arrays.binarySearch(positions, index)];
+    }
+
+    /**
+     * @return as posições dos valores inválidos. O BitSet devolvido é uma
+     *         cópia e pode ser alterado.
+     */
+    public BitSet getInvalidPositions() {
+        return (BitSet) invalidPositions.clone();
+    }
+
+    /**
+     * @return quantidade de valores inválidos.
+     */
+    public int getInvalidCount() {
+        return positions.length;
+    }
+
+    /**
+     * @return tempo gasto na validação, em nanossegundos.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return quantidade de valores validados por segundo.
+     */
+    public double getThroughput() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return (double) size * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,220 @@
+package br.com.caelum.stella.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * <p>
+ * Valida grandes quantidades de documentos com um mesmo {@link Validator},
+ * devolvendo o resultado de forma compacta em um
+ * {@link BatchValidationResult}.
+ * </p>
+ * <p>
+ * Quando construído com um {@link ExecutorService}, os valores são divididos
+ * em partes validadas em paralelo pelas threads do executor. Os validadores
+ * do Stella não guardam estado entre validações e podem ser compartilhados
+ * entre threads.
+ * </p>
+ * <p>
+ * O ciclo de vida do executor é responsabilidade de quem o fornece.
+ * </p>
+ *
+ * @param <T>
+ *            tipo de objeto a ser validado
+ */
+public class BatchValidator<T> {
+
+    /**
+     * Menor quantidade de valores de uma parte enviada ao executor, para que o
+     * custo de agendamento não supere o da validação.
+     */
+    private static final int MINIMUM_CHUNK_SIZE = 1024;
+
+    /**
+     * Quantidade de partes por thread, para equilibrar a carga quando algumas
+     * partes demoram mais do que outras.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Validator<T> validator;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    /**
+     * Valida os valores sequencialmente, na thread que fizer a chamada.
+     *
+     * @param validator
+     *            validador aplicado a cada valor.
+     */
+    public BatchValidator(Validator<T> validator) {
+        this.validator = validator;
+        this.executor = null;
+        this.parallelism = 1;
+    }
+
+    /**
+     * @param validator
+     *            validador aplicado a cada valor.
+     * @param executor
+     *            executor utilizado para validar as partes em paralelo.
+     * @param parallelism
+     *            quantidade de threads do executor.
+     */
+    public BatchValidator(Validator<T> validator, ExecutorService executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.validator = validator;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param values
+     *            valores a serem validados.
+     * @return o resultado da validação de cada posição.
+     */
+    public BatchValidationResult validateAll(T... values) {
+        return validateAll(Arrays.asList(values));
+    }
+
+    /**
+     * @param values
+     *            valores a serem validados. Para a validação em paralelo a
+     *            lista deve permitir acesso aleatório eficiente.
+     * @return o resultado da validação de cada posição.
+     */
+    public BatchValidationResult validateAll(List<? extends T> values) {
+        long start = System.nanoTime();
+        int size = values.size();
+        Failures failures = new Failures();
+        int chunkSize = chunkSizeFor(size);
+        if (executor == null || chunkSize >= size) {
+            validate(values, failures, 0, size);
+        } else {
+            List<Future<Failures>> futures = new ArrayList<Future<Failures>>();
+            for (int from = 0; from < size; from += chunkSize) {
+                int to = Math.min(from + chunkSize, size);
+                futures.add(executor.submit(new Chunk(values, from, to)));
+            }
+            // as partes estao em ordem, entao as posicoes continuam crescentes
+            for (Failures chunk : waitFor(futures)) {
+                failures.addAll(chunk);
+            }
+        }
+        return new BatchValidationResult(size, failures.positions, failures.invalidValues, failures.count,
+                System.nanoTime() - start);
+    }
+
+    private int chunkSizeFor(int size) {
+        int chunks = parallelism * CHUNKS_PER_THREAD;
+        return Math.max(MINIMUM_CHUNK_SIZE, (size + chunks - 1) / chunks);
+    }
+
+    private void validate(List<? extends T> values, Failures failures, int from, int to) {
+        for (int i = from; i < to; i++) {
+            InvalidValue invalidValue = validator.invalidValueFor(values.get(i));
+            if (invalidValue != null) {
+                failures.add(i, invalidValue);
+            }
+        }
+    }
+
+    private List<Failures> waitFor(List<Future<Failures>> futures) {
+        List<Failures> result = new ArrayList<Failures>(futures.size());
+        try {
+            for (Future<Failures> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch validation interrupted.", e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void cancel(List<Future<Failures>> futures) {
+        for (Future<Failures> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private class Chunk implements Callable<Failures> {
+
+        private final List<? extends T> values;
+
+        private final int from;
+
+        private final int to;
+
+        Chunk(List<? extends T> values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        public Failures call() {
+            Failures failures = new Failures();
+            validate(values, failures, from, to);
+            return failures;
+        }
+    }
+
+    /**
+     * Posições inválidas e seus erros, em ordem crescente de posição. Cada
+     * parte preenche a sua própria instância, sem sincronização.
+     */
+    private static class Failures {
+
+        private int[] positions = new int[16];
+
+        private InvalidValue[] invalidValues = new InvalidValue[16];
+
+        private int count;
+
+        void add(int position, InvalidValue invalidValue) {
+            ensureCapacity(count + 1);
+            positions[count] = position;
+            invalidValues[count] = invalidValue;
+            count++;
+        }
+
+        void addAll(Failures other) {
+            ensureCapacity(count + other.count);
+            System.arraycopy(other.positions, 0, positions, count, other.count);
+            System.arraycopy(other.invalidValues, 0, invalidValues, count, other.count);
+            count += other.count;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > positions.length) {
+                int length = Math.max(capacity, positions.length * 2);
+                int[] newPositions = new int[length];
+                InvalidValue[] newInvalidValues = new InvalidValue[length];
+                System.arraycopy(positions, 0, newPositions, 0, count);
+                System.arraycopy(invalidValues, 0, newInvalidValues, 0, count);
+                positions = newPositions;
+                invalidValues = newInvalidValues;
+            }
+        }
+    }
+
+}
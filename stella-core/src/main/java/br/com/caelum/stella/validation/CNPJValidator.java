@@ -1,13 +1,12 @@
 package br.com.caelum.stella.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
-import br.com.caelum.stella.format.CNPJFormatter;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.error.CNPJError;
 
 /**
@@ -27,26 +26,24 @@ public class CNPJValidator implements Validator<String> {
 
     private static final int DV2_POSITION = 14;
 
-    private static final Integer[] DV1_MULTIPLIERS = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] DV1_MULTIPLIERS = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
 
-    private static final Integer[] DV2_MULTIPLIERS = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] DV2_MULTIPLIERS = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
 
     public static final Pattern FORMATED = Pattern.compile("(\\d{2})[.](\\d{3})[.](\\d{3})/(\\d{4})-(\\d{2})");
 
     public static final Pattern UNFORMATED = Pattern.compile("(\\d{2})(\\d{3})(\\d{3})(\\d{4})(\\d{2})");
 
+    public static final MascaraDeDocumento MASCARA = new MascaraDeDocumento("##.###.###/####-##");
 
-    private static final DigitoVerificadorInfo DV1_INFO = new DigitoVerificadorInfo(0,
-            new RotinaComumDeDigitoVerificador[] { new RotinaComumDeDigitoVerificador() }, MOD, DV1_MULTIPLIERS,
-            DV1_POSITION);
 
-    private static final DigitoVerificadorInfo DV2_INFO = new DigitoVerificadorInfo(0,
-            new RotinaComumDeDigitoVerificador[] { new RotinaComumDeDigitoVerificador() }, MOD, DV2_MULTIPLIERS,
-            DV2_POSITION);
+    private static final RotinaDeDV[] ROTINAS = { new RotinaComumDeDigitoVerificador() };
 
-    private static final ValidadorDeDV DV1_CHECKER = new ValidadorDeDV(DV1_INFO);
+    private static final DigitoVerificador DV1_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV1_MULTIPLIERS,
+            DV1_POSITION);
 
-    private static final ValidadorDeDV DV2_CHECKER = new ValidadorDeDV(DV2_INFO);
+    private static final DigitoVerificador DV2_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV2_MULTIPLIERS,
+            DV2_POSITION);
 
     /**
      * Este considera, por padrão, que as cadeias estão formatadas e utiliza um
@@ -86,52 +83,54 @@ public class CNPJValidator implements Validator<String> {
         this.isFormatted = isFormatted;
     }
 
-    private List<InvalidValue> getInvalidValues(String cnpj) {
-        List<InvalidValue> errors = new ArrayList<InvalidValue>();
-        errors.clear();
+    public InvalidValue invalidValueFor(String cnpj) {
+        InvalidValue error = null;
         if (cnpj != null) {
-            if (!isEligible(cnpj)) {
-                if (isFormatted) {
-                    errors.add(CNPJError.INVALID_FORMAT);
-                } else {
-                    errors.add(CNPJError.INVALID_DIGITS);
-                }
-            } else {
-                String unformatedCNPJ;
+            CharSequence unformatedCNPJ = digitosDe(cnpj);
+            if (unformatedCNPJ == null) {
                 if (isFormatted) {
-                    CNPJFormatter formatter = new CNPJFormatter();
-                    unformatedCNPJ = formatter.unformat(cnpj);
+                    error = CNPJError.INVALID_FORMAT;
                 } else {
-                    unformatedCNPJ = cnpj;
-                }
-                if (!hasValidCheckDigits(unformatedCNPJ)) {
-                    errors.add(CNPJError.INVALID_CHECK_DIGITS);
+                    error = CNPJError.INVALID_DIGITS;
                 }
+            } else if (!hasValidCheckDigits(unformatedCNPJ)) {
+                error = CNPJError.INVALID_CHECK_DIGITS;
             }
         }
-        return errors;
+        return error;
     }
 
-    private boolean hasValidCheckDigits(String value) {
+    private CharSequence digitosDe(String value) {
+        if (isFormatted) {
+            return MASCARA.extraiDigitos(value);
+        }
+        return MASCARA.isDesformatado(value) ? value : null;
+    }
+
+    private boolean hasValidCheckDigits(CharSequence value) {
         return (DV1_CHECKER.isDVValid(value)) && (DV2_CHECKER.isDVValid(value));
     }
 
     public boolean isEligible(String value) {
         boolean result;
         if (isFormatted) {
-            result = FORMATED.matcher(value).matches();
+            result = MASCARA.isFormatado(value);
         } else {
-            result = UNFORMATED.matcher(value).matches();
+            result = MASCARA.isDesformatado(value);
         }
         return result;
     }
 
     public void assertValid(String cnpj) {
-        baseValidator.assertValid(getInvalidValues(cnpj));
+        baseValidator.assertValid(invalidValueFor(cnpj));
     }
 
     public List<ValidationMessage> invalidMessagesFor(String cnpj) {
-        return baseValidator.generateValidationMessages(getInvalidValues(cnpj));
+        return baseValidator.generateValidationMessages(invalidValueFor(cnpj));
+    }
+
+    public boolean isValid(String cnpj) {
+        return invalidValueFor(cnpj) == null;
     }
 
 }
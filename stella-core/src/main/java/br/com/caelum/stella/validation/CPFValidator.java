@@ -1,13 +1,12 @@
 package br.com.caelum.stella.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
-import br.com.caelum.stella.format.CPFFormatter;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.error.CPFError;
 
 /**
@@ -29,25 +28,23 @@ public class CPFValidator implements Validator<String> {
 
     public static final Pattern UNFORMATED = Pattern.compile("(\\d{3})(\\d{3})(\\d{3})(\\d{2})");
 
-    private static final Integer DV1_POSITION = 10;
+    public static final MascaraDeDocumento MASCARA = new MascaraDeDocumento("###.###.###-##");
 
-    private static final Integer[] DV1_MULTIPLIERS = { 10, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int DV1_POSITION = 10;
 
-    private static final Integer DV2_POSITION = 11;
+    private static final int[] DV1_MULTIPLIERS = { 10, 9, 8, 7, 6, 5, 4, 3, 2 };
 
-    private static final Integer[] DV2_MULTIPLIERS = { 11, 10, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int DV2_POSITION = 11;
 
-    private static final DigitoVerificadorInfo DV1_INFO = new DigitoVerificadorInfo(0,
-            new RotinaDeDigitoVerificador[] { new RotinaComumDeDigitoVerificador() }, MOD, DV1_MULTIPLIERS,
-            DV1_POSITION);
+    private static final int[] DV2_MULTIPLIERS = { 11, 10, 9, 8, 7, 6, 5, 4, 3, 2 };
 
-    private static final DigitoVerificadorInfo DV2_INFO = new DigitoVerificadorInfo(0,
-            new RotinaDeDigitoVerificador[] { new RotinaComumDeDigitoVerificador() }, MOD, DV2_MULTIPLIERS,
-            DV2_POSITION);
+    private static final RotinaDeDV[] ROTINAS = { new RotinaComumDeDigitoVerificador() };
 
-    private static final ValidadorDeDV DV1_CHECKER = new ValidadorDeDV(DV1_INFO);
+    private static final DigitoVerificador DV1_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV1_MULTIPLIERS,
+            DV1_POSITION);
 
-    private static final ValidadorDeDV DV2_CHECKER = new ValidadorDeDV(DV2_INFO);
+    private static final DigitoVerificador DV2_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV2_MULTIPLIERS,
+            DV2_POSITION);
 
     /**
      * Construtor padrão de validador de CPF. Este considera, por padrão, que as
@@ -109,48 +106,41 @@ public class CPFValidator implements Validator<String> {
     /**
      * Valida se a cadeia está de acordo com as regras de um CPF.
      * 
-     * @see br.com.caelum.stella.validation.Validator#assertValid(java.lang.Object)
-     * @return <code>true</code> se a cadeia é válida ou é nula;
-     *         <code>false</code> caso contrario.
+     * @see br.com.caelum.stella.validation.Validator#invalidValueFor(java.lang.Object)
+     * @return <code>null</code> se a cadeia é válida ou é nula; o erro
+     *         encontrado caso contrario.
      */
-    private List<InvalidValue> getInvalidValues(String cpf) {
-        List<InvalidValue> errors = new ArrayList<InvalidValue>();
+    public InvalidValue invalidValueFor(String cpf) {
+        InvalidValue error = null;
         if (cpf != null) {
-
-            if (!isEligible(cpf)) {
-                if (isFormatted) {
-                    errors.add(CPFError.INVALID_FORMAT);
-                } else {
-                    errors.add(CPFError.INVALID_DIGITS);
-                }
-            } else {
-                String unformatedCPF;
+            CharSequence unformatedCPF = digitosDe(cpf);
+            if (unformatedCPF == null) {
                 if (isFormatted) {
-                    CPFFormatter formatter = new CPFFormatter();
-                    unformatedCPF = formatter.unformat(cpf);
+                    error = CPFError.INVALID_FORMAT;
                 } else {
-                    unformatedCPF = cpf;
-                }
-                if (errors.isEmpty()) {
-                    if ((!isIgnoringRepeatedDigits) && hasAllRepeatedDigits(unformatedCPF)) {
-                        errors.add(CPFError.REPEATED_DIGITS);
-                    }
-                }
-                if (errors.isEmpty()) {
-                    if (!hasValidCheckDigits(unformatedCPF)) {
-                        errors.add(CPFError.INVALID_CHECK_DIGITS);
-                    }
+                    error = CPFError.INVALID_DIGITS;
                 }
+            } else if ((!isIgnoringRepeatedDigits) && hasAllRepeatedDigits(unformatedCPF)) {
+                error = CPFError.REPEATED_DIGITS;
+            } else if (!hasValidCheckDigits(unformatedCPF)) {
+                error = CPFError.INVALID_CHECK_DIGITS;
             }
         }
-        return errors;
+        return error;
+    }
+
+    private CharSequence digitosDe(String value) {
+        if (isFormatted) {
+            return MASCARA.extraiDigitos(value);
+        }
+        return MASCARA.isDesformatado(value) ? value : null;
     }
 
-    private boolean hasValidCheckDigits(String value) {
+    private boolean hasValidCheckDigits(CharSequence value) {
         return (DV1_CHECKER.isDVValid(value)) && (DV2_CHECKER.isDVValid(value));
     }
 
-    private boolean hasAllRepeatedDigits(String cpf) {
+    private boolean hasAllRepeatedDigits(CharSequence cpf) {
         for (int i = 1; i < cpf.length(); i++) {
             if (cpf.charAt(i) != cpf.charAt(0)) {
                 return false;
@@ -162,19 +152,23 @@ public class CPFValidator implements Validator<String> {
     public boolean isEligible(String value) {
         boolean result;
         if (isFormatted) {
-            result = FORMATED.matcher(value).matches();
+            result = MASCARA.isFormatado(value);
         } else {
-            result = UNFORMATED.matcher(value).matches();
+            result = MASCARA.isDesformatado(value);
         }
         return result;
     }
 
     public void assertValid(String cpf) {
-        baseValidator.assertValid(getInvalidValues(cpf));
+        baseValidator.assertValid(invalidValueFor(cpf));
     }
 
     public List<ValidationMessage> invalidMessagesFor(String cpf) {
-        return baseValidator.generateValidationMessages(getInvalidValues(cpf));
+        return baseValidator.generateValidationMessages(invalidValueFor(cpf));
+    }
+
+    public boolean isValid(String cpf) {
+        return invalidValueFor(cpf) == null;
     }
 
 }
@@ -0,0 +1,132 @@
+package br.com.caelum.stella.validation;
+
+/**
+ * <p>
+ * Representa as informações sobre um Dígito Verificador e é responsável por
+ * calculá-lo.
+ * </p>
+ * <p>
+ * Diferente de {@link ValidadorDeDV}, os pesos são guardados como
+ * <code>int[]</code> e os dígitos são lidos diretamente da cadeia por
+ * aritmética de caracteres, de modo que nenhuma validação aloca objetos.
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads.
+ * </p>
+ * <p>
+ * Os métodos que recebem <code>tamanho</code> consideram a cadeia completada
+ * com zeros à esquerda até este tamanho, sem precisar criar uma nova cadeia.
+ * </p>
+ */
+public class DigitoVerificador {
+
+    private final int fator;
+
+    private final RotinaDeDV[] rotinas;
+
+    private final int mod;
+
+    private final int[] pesos;
+
+    private final int posicaoDoDv;
+
+    /**
+     * @param fator
+     *            fator utilizado por algumas rotinas de cálculo.
+     * @param rotinas
+     *            rotinas aplicadas, em ordem, ao produto interno.
+     * @param mod
+     *            módulo do cálculo.
+     * @param pesos
+     *            pesos multiplicados pelos dígitos.
+     * @param posicaoDoDv
+     *            posição do dígito verificador, a partir de 1.
+     */
+    public DigitoVerificador(int fator, RotinaDeDV[] rotinas, int mod, int[] pesos, int posicaoDoDv) {
+        this.fator = fator;
+        this.rotinas = rotinas.clone();
+        this.mod = mod;
+        this.pesos = pesos.clone();
+        this.posicaoDoDv = posicaoDoDv;
+    }
+
+    /**
+     * @param digitos
+     *            cadeia composta apenas de dígitos decimais.
+     * @return <code>true</code> se o dígito na posição deste DV confere com o
+     *         calculado.
+     */
+    public boolean isDVValid(CharSequence digitos) {
+        return isDVValid(digitos, digitos.length());
+    }
+
+    /**
+     * @param digitos
+     *            cadeia composta apenas de dígitos decimais.
+     * @param tamanho
+     *            tamanho da cadeia após completá-la com zeros à esquerda.
+     * @return <code>true</code> se o dígito na posição deste DV confere com o
+     *         calculado.
+     */
+    public boolean isDVValid(CharSequence digitos, int tamanho) {
+        int deslocamento = tamanho - digitos.length();
+        int candidato = digito(digitos, deslocamento, posicaoDoDv - 1);
+        return calculaDV(digitos, deslocamento) == candidato;
+    }
+
+    /**
+     * @param digitos
+     *            cadeia composta apenas de dígitos decimais.
+     * @param deslocamento
+     *            quantidade de zeros considerados à esquerda da cadeia.
+     * @return o dígito verificador calculado.
+     */
+    public int calculaDV(CharSequence digitos, int deslocamento) {
+        int result = produtoInterno(digitos, deslocamento);
+        for (RotinaDeDV rotina : rotinas) {
+            result = rotina.transform(result, this, digitos, deslocamento);
+        }
+        return result;
+    }
+
+    private int produtoInterno(CharSequence digitos, int deslocamento) {
+        int result = 0;
+        for (int i = 0; i < pesos.length; i++) {
+            result += pesos[i] * digito(digitos, deslocamento, i);
+        }
+        return result;
+    }
+
+    /**
+     * @param digitos
+     *            cadeia composta apenas de dígitos decimais.
+     * @param deslocamento
+     *            quantidade de zeros considerados à esquerda da cadeia.
+     * @param posicao
+     *            posição do dígito, a partir de 0, já considerando os zeros à
+     *            esquerda.
+     * @return o valor do dígito na posição.
+     */
+    public static int digito(CharSequence digitos, int deslocamento, int posicao) {
+        int i = posicao - deslocamento;
+        return i < 0 ? 0 : digitos.charAt(i) - '0';
+    }
+
+    public int getFator() {
+        return fator;
+    }
+
+    public int getMod() {
+        return mod;
+    }
+
+    public int getPosicaoDoDv() {
+        return posicaoDoDv;
+    }
+
+    public int getQuantidadeDePesos() {
+        return pesos.length;
+    }
+
+    public int getPeso(int posicao) {
+        return pesos[posicao];
+    }
+}
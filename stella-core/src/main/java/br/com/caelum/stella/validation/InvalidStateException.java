@@ -6,15 +6,33 @@ import java.util.List;
 import br.com.caelum.stella.ValidationMessage;
 
 /**
+ * <p>
  * Sinaliza uma ocorrência de um valor inválido.
- * 
+ * </p>
+ * <p>
+ * Quando a maior parte dos valores validados é inválida, o preenchimento da
+ * pilha de chamadas pode dominar o custo da validação. Nesses casos é possível
+ * desligá-lo através de {@link #setStackTraceEnabled(boolean)} ou da
+ * propriedade de sistema <code>stella.validation.stackless=true</code>; as
+ * exceções passam então a ser lançadas sem pilha de chamadas, com custo
+ * próximo ao de um retorno comum.
+ * </p>
+ *
  * @author leobessa
- * 
+ *
  */
 public class InvalidStateException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Propriedade de sistema que, quando <code>true</code>, desliga o
+     * preenchimento da pilha de chamadas.
+     */
+    public static final String STACKLESS_PROPERTY = "stella.validation.stackless";
+
+    private static volatile boolean stackTraceEnabled = !Boolean.getBoolean(STACKLESS_PROPERTY);
+
     private final List<ValidationMessage> validationMessages;
 
     public InvalidStateException(final ValidationMessage validationMessage) {
@@ -22,11 +40,44 @@ public class InvalidStateException extends RuntimeException {
     }
 
     public InvalidStateException(List<ValidationMessage> validationMessages) {
-        super("Validation errors: " + validationMessages);
         this.validationMessages = validationMessages;
     }
 
     public List<ValidationMessage> getInvalidMessages() {
         return validationMessages;
     }
+
+    /**
+     * A mensagem só é montada quando pedida, evitando o custo quando a exceção
+     * é apenas capturada.
+     */
+    @Override
+    public String getMessage() {
+        return "Validation errors: " + validationMessages;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (stackTraceEnabled) {
+            return super.fillInStackTrace();
+        }
+        return this;
+    }
+
+    /**
+     * @param enabled
+     *            <code>false</code> para que as exceções criadas a partir de
+     *            então não tenham pilha de chamadas.
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
+    }
+
+    /**
+     * @return <code>true</code> se as exceções são criadas com pilha de
+     *         chamadas, que é o comportamento padrão.
+     */
+    public static boolean isStackTraceEnabled() {
+        return stackTraceEnabled;
+    }
 }
@@ -1,6 +1,5 @@
 package br.com.caelum.stella.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import br.com.caelum.stella.MessageProducer;
@@ -18,6 +17,7 @@ import br.com.caelum.stella.validation.error.LengthError;
 public class LengthValidator implements Validator<Object> {
 
     private final int validLength;
+    private final LengthError invalidLength;
     private final BaseValidator base;
 
     /**
@@ -26,6 +26,7 @@ public class LengthValidator implements Validator<Object> {
      */
     public LengthValidator(int validLength) {
         this.validLength = validLength;
+        this.invalidLength = new LengthError(validLength);
         base = new BaseValidator();
     }
 
@@ -39,24 +40,27 @@ public class LengthValidator implements Validator<Object> {
     public LengthValidator(MessageProducer messageProducer, int validLength) {
         base = new BaseValidator(messageProducer);
         this.validLength = validLength;
+        this.invalidLength = new LengthError(validLength);
     }
 
     public void assertValid(Object object) {
-        base.assertValid(getInvalidValuesFor(object));
+        base.assertValid(invalidValueFor(object));
     }
 
-    private List<InvalidValue> getInvalidValuesFor(Object object) {
-        List<InvalidValue> messages = new ArrayList<InvalidValue>();
+    public InvalidValue invalidValueFor(Object object) {
+        InvalidValue error = null;
         if (object.toString().length() != validLength) {
-            messages.add(new LengthError(validLength));
+            error = invalidLength;
         }
-        return messages;
+        return error;
+    }
+
+    public boolean isValid(Object object) {
+        return invalidValueFor(object) == null;
     }
 
     public List<ValidationMessage> invalidMessagesFor(Object object) {
-        List<ValidationMessage> messages = new ArrayList<ValidationMessage>();
-        messages.addAll(base.generateValidationMessages(getInvalidValuesFor(object)));
-        return messages;
+        return base.generateValidationMessages(invalidValueFor(object));
     }
 
     public boolean isEligible(Object object) {
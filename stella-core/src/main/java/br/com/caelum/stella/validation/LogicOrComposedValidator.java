@@ -21,6 +21,31 @@ public class LogicOrComposedValidator<T> implements Validator<T> {
         }
     };
 
+    /**
+     * @param messageProducer
+     *            produtor de mensagens utilizado quando nenhum dos validadores
+     *            é elegível para o valor.
+     * @param invalidFormat
+     *            erro devolvido quando nenhum dos validadores é elegível para
+     *            o valor.
+     * @param validators
+     *            validadores consultados, na ordem, até que um deles aceite o
+     *            valor.
+     */
+    public LogicOrComposedValidator(MessageProducer messageProducer, InvalidValue invalidFormat,
+            Validator<T>... validators) {
+        this.messageProducer = messageProducer;
+        this.invalidFormat = invalidFormat;
+        this.validators = validators;
+    }
+
+    /**
+     * @deprecated Use
+     *             {@linkplain #LogicOrComposedValidator(MessageProducer, InvalidValue, Validator...)}
+     *             no lugar deste construtor, que instancia os validadores por
+     *             reflexão.
+     */
+    @Deprecated
     @SuppressWarnings("unchecked")
     public LogicOrComposedValidator(MessageProducer messageProducer, boolean isFormatted,
             Class<Validator<T>>... validatorClasses) {
@@ -49,26 +74,26 @@ public class LogicOrComposedValidator<T> implements Validator<T> {
         }
     }
 
+    /**
+     * Os validadores são consultados através de
+     * {@link Validator#isValid(Object)}; apenas o último validador elegível é
+     * chamado para lançar a sua exceção, de modo que no máximo uma exceção é
+     * criada por chamada.
+     */
     public void assertValid(T value) {
-        InvalidStateException lastException = null;
-        boolean isValid = false;
+        Validator<T> lastEligible = null;
         for (Validator<T> v : validators) {
             if (v.isEligible(value)) {
-                try {
-                    v.assertValid(value);
-                    isValid = true;
-                    break;
-                } catch (InvalidStateException e) {
-                    lastException = e;
+                if (v.isValid(value)) {
+                    return;
                 }
+                lastEligible = v;
             }
         }
-        if (!isValid) {
-            if (lastException != null) {
-                throw lastException;
-            } else {
-                throw new InvalidStateException(messageProducer.getMessage(invalidFormat));
-            }
+        if (lastEligible != null) {
+            lastEligible.assertValid(value);
+        } else {
+            throw new InvalidStateException(messageProducer.getMessage(invalidFormat));
         }
     }
 
@@ -90,6 +115,30 @@ public class LogicOrComposedValidator<T> implements Validator<T> {
         return result;
     }
 
+    public boolean isValid(T value) {
+        boolean result = false;
+        for (Validator<T> v : validators) {
+            if (v.isEligible(value) && v.isValid(value)) {
+                result = true;
+                break;
+            }
+        }
+        return result;
+    }
+
+    public InvalidValue invalidValueFor(T value) {
+        InvalidValue result = invalidFormat;
+        for (Validator<T> v : validators) {
+            if (v.isEligible(value)) {
+                result = v.invalidValueFor(value);
+                if (result == null) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
     public boolean isEligible(T object) {
         boolean result = false;
         for (Validator<T> v : validators) {
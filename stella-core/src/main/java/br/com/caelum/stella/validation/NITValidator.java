@@ -1,13 +1,12 @@
 package br.com.caelum.stella.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
-import br.com.caelum.stella.format.NITFormatter;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.error.NITError;
 
 /**
@@ -31,32 +30,19 @@ public class NITValidator implements Validator<String> {
 
     private final boolean isFormatted;
 
-    private static class RotinaPosProdutoInterno implements RotinaDeDigitoVerificador {
-        public Integer transform(RotinaParameters parameter) {
-            Integer mod = parameter.getDigitoVerificadorInfo().getMod();
-            Integer result = parameter.getResult() % mod;
-            if (result < 2) {
-                result = 0;
-            } else {
-                result = 11 - result;
-            }
-            return result;
-        }
-    }
-
-    private static final Integer DV1_POSITION = 11;
-
-    private static final Integer[] DV1_MULTIPLIERS = { 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int DV1_POSITION = 11;
 
-    private static final DigitoVerificadorInfo DV1_INFO = new DigitoVerificadorInfo(0,
-            new RotinaDeDigitoVerificador[] { new RotinaPosProdutoInterno() }, MOD, DV1_MULTIPLIERS, DV1_POSITION);
+    private static final int[] DV1_MULTIPLIERS = { 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
 
-    private static final ValidadorDeDV DV1_CHECKER = new ValidadorDeDV(DV1_INFO);
+    private static final DigitoVerificador DV1_CHECKER = new DigitoVerificador(0,
+            new RotinaDeDV[] { new RotinaComumDeDigitoVerificador() }, MOD, DV1_MULTIPLIERS, DV1_POSITION);
 
     public static final Pattern NIT_FORMATED = Pattern.compile("(\\d{3})[.](\\d{5})[.](\\d{2})-(\\d{1})");
 
     public static final Pattern NIT_UNFORMATED = Pattern.compile("(\\d{3})(\\d{5})(\\d{2})(\\d{1})");
 
+    public static final MascaraDeDocumento NIT_MASCARA = new MascaraDeDocumento("###.#####.##-#");
+
     /**
      * Este considera, por padrão, que as cadeias estão formatadas e utiliza um
      * {@linkplain SimpleMessageProducer} para geração de mensagens.
@@ -90,53 +76,53 @@ public class NITValidator implements Validator<String> {
         this.isFormatted = isFormatted;
     }
 
-    private List<InvalidValue> getInvalidValues(String nit) {
-        List<InvalidValue> errors = new ArrayList<InvalidValue>();
+    public InvalidValue invalidValueFor(String nit) {
+        InvalidValue error = null;
         if (nit != null) {
-            if (!isEligible(nit)) {
-                if (isFormatted) {
-                    errors.add(NITError.INVALID_FORMAT);
-                } else {
-                    errors.add(NITError.INVALID_DIGITS);
-                }
-            } else {
-                String unformatedNit;
+            CharSequence unformatedNit = digitosDe(nit);
+            if (unformatedNit == null) {
                 if (isFormatted) {
-                    NITFormatter formatter = new NITFormatter();
-                    unformatedNit = formatter.unformat(nit);
+                    error = NITError.INVALID_FORMAT;
                 } else {
-                    unformatedNit = nit;
-                }
-
-                if (errors.isEmpty()) {
-                    if (!hasValidCheckDigits(unformatedNit)) {
-                        errors.add(NITError.INVALID_CHECK_DIGITS);
-                    }
+                    error = NITError.INVALID_DIGITS;
                 }
+            } else if (!hasValidCheckDigits(unformatedNit)) {
+                error = NITError.INVALID_CHECK_DIGITS;
             }
         }
-        return errors;
+        return error;
+    }
+
+    private CharSequence digitosDe(String value) {
+        if (isFormatted) {
+            return NIT_MASCARA.extraiDigitos(value);
+        }
+        return NIT_MASCARA.isDesformatado(value) ? value : null;
     }
 
-    private boolean hasValidCheckDigits(String value) {
+    private boolean hasValidCheckDigits(CharSequence value) {
         return (DV1_CHECKER.isDVValid(value));
     }
 
     public boolean isEligible(String value) {
         boolean result;
         if (isFormatted) {
-            result = NIT_FORMATED.matcher(value).matches();
+            result = NIT_MASCARA.isFormatado(value);
         } else {
-            result = NIT_UNFORMATED.matcher(value).matches();
+            result = NIT_MASCARA.isDesformatado(value);
         }
         return result;
     }
 
-    public void assertValid(String cpf) {
-        baseValidator.assertValid(getInvalidValues(cpf));
+    public void assertValid(String nit) {
+        baseValidator.assertValid(invalidValueFor(nit));
+    }
+
+    public List<ValidationMessage> invalidMessagesFor(String nit) {
+        return baseValidator.generateValidationMessages(invalidValueFor(nit));
     }
 
-    public List<ValidationMessage> invalidMessagesFor(String cpf) {
-        return baseValidator.generateValidationMessages(getInvalidValues(cpf));
+    public boolean isValid(String nit) {
+        return invalidValueFor(nit) == null;
     }
 }
@@ -37,6 +37,18 @@ public class RejectAllValidator<T> implements Validator<T> {
         return true;
     }
 
+    public boolean isValid(T object) {
+        return invalidValues.isEmpty();
+    }
+
+    public InvalidValue invalidValueFor(T object) {
+        InvalidValue error = null;
+        if (!invalidValues.isEmpty()) {
+            error = invalidValues.get(0);
+        }
+        return error;
+    }
+
     private List<ValidationMessage> generateValidationMessages(List<InvalidValue> invalidValues) {
         List<ValidationMessage> messages = new ArrayList<ValidationMessage>();
         for (InvalidValue invalidValue : invalidValues) {
@@ -1,6 +1,5 @@
 package br.com.caelum.stella.validation;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import br.com.caelum.stella.MessageProducer;
@@ -26,15 +25,13 @@ import br.com.caelum.stella.validation.error.RenavamError;
 public class RenavamValidator implements Validator<String> {
 
     private final BaseValidator baseValidator;
-    private static final Integer fator = 0;
-    private static final Integer mod = 11;
-    private static final Integer[] pesos = { 9, 8, 7, 6, 5, 4, 3, 2 };
-    private static final Integer posicaoDoDigitoVerificador = 9;
-    private static final RotinaDeDigitoVerificador[] rotinas = { new RotinaComumDeDigitoVerificador() };
-    private static final DigitoVerificadorInfo digitoVerificadorInfo = new DigitoVerificadorInfo(fator, rotinas, mod,
-            pesos,
-            posicaoDoDigitoVerificador);
-    private static final ValidadorDeDV validatorDeDigitoVerificador = new ValidadorDeDV(digitoVerificadorInfo);
+    private static final int fator = 0;
+    private static final int mod = 11;
+    private static final int[] pesos = { 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int posicaoDoDigitoVerificador = 9;
+    private static final RotinaDeDV[] rotinas = { new RotinaComumDeDigitoVerificador() };
+    private static final DigitoVerificador validatorDeDigitoVerificador = new DigitoVerificador(fator, rotinas, mod,
+            pesos, posicaoDoDigitoVerificador);
     private final boolean isFormatted;
 
     /**
@@ -76,7 +73,11 @@ public class RenavamValidator implements Validator<String> {
     }
 
     public void assertValid(String renavam) {
-        baseValidator.assertValid(getInvalidValues(renavam));
+        baseValidator.assertValid(invalidValueFor(renavam));
+    }
+
+    public boolean isValid(String renavam) {
+        return invalidValueFor(renavam) == null;
     }
 
     private boolean isCheckDigitValid(String renavam) {
@@ -84,27 +85,27 @@ public class RenavamValidator implements Validator<String> {
     }
 
     public List<ValidationMessage> invalidMessagesFor(String renavam) {
-        return baseValidator.generateValidationMessages(getInvalidValues(renavam));
+        return baseValidator.generateValidationMessages(invalidValueFor(renavam));
     }
 
     /**
      * Valida se a cadeia está de acordo com as regras de validação do Renavam.
      * 
-     * @see br.com.caelum.stella.validation.Validator#assertValid(java.lang.Object)
+     * @see br.com.caelum.stella.validation.Validator#invalidValueFor(java.lang.Object)
      * 
      * @param renavam
      *            Cadeia de caracteres representando o Renavam a ser validado
-     * @return Uma lista de {@linkplain InvalidValue} com os erros encontrados
-     *         ou uma lista vazia, caso não haja nenhum erro.
+     * @return O {@linkplain InvalidValue} encontrado ou <code>null</code>,
+     *         caso não haja nenhum erro.
      */
-    private List<InvalidValue> getInvalidValues(String renavam) {
-        List<InvalidValue> errors = new ArrayList<InvalidValue>();
+    public InvalidValue invalidValueFor(String renavam) {
+        InvalidValue error = null;
         if (!isEligible(renavam)) {
-            errors.add(RenavamError.INVALID_DIGITS);
+            error = RenavamError.INVALID_DIGITS;
         } else if (!isCheckDigitValid(renavam)) {
-            errors.add(RenavamError.INVALID_CHECK_DIGIT);
+            error = RenavamError.INVALID_CHECK_DIGIT;
         }
-        return errors;
+        return error;
     }
 
     public boolean isEligible(String renavam) {
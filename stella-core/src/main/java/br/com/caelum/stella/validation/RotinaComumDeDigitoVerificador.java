@@ -1,13 +1,13 @@
 package br.com.caelum.stella.validation;
 
 /**
- * Essa rotina é utilizada para se obter o dígito verificador de CPF, CNPJ e
- * RENAVAM.
+ * Essa rotina é utilizada para se obter o dígito verificador de CPF, CNPJ,
+ * NIT, Título Eleitoral e RENAVAM.
  * 
  * @author leonardobessa
  * 
  */
-class RotinaComumDeDigitoVerificador implements RotinaDeDigitoVerificador {
+class RotinaComumDeDigitoVerificador implements RotinaDeDigitoVerificador, RotinaDeDV {
 
     public Integer transform(RotinaParameters parameter) {
         Integer mod = parameter.getDigitoVerificadorInfo().getMod();
@@ -19,4 +19,9 @@ class RotinaComumDeDigitoVerificador implements RotinaDeDigitoVerificador {
         }
         return result;
     }
+
+    public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+        int resto = result % dv.getMod();
+        return resto < 2 ? 0 : 11 - resto;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package br.com.caelum.stella.validation;
+
+/**
+ * Equivalente a {@link RotinaDeDigitoVerificador} que trabalha apenas com
+ * valores primitivos, utilizada por {@link DigitoVerificador}.
+ */
+public interface RotinaDeDV {
+
+    /**
+     * @param result
+     *            resultado da rotina anterior (ou o produto interno, no caso
+     *            da primeira rotina).
+     * @param dv
+     *            informações do dígito verificador sendo calculado.
+     * @param digitos
+     *            cadeia de dígitos sendo validada.
+     * @param deslocamento
+     *            quantidade de zeros considerados à esquerda da cadeia.
+     * @return o resultado transformado.
+     */
+    int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento);
+}
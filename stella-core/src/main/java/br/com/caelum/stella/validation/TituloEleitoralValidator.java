@@ -7,7 +7,7 @@ import java.util.regex.Pattern;
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
-import br.com.caelum.stella.format.TituloEleitoralFormatter;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.error.TituloEleitoralError;
 
 /**
@@ -84,38 +84,23 @@ public class TituloEleitoralValidator implements Validator<String> {
 
     private static final int DV2_POSITION = 12;
 
-    private static final Integer[] DV1_MULTIPLIERS = { 9, 8, 7, 6, 5, 4, 3, 2 };
+    private static final int[] DV1_MULTIPLIERS = { 9, 8, 7, 6, 5, 4, 3, 2 };
 
-    private static final Integer[] DV2_MULTIPLIERS = { 0, 0, 0, 0, 0, 0, 0, 0, 4, 3, 2 };
+    private static final int[] DV2_MULTIPLIERS = { 0, 0, 0, 0, 0, 0, 0, 0, 4, 3, 2 };
 
     public static final Pattern FORMATED = Pattern.compile("(\\d{10})/(\\d{2})");
 
     public static final Pattern UNFORMATED = Pattern.compile("(\\d{10})(\\d{2})");
 
-    private enum Rotina implements RotinaDeDigitoVerificador {
-        POS_PRODUTO_INTERNO {
-            public Integer transform(RotinaParameters parameter) {
-                Integer mod = parameter.getDigitoVerificadorInfo().getMod();
-                Integer result = parameter.getResult() % mod;
-                if (result < 2) {
-                    result = 0;
-                } else {
-                    result = 11 - result;
-                }
-                return result;
-            }
-        }
-    }
-
-    private static final DigitoVerificadorInfo DV1_INFO = new DigitoVerificadorInfo(0,
-            new Rotina[] { Rotina.POS_PRODUTO_INTERNO }, MOD, DV1_MULTIPLIERS, DV1_POSITION);
+    public static final MascaraDeDocumento MASCARA = new MascaraDeDocumento("##########/##");
 
-    private static final DigitoVerificadorInfo DV2_INFO = new DigitoVerificadorInfo(0,
-            new Rotina[] { Rotina.POS_PRODUTO_INTERNO }, MOD, DV2_MULTIPLIERS, DV2_POSITION);
+    private static final RotinaDeDV[] ROTINAS = { new RotinaComumDeDigitoVerificador() };
 
-    private static final ValidadorDeDV DV1_CHECKER = new ValidadorDeDV(DV1_INFO);
+    private static final DigitoVerificador DV1_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV1_MULTIPLIERS,
+            DV1_POSITION);
 
-    private static final ValidadorDeDV DV2_CHECKER = new ValidadorDeDV(DV2_INFO);
+    private static final DigitoVerificador DV2_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DV2_MULTIPLIERS,
+            DV2_POSITION);
 
     /**
      * Utiliza um {@linkplain SimpleMessageProducer} para geração de mensagens.
@@ -150,59 +135,70 @@ public class TituloEleitoralValidator implements Validator<String> {
 
     private List<InvalidValue> getInvalidValues(String tituloDeEleitor) {
         List<InvalidValue> errors = new ArrayList<InvalidValue>();
-        errors.clear();
-        if (tituloDeEleitor != null) { 
-        	
-        	if (!isEligible(tituloDeEleitor)) {
-                 if (isFormatted) {
-                     errors.add(TituloEleitoralError.INVALID_FORMAT);
-                 } else {
-                     errors.add(TituloEleitoralError.INVALID_DIGITS);
-                 }
-        	}
-        	
-            else {
-                String unformated;
-                if(isFormatted){
-                	 TituloEleitoralFormatter formatter = new TituloEleitoralFormatter();
-                     unformated = formatter.unformat(tituloDeEleitor);
-                }
-                else {
-                    unformated = tituloDeEleitor;
+        validate(tituloDeEleitor, errors);
+        return errors;
+    }
+
+    public InvalidValue invalidValueFor(String tituloDeEleitor) {
+        return validate(tituloDeEleitor, null);
+    }
+
+    /**
+     * Aplica as regras do título e devolve o primeiro erro encontrado. Quando
+     * <code>errors</code> não é nulo, todos os erros são acumulados nele.
+     */
+    private InvalidValue validate(String tituloDeEleitor, List<InvalidValue> errors) {
+        InvalidValue first = null;
+        if (tituloDeEleitor != null) {
+            CharSequence unformated = digitosDe(tituloDeEleitor);
+            if (unformated == null) {
+                if (isFormatted) {
+                    first = register(first, TituloEleitoralError.INVALID_FORMAT, errors);
+                } else {
+                    first = register(first, TituloEleitoralError.INVALID_DIGITS, errors);
                 }
+            } else {
                 if (!hasValidCheckDigits(unformated)) {
-                    errors.add(TituloEleitoralError.INVALID_CHECK_DIGITS);
+                    first = register(first, TituloEleitoralError.INVALID_CHECK_DIGITS, errors);
                 }
-                if (hasCodigoDeEstadoInvalido(tituloDeEleitor)) {
-                    errors.add(TituloEleitoralError.INVALID_CODIGO_DE_ESTADO);
+                if (hasCodigoDeEstadoInvalido(unformated)) {
+                    first = register(first, TituloEleitoralError.INVALID_CODIGO_DE_ESTADO, errors);
                 }
             }
         }
-        return errors;
+        return first;
     }
 
-    private boolean hasCodigoDeEstadoInvalido(String tituloDeEleitor) {
-        final int length = tituloDeEleitor.length();
-        int codigo;
-        if(isFormatted){
-        	codigo = Integer.parseInt(tituloDeEleitor.substring(length - 5, length - 3));
-        }
-        else{
-        	codigo= Integer.parseInt(tituloDeEleitor.substring(length - 4, length - 2));
+    private static InvalidValue register(InvalidValue first, InvalidValue error, List<InvalidValue> errors) {
+        if (errors != null) {
+            errors.add(error);
         }
+        return first != null ? first : error;
+    }
+
+    private boolean hasCodigoDeEstadoInvalido(CharSequence tituloDeEleitor) {
+        final int length = tituloDeEleitor.length();
+        int codigo = (tituloDeEleitor.charAt(length - 4) - '0') * 10 + (tituloDeEleitor.charAt(length - 3) - '0');
         return !(codigo >= 01 && codigo <= 28);
     }
 
-    private boolean hasValidCheckDigits(String value) {
+    private CharSequence digitosDe(String value) {
+        if (isFormatted) {
+            return MASCARA.extraiDigitos(value);
+        }
+        return MASCARA.isDesformatado(value) ? value : null;
+    }
+
+    private boolean hasValidCheckDigits(CharSequence value) {
         return (DV1_CHECKER.isDVValid(value)) && (DV2_CHECKER.isDVValid(value));
     }
 
     public boolean isEligible(String value) {
     	 boolean result;
          if (isFormatted) {
-             result = FORMATED.matcher(value).matches();
+             result = MASCARA.isFormatado(value);
          } else {
-             result = UNFORMATED.matcher(value).matches();
+             result = MASCARA.isDesformatado(value);
          }
          return result;
     }
@@ -211,6 +207,10 @@ public class TituloEleitoralValidator implements Validator<String> {
         baseValidator.assertValid(getInvalidValues(tituloDeEleitor));
     }
 
+    public boolean isValid(String tituloDeEleitor) {
+        return invalidValueFor(tituloDeEleitor) == null;
+    }
+
     public List<ValidationMessage> invalidMessagesFor(String tituloDeEleitor) {
         return baseValidator.generateValidationMessages(getInvalidValues(tituloDeEleitor));
     }
@@ -2,7 +2,10 @@ package br.com.caelum.stella.validation;
 
 /**
  * @author Leonardo Bessa
+ * @deprecated Use {@linkplain DigitoVerificador} no lugar desta classe, que
+ *             não aloca objetos a cada validação.
  */
+@Deprecated
 public class ValidadorDeDV {
 
     private final DigitoVerificadorInfo info;
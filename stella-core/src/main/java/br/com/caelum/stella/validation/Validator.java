@@ -14,6 +14,10 @@ import br.com.caelum.stella.ValidationMessage;
  * {@link #assertValid(Object))} valida o objeto e lança uma exception no caso
  * inválido.
  * 
+ * {@link #isValid(Object)} e {@link #invalidValueFor(Object)} validam o objeto
+ * sem gerar mensagens nem lançar exceptions, sendo indicados quando apenas o
+ * resultado da validação interessa.
+ * 
  * </p>
  * 
  * @author Fabio Kung
@@ -35,6 +39,22 @@ public interface Validator<T> {
      */
     List<ValidationMessage> invalidMessagesFor(T object);
 
+    /**
+     * @param object
+     *            objeto que se deseja validar
+     * @return <code>true</code> se o objeto é válido, ou seja, se
+     *         {@link #assertValid(Object)} não lançaria exception para ele
+     */
+    boolean isValid(T object);
+
+    /**
+     * @param object
+     *            objeto que se deseja validar
+     * @return o primeiro problema de validação relativo ao parametro object,
+     *         ou <code>null</code> caso ele seja válido
+     */
+    InvalidValue invalidValueFor(T object);
+
     /**
      * @param object
      *            objeto que se deseja avaliar
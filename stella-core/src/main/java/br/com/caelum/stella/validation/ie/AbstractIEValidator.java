@@ -1,11 +1,11 @@
 package br.com.caelum.stella.validation.ie;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.BaseValidator;
 import br.com.caelum.stella.validation.InvalidValue;
 import br.com.caelum.stella.validation.Validator;
@@ -31,34 +31,19 @@ public abstract class AbstractIEValidator implements Validator<String> {
 		this.isFormatted = isFormatted;
 	}
 
-	private List<InvalidValue> getInvalidValues(String IE) {
-	    List<InvalidValue> errors = new ArrayList<InvalidValue>();
-	    errors.clear();
+	public InvalidValue invalidValueFor(String IE) {
+	    InvalidValue error = null;
 	    if (IE != null) {
-	        String unformatedIE = checkForCorrectFormat(IE, errors);
-	        if (errors.isEmpty()) {
+	        if (!isEligible(IE)) {
+	            error = isFormatted ? IEError.INVALID_FORMAT : IEError.INVALID_DIGITS;
+	        } else {
+	            String unformatedIE = isFormatted ? MascaraDeDocumento.apenasDigitos(IE) : IE;
 	            if (!hasValidCheckDigits(unformatedIE)) {
-	                errors.add(IEError.INVALID_CHECK_DIGITS);
+	                error = IEError.INVALID_CHECK_DIGITS;
 	            }
 	        }
 	    }
-	    return errors;
-	}
-
-	protected String checkForCorrectFormat(String ie, List<InvalidValue> errors) {
-	    String unformatedIE = null;
-	    if (isFormatted) {
-	        if (!(getFormattedPattern().matcher(ie).matches())) {
-	            errors.add(IEError.INVALID_FORMAT);
-	        }
-	        unformatedIE = ie.replaceAll("\\D", "");
-	    } else {
-	        if (!getUnformattedPattern().matcher(ie).matches()) {
-	            errors.add(IEError.INVALID_DIGITS);
-	        }
-	        unformatedIE = ie;
-	    }
-	    return unformatedIE;
+	    return error;
 	}
 
 	protected abstract Pattern getUnformattedPattern();
@@ -76,11 +61,15 @@ public abstract class AbstractIEValidator implements Validator<String> {
 	}
 
 	public void assertValid(String IE) {
-	    baseValidator.assertValid(getInvalidValues(IE));
+	    baseValidator.assertValid(invalidValueFor(IE));
 	}
 
 	public List<ValidationMessage> invalidMessagesFor(String IE) {
-	    return baseValidator.generateValidationMessages(getInvalidValues(IE));
+	    return baseValidator.generateValidationMessages(invalidValueFor(IE));
+	}
+
+	public boolean isValid(String IE) {
+	    return invalidValueFor(IE) == null;
 	}
 
 	protected abstract boolean hasValidCheckDigits(String value);
@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -26,26 +25,20 @@ public class IEAcreValidator extends AbstractIEValidator {
 
 	private static final int MOD = 11;
 
-	private static final RotinaDeDigitoVerificador[] rotinas = {
+	private static final RotinaDeDV[] rotinas = {
 			IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
 	private static final int DVX_POSITION = 1 + 13;
 
-	private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+	private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-	private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(
-			0, rotinas, MOD, DVX_MULTIPLIERS, DVX_POSITION);
-
-	static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
+	static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS, DVX_POSITION);
 
 	private static final int DVY_POSITION = 1 + 12;
 
-	private static final Integer[] DVY_MULTIPLIERS = IEConstraints.P2;
-
-	private static final DigitoVerificadorInfo DVY_INFO = new DigitoVerificadorInfo(
-			0, rotinas, MOD, DVY_MULTIPLIERS, DVY_POSITION);
+	private static final int[] DVY_MULTIPLIERS = IEConstraints.PESOS_P2;
 
-	static final ValidadorDeDV DVY_CHECKER = new ValidadorDeDV(DVY_INFO);
+	static final DigitoVerificador DVY_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVY_MULTIPLIERS, DVY_POSITION);
 
 	/**
 	 * Este considera, por padrão, que as cadeias estão formatadas e utiliza um
@@ -83,10 +76,8 @@ public class IEAcreValidator extends AbstractIEValidator {
 	
 	@Override
 	protected boolean hasValidCheckDigits(String value) {
-		String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER
-				.format(value);
-		return DVX_CHECKER.isDVValid(testedValue)
-				&& DVY_CHECKER.isDVValid(testedValue);
+		return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH)
+				&& DVY_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
 	}
 
 }
@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -24,16 +23,14 @@ public class IEAlagoasValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 5 + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.B, IEConstraints.Rotina.D,
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.B, IEConstraints.Rotina.D,
             IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
     /*
      * FORMAÇÃO: 24XNNNNND, sendo:
      * 
@@ -89,8 +86,7 @@ public class IEAlagoasValidator extends AbstractIEValidator {
 	}
 	
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
-        return DVX_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -24,31 +23,25 @@ public class IEAmapaValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 5 + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-    private static final RotinaDeDigitoVerificador[] ROTINAS_CASO1 = { IEConstraints.Rotina.C, IEConstraints.Rotina.E,
+    private static final RotinaDeDV[] ROTINAS_CASO1 = { IEConstraints.Rotina.C, IEConstraints.Rotina.E,
             IEConstraints.Rotina.POS_IE };
 
-    private static final RotinaDeDigitoVerificador[] ROTINAS_CASO2 = ROTINAS_CASO1;
+    private static final RotinaDeDV[] ROTINAS_CASO2 = ROTINAS_CASO1;
 
-    private static final RotinaDeDigitoVerificador[] ROTINAS_CASO3 = { IEConstraints.Rotina.E,
+    private static final RotinaDeDV[] ROTINAS_CASO3 = { IEConstraints.Rotina.E,
             IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO_CASO1 = new DigitoVerificadorInfo(0, ROTINAS_CASO1, MOD,
+    private static final DigitoVerificador DVX_CHECKER_CASO1 = new DigitoVerificador(0, ROTINAS_CASO1, MOD,
             DVX_MULTIPLIERS, DVX_POSITION);
 
-    private static final DigitoVerificadorInfo DVX_INFO_CASO2 = new DigitoVerificadorInfo(1, ROTINAS_CASO2, MOD,
+    private static final DigitoVerificador DVX_CHECKER_CASO2 = new DigitoVerificador(1, ROTINAS_CASO2, MOD,
             DVX_MULTIPLIERS, DVX_POSITION);
 
-    private static final DigitoVerificadorInfo DVX_INFO_CASO3 = new DigitoVerificadorInfo(0, ROTINAS_CASO3, MOD,
+    private static final DigitoVerificador DVX_CHECKER_CASO3 = new DigitoVerificador(0, ROTINAS_CASO3, MOD,
             DVX_MULTIPLIERS, DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER_CASO1 = new ValidadorDeDV(DVX_INFO_CASO1);
-
-    private static final ValidadorDeDV DVX_CHECKER_CASO2 = new ValidadorDeDV(DVX_INFO_CASO2);
-
-    private static final ValidadorDeDV DVX_CHECKER_CASO3 = new ValidadorDeDV(DVX_INFO_CASO3);
-
     public static final Pattern FORMATED = Pattern.compile("(03)[.](\\d{3})[.](\\d{3})[-](\\d{1})");
 
     public static final Pattern UNFORMATED = Pattern.compile("(03)(\\d{3})(\\d{3})(\\d{1})");
@@ -98,8 +91,7 @@ public class IEAmapaValidator extends AbstractIEValidator {
          * 
          * De 03019023X em diante => CASO 3
          */
-        String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
-        ValidadorDeDV validadorDeDV = null;
+        DigitoVerificador validadorDeDV = null;
         if ((3000001 <= ie) && (ie <= 3017000)) {
             validadorDeDV = DVX_CHECKER_CASO1;
         } else if ((3017001 <= ie) && (ie <= 3019022)) {
@@ -107,7 +99,7 @@ public class IEAmapaValidator extends AbstractIEValidator {
         } else if (3019023 <= ie) {
             validadorDeDV = DVX_CHECKER_CASO3;
         }
-        result = validadorDeDV.isDVValid(testedValue);
+        result = validadorDeDV.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
 
         return result;
     }
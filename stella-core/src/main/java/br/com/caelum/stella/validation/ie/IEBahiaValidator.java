@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -20,35 +19,27 @@ import br.com.caelum.stella.validation.ValidadorDeDV;
  */
 public class IEBahiaValidator extends AbstractIEValidator {
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
     private static final int DVX_POSITION = 6 + 8;
 
     private static final int DVY_POSITION = 6 + 7;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P2;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P2;
 
-    private static final Integer[] DVY_MULTIPLIERS = IEConstraints.P3;
+    private static final int[] DVY_MULTIPLIERS = IEConstraints.PESOS_P3;
 
-    private static final DigitoVerificadorInfo DVX_INFO_MOD11 = new DigitoVerificadorInfo(0, rotinas, 11,
-            DVX_MULTIPLIERS, DVX_POSITION);
+    private static final DigitoVerificador DVX_CHECKER_MOD11 = new DigitoVerificador(0, rotinas, 11, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER_MOD11 = new ValidadorDeDV(DVX_INFO_MOD11);
+    private static final DigitoVerificador DVY_CHECKER_MOD11 = new DigitoVerificador(0, rotinas, 11, DVY_MULTIPLIERS,
+            DVY_POSITION);
 
-    private static final DigitoVerificadorInfo DVY_INFO_MOD11 = new DigitoVerificadorInfo(0, rotinas, 11,
-            DVY_MULTIPLIERS, DVY_POSITION);
+    private static final DigitoVerificador DVX_CHECKER_MOD10 = new DigitoVerificador(0, rotinas, 10, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
-    private static final ValidadorDeDV DVY_CHECKER_MOD11 = new ValidadorDeDV(DVY_INFO_MOD11);
-
-    private static final DigitoVerificadorInfo DVX_INFO_MOD10 = new DigitoVerificadorInfo(0, rotinas, 10,
-            DVX_MULTIPLIERS, DVX_POSITION);
-
-    private static final ValidadorDeDV DVX_CHECKER_MOD10 = new ValidadorDeDV(DVX_INFO_MOD10);
-
-    private static final DigitoVerificadorInfo DVY_INFO_MOD10 = new DigitoVerificadorInfo(0, rotinas, 10,
-            DVY_MULTIPLIERS, DVY_POSITION);
-
-    private static final ValidadorDeDV DVY_CHECKER_MOD10 = new ValidadorDeDV(DVY_INFO_MOD10);
+    private static final DigitoVerificador DVY_CHECKER_MOD10 = new DigitoVerificador(0, rotinas, 10, DVY_MULTIPLIERS,
+            DVY_POSITION);
 
 
     /*
@@ -95,16 +86,17 @@ public class IEBahiaValidator extends AbstractIEValidator {
 	}
   
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
         boolean result = false;
         switch (value.charAt(0)) {
         case '6':
         case '7':
         case '9':
-            result = DVX_CHECKER_MOD11.isDVValid(testedValue) && DVY_CHECKER_MOD11.isDVValid(testedValue);
+            result = DVX_CHECKER_MOD11.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH)
+                    && DVY_CHECKER_MOD11.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
             break;
         default:
-            result = DVX_CHECKER_MOD10.isDVValid(testedValue) && DVY_CHECKER_MOD10.isDVValid(testedValue);
+            result = DVX_CHECKER_MOD10.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH)
+                    && DVY_CHECKER_MOD10.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
         }
         return result;
     }
@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -25,15 +24,13 @@ public class IECearaValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 5 + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
   
     /*
      * Formato: 8 dígitos+1 dígito verificador
@@ -80,8 +77,7 @@ public class IECearaValidator extends AbstractIEValidator {
 	
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
-        return DVX_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
@@ -2,7 +2,9 @@ package br.com.caelum.stella.validation.ie;
 
 import br.com.caelum.stella.format.Formatter;
 import br.com.caelum.stella.format.LeftSideZerosFormatter;
+import br.com.caelum.stella.validation.DigitoVerificador;
 import br.com.caelum.stella.validation.DigitoVerificadorInfo;
+import br.com.caelum.stella.validation.RotinaDeDV;
 import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
 import br.com.caelum.stella.validation.RotinaParameters;
 
@@ -15,35 +17,78 @@ import br.com.caelum.stella.validation.RotinaParameters;
  */
 public class IEConstraints {
 
-    public static final Formatter PRE_VALIDATION_FORMATTER = new LeftSideZerosFormatter(14);
+    /**
+     * Tamanho, completado com zeros à esquerda, considerado no cálculo dos
+     * dígitos verificadores de todas as inscrições estaduais.
+     */
+    public static final int PRE_VALIDATION_LENGTH = 14;
 
-    public static final Integer[] P1 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
+    public static final Formatter PRE_VALIDATION_FORMATTER = new LeftSideZerosFormatter(PRE_VALIDATION_LENGTH);
 
-    public static final Integer[] P2 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2, 0, 0 };
+    public static final int[] PESOS_P1 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P3 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 0, 2 };
+    public static final int[] PESOS_P2 = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2, 0, 0 };
 
-    public static final Integer[] P4 = { 0, 0, 0, 0, 0, 0, 0, 0, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P3 = { 6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 0, 2 };
 
-    public static final Integer[] P5 = { 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 0 };
+    public static final int[] PESOS_P4 = { 0, 0, 0, 0, 0, 0, 0, 0, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P6 = { 0, 0, 0, 9, 8, 0, 0, 7, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P5 = { 0, 0, 0, 0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 0 };
 
-    public static final Integer[] P7 = { 5, 4, 3, 2, 1, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P6 = { 0, 0, 0, 9, 8, 0, 0, 7, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P8 = { 8, 7, 6, 5, 4, 3, 2, 7, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P7 = { 5, 4, 3, 2, 1, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P9 = { 7, 6, 5, 4, 3, 2, 7, 6, 5, 4, 3, 2, 0, 0 };
+    public static final int[] PESOS_P8 = { 8, 7, 6, 5, 4, 3, 2, 7, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P10 = { 0, 1, 2, 1, 1, 2, 1, 2, 1, 2, 1, 2, 0, 0 };
+    public static final int[] PESOS_P9 = { 7, 6, 5, 4, 3, 2, 7, 6, 5, 4, 3, 2, 0, 0 };
 
-    public static final Integer[] P11 = { 0, 3, 2, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P10 = { 0, 1, 2, 1, 1, 2, 1, 2, 1, 2, 1, 2, 0, 0 };
 
-    public static final Integer[] P12 = { 0, 0, 1, 3, 4, 5, 6, 7, 8, 10, 0, 0, 0, 0 };
+    public static final int[] PESOS_P11 = { 0, 3, 2, 11, 10, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
 
-    public static final Integer[] P13 = { 0, 0, 3, 2, 10, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
+    public static final int[] PESOS_P12 = { 0, 0, 1, 3, 4, 5, 6, 7, 8, 10, 0, 0, 0, 0 };
 
-    public enum Rotina implements RotinaDeDigitoVerificador {
+    public static final int[] PESOS_P13 = { 0, 0, 3, 2, 10, 9, 8, 7, 6, 5, 4, 3, 2, 0 };
+
+    /*
+     * Pesos na forma utilizada por ValidadorDeDV.
+     */
+    public static final Integer[] P1 = legado(PESOS_P1);
+
+    public static final Integer[] P2 = legado(PESOS_P2);
+
+    public static final Integer[] P3 = legado(PESOS_P3);
+
+    public static final Integer[] P4 = legado(PESOS_P4);
+
+    public static final Integer[] P5 = legado(PESOS_P5);
+
+    public static final Integer[] P6 = legado(PESOS_P6);
+
+    public static final Integer[] P7 = legado(PESOS_P7);
+
+    public static final Integer[] P8 = legado(PESOS_P8);
+
+    public static final Integer[] P9 = legado(PESOS_P9);
+
+    public static final Integer[] P10 = legado(PESOS_P10);
+
+    public static final Integer[] P11 = legado(PESOS_P11);
+
+    public static final Integer[] P12 = legado(PESOS_P12);
+
+    public static final Integer[] P13 = legado(PESOS_P13);
+
+    private static Integer[] legado(int[] pesos) {
+        Integer[] result = new Integer[pesos.length];
+        for (int i = 0; i < pesos.length; i++) {
+            result[i] = pesos[i];
+        }
+        return result;
+    }
+
+    public enum Rotina implements RotinaDeDigitoVerificador, RotinaDeDV {
         A {
             public Integer transform(RotinaParameters parameter) {
                 DigitoVerificadorInfo info = parameter.getDigitoVerificadorInfo();
@@ -55,12 +100,23 @@ public class IEConstraints {
                 }
                 return result;
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                for (int i = 0; i < dv.getQuantidadeDePesos(); i++) {
+                    result += (dv.getPeso(i) * DigitoVerificador.digito(digitos, deslocamento, i)) / 10;
+                }
+                return result;
+            }
         },
         B {
 
             public Integer transform(RotinaParameters parameter) {
                 return 10 * parameter.getResult();
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                return 10 * result;
+            }
         },
         C {
             public Integer transform(RotinaParameters parameter) {
@@ -68,6 +124,10 @@ public class IEConstraints {
                 Integer x = parameter.getResult();
                 return x + (5 + 4 * info.getFator());
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                return result + (5 + 4 * dv.getFator());
+            }
         },
         D {
             public Integer transform(RotinaParameters parameter) {
@@ -75,6 +135,10 @@ public class IEConstraints {
                 Integer x = parameter.getResult();
                 return x % info.getMod();
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                return result % dv.getMod();
+            }
         },
         E {
             public Integer transform(RotinaParameters parameter) {
@@ -83,6 +147,10 @@ public class IEConstraints {
                 int result = (info.getMod()) - (x % info.getMod());
                 return result;
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                return dv.getMod() - (result % dv.getMod());
+            }
         },
         POS_IE {
             public Integer transform(RotinaParameters parameter) {
@@ -95,6 +163,15 @@ public class IEConstraints {
                 }
                 return x;
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                if (result == 10) {
+                    return 0;
+                } else if (result == 11) {
+                    return dv.getFator();
+                }
+                return result;
+            }
         },
         POS_IE_GOIAS {
             public Integer transform(RotinaParameters parameter) {
@@ -107,10 +184,21 @@ public class IEConstraints {
                 }
                 return x;
             }
+
+            public int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento) {
+                if (result == 11) {
+                    return 0;
+                } else if (result == 10) {
+                    return dv.getFator();
+                }
+                return result;
+            }
         };
 
         public abstract Integer transform(RotinaParameters parameters);
 
+        public abstract int transform(int result, DigitoVerificador dv, CharSequence digitos, int deslocamento);
+
     }
 
 }
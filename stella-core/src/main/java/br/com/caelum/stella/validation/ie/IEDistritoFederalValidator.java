@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -24,23 +23,19 @@ public class IEDistritoFederalValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 1 + 12;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P2;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P2;
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
-    private static final Integer[] DVY_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVY_MULTIPLIERS = IEConstraints.PESOS_P1;
 
     private static final int DVY_POSITION = 1 + 13;
 
-    private static final DigitoVerificadorInfo DVY_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVY_MULTIPLIERS,
+    private static final DigitoVerificador DVY_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVY_MULTIPLIERS,
             DVY_POSITION);
-
-    private static final ValidadorDeDV DVY_CHECKER = new ValidadorDeDV(DVY_INFO);
     /*
      * Formato: 07.408.738/002-50
      */
@@ -84,8 +79,8 @@ public class IEDistritoFederalValidator extends AbstractIEValidator {
 	}
 	
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
-        return DVX_CHECKER.isDVValid(testedValue) && DVY_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH)
+                && DVY_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
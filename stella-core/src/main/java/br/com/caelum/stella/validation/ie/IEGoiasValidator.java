@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 /**
  * <p>
@@ -26,20 +25,16 @@ public class IEGoiasValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 5 + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E,
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E,
             IEConstraints.Rotina.POS_IE_GOIAS };
 
-    private static final DigitoVerificadorInfo DVX_INFO_FATOR1 = new DigitoVerificadorInfo(1, rotinas, MOD,
-            DVX_MULTIPLIERS, DVX_POSITION);
+    private static final DigitoVerificador DVX_CHECKER_FATOR1 = new DigitoVerificador(1, rotinas, MOD, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
-    private static final DigitoVerificadorInfo DVX_INFO_FATOR0 = new DigitoVerificadorInfo(0, rotinas, MOD,
-            DVX_MULTIPLIERS, DVX_POSITION);
-
-    private static final ValidadorDeDV DVX_CHECKER_FATOR1 = new ValidadorDeDV(DVX_INFO_FATOR1);
-
-    private static final ValidadorDeDV DVX_CHECKER_FATOR0 = new ValidadorDeDV(DVX_INFO_FATOR0);
+    private static final DigitoVerificador DVX_CHECKER_FATOR0 = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
     /*
      * Formato da Inscrição: AB.CDE.FGH-I 8 dígitos (ABCDEFGH)+1 dígito
@@ -128,14 +123,13 @@ public class IEGoiasValidator extends AbstractIEValidator {
         if (ie == 110944020 || ie == 110944021) {
             result = true;
         } else {
-            String testedValue = IEConstraints.PRE_VALIDATION_FORMATTER.format(value);
-            ValidadorDeDV validadorDeDV = null;
+            DigitoVerificador validadorDeDV = null;
             if (101031051 <= ie && ie <= 101199979) {
                 validadorDeDV = DVX_CHECKER_FATOR1;
             } else {
                 validadorDeDV = DVX_CHECKER_FATOR0;
             }
-            result = validadorDeDV.isDVValid(testedValue);
+            result = validadorDeDV.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
         }
 
         return result;
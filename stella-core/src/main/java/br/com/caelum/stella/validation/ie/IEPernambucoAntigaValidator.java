@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 class IEPernambucoAntigaValidator extends AbstractIEValidator {
 
@@ -25,14 +24,12 @@ class IEPernambucoAntigaValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = 14;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P7;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P7;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(FATOR, rotinas, MOD,
-            DVX_MULTIPLIERS, DVX_POSITION);
-
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(FATOR, rotinas, MOD, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
 
     public static final Pattern FORMATED = Pattern.compile("([1][8])[.]([1-9])[.](\\d{3})[.](\\d{7})[-](\\d{1})");
@@ -74,8 +71,7 @@ class IEPernambucoAntigaValidator extends AbstractIEValidator {
 	}
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = value;
-        return DVX_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
@@ -1,13 +1,11 @@
 package br.com.caelum.stella.validation.ie;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 class IEPernambucoNovaValidator extends AbstractIEValidator {
 
@@ -22,33 +20,27 @@ class IEPernambucoNovaValidator extends AbstractIEValidator {
 
     private static final int DVY_POSITION = MISSING_ZEROS.length() + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P2;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P2;
 
-    private static final Integer[] DVY_MULTIPLIERS = IEConstraints.P13;
+    private static final int[] DVY_MULTIPLIERS = IEConstraints.PESOS_P13;
 
-    private static final RotinaDeDigitoVerificador[] DVX_ROTINAS = { IEConstraints.Rotina.E,
+    private static final RotinaDeDV[] DVX_ROTINAS = { IEConstraints.Rotina.E,
             IEConstraints.Rotina.POS_IE };
 
-    private static final RotinaDeDigitoVerificador[] DVY_ROTINAS = { IEConstraints.Rotina.E,
+    private static final RotinaDeDV[] DVY_ROTINAS = { IEConstraints.Rotina.E,
             IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, DVX_ROTINAS, DVX_MOD,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, DVX_ROTINAS, DVX_MOD,
             DVX_MULTIPLIERS, DVX_POSITION);
 
-    private static final DigitoVerificadorInfo DVY_INFO = new DigitoVerificadorInfo(0, DVY_ROTINAS, DVY_MOD,
+    private static final DigitoVerificador DVY_CHECKER = new DigitoVerificador(0, DVY_ROTINAS, DVY_MOD,
             DVY_MULTIPLIERS, DVY_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
-    private static final ValidadorDeDV DVY_CHECKER = new ValidadorDeDV(DVY_INFO);
-
     // 0321418-40
     public static final Pattern FORMATED = Pattern.compile("(\\d{7})[-](\\d{2})");
 
     public static final Pattern UNFORMATED = Pattern.compile("(\\d{7})(\\d{2})");
 
-    private static final String REPLACEMENT = MISSING_ZEROS + "$1$2";
-
 	
     /**
 	 * Este considera, por padrão, que as cadeias estão formatadas e utiliza um
@@ -85,13 +77,8 @@ class IEPernambucoNovaValidator extends AbstractIEValidator {
 	}
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = null;
-        Matcher matcher = UNFORMATED.matcher(value);
-        if (matcher.matches()) {
-            testedValue = matcher.replaceAll(REPLACEMENT);
-        }
-        boolean DVXisValid = DVX_CHECKER.isDVValid(testedValue);
-        boolean DVYisValid = DVY_CHECKER.isDVValid(testedValue);
+        boolean DVXisValid = DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
+        boolean DVYisValid = DVY_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
         return (DVXisValid) && (DVYisValid);
     }
 }
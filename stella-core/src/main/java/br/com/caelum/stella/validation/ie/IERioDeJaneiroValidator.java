@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 public class IERioDeJaneiroValidator extends AbstractIEValidator {
 
@@ -17,15 +16,13 @@ public class IERioDeJaneiroValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = MISSING_LEFT_SIDE_ZEROS.length() + 8;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P8;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P8;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
     public static final Pattern FORMATED = Pattern.compile("([1789]\\d{1})[.](\\d{3})[.](\\d{3})");
 
     public static final Pattern UNFORMATED = Pattern.compile("([1789]\\d{1})(\\d{3})(\\d{3})");
@@ -67,8 +64,7 @@ public class IERioDeJaneiroValidator extends AbstractIEValidator {
 
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = MISSING_LEFT_SIDE_ZEROS + value;
-        return DVX_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
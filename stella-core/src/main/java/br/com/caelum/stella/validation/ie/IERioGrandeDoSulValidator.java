@@ -2,17 +2,16 @@ package br.com.caelum.stella.validation.ie;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.BaseValidator;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
+import br.com.caelum.stella.validation.DigitoVerificador;
 import br.com.caelum.stella.validation.InvalidValue;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.RotinaDeDV;
 import br.com.caelum.stella.validation.Validator;
 import br.com.caelum.stella.validation.error.IEError;
 
@@ -25,15 +24,13 @@ public class IERioGrandeDoSulValidator implements Validator<String> {
 
     private static final int DVX_POSITION = MISSING_LEFT_SIDE_ZEROS.length() + 10;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P1;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P1;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
     private final boolean isFormatted;
 
     public static final Pattern FORMATED = Pattern.compile("([0-4]\\d{2})[/](\\d{6})(\\d{1})");
@@ -67,51 +64,54 @@ public class IERioGrandeDoSulValidator implements Validator<String> {
 
     private List<InvalidValue> getInvalidValues(String IE) {
         List<InvalidValue> errors = new ArrayList<InvalidValue>();
-        errors.clear();
+        validate(IE, errors);
+        return errors;
+    }
+
+    public InvalidValue invalidValueFor(String IE) {
+        return validate(IE, null);
+    }
+
+    /**
+     * Aplica as regras da inscrição e devolve o primeiro erro encontrado.
+     * Quando <code>errors</code> não é nulo, todos os erros são acumulados
+     * nele.
+     */
+    private InvalidValue validate(String IE, List<InvalidValue> errors) {
+        InvalidValue first = null;
         if (IE != null) {
-            String unformatedIE = checkForCorrectFormat(IE, errors);
-            if (errors.isEmpty()) {
+            if (!isEligible(IE)) {
+                first = register(first, isFormatted ? IEError.INVALID_FORMAT : IEError.INVALID_DIGITS, errors);
+            } else {
+                String unformatedIE = isFormatted ? MascaraDeDocumento.apenasDigitos(IE) : IE;
                 if (!hasValidCheckDigits(unformatedIE)) {
-                    errors.add(IEError.INVALID_CHECK_DIGITS);
+                    first = register(first, IEError.INVALID_CHECK_DIGITS, errors);
                 }
                 if (!hasValidMunicipality(unformatedIE)) {
-                    errors.add(IEError.INVALID_MUNICIPALITY);
+                    first = register(first, IEError.INVALID_MUNICIPALITY, errors);
                 }
             }
         }
-        return errors;
+        return first;
     }
 
-    private boolean hasValidMunicipality(String unformatedIE) {
-        String municipality = null;
-        Matcher matcher = UNFORMATED.matcher(unformatedIE);
-        if (matcher.matches()) {
-            municipality = matcher.replaceAll("$1");
+    private static InvalidValue register(InvalidValue first, InvalidValue error, List<InvalidValue> errors) {
+        if (errors != null) {
+            errors.add(error);
         }
-        int municipalityInt = Integer.parseInt(municipality);
-        boolean result = municipalityInt > 0 && municipalityInt <= 467;
-        return result;
+        return first != null ? first : error;
     }
 
-    private String checkForCorrectFormat(String ie, List<InvalidValue> errors) {
-        String unformatedIE = null;
-        if (isFormatted) {
-            if (!(FORMATED.matcher(ie).matches())) {
-                errors.add(IEError.INVALID_FORMAT);
-            }
-            unformatedIE = ie.replaceAll("\\D", "");
-        } else {
-            if (!UNFORMATED.matcher(ie).matches()) {
-                errors.add(IEError.INVALID_DIGITS);
-            }
-            unformatedIE = ie;
-        }
-        return unformatedIE;
+    private boolean hasValidMunicipality(String unformatedIE) {
+        // os tres primeiros digitos, ja verificados pelo formato
+        int municipalityInt = (unformatedIE.charAt(0) - '0') * 100 + (unformatedIE.charAt(1) - '0') * 10
+                + (unformatedIE.charAt(2) - '0');
+        boolean result = municipalityInt > 0 && municipalityInt <= 467;
+        return result;
     }
 
     private boolean hasValidCheckDigits(String value) {
-        String testedValue = MISSING_LEFT_SIDE_ZEROS + value;
-        return DVX_CHECKER.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
     public boolean isEligible(String value) {
@@ -133,4 +133,8 @@ public class IERioGrandeDoSulValidator implements Validator<String> {
     public List<ValidationMessage> invalidMessagesFor(String cpf) {
         return baseValidator.generateValidationMessages(getInvalidValues(cpf));
     }
+
+    public boolean isValid(String ie) {
+        return invalidValueFor(ie) == null;
+    }
 }
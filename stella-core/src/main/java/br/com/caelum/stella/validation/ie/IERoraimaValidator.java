@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 public class IERoraimaValidator extends AbstractIEValidator {
 
@@ -17,18 +16,16 @@ public class IERoraimaValidator extends AbstractIEValidator {
 
     private static final int DVX_POSITION = MISSING_LEFT_SIDE_ZEROS.length() + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P5;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P5;
 
-    private static final RotinaDeDigitoVerificador[] ROTINAS = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
-
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, ROTINAS, MOD, DVX_MULTIPLIERS,
-            DVX_POSITION);
+    private static final RotinaDeDV[] ROTINAS = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
 
     public static final Pattern FORMATED = Pattern.compile("([2][4])(\\d{6})[-](\\d{1})");
 
     public static final Pattern UNFORMATED = Pattern.compile("([2][4])(\\d{6})(\\d{1})");
 
-    private final ValidadorDeDV validadorDeDV = new ValidadorDeDV(DVX_INFO);
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, ROTINAS, MOD, DVX_MULTIPLIERS,
+            DVX_POSITION);
 
 
     /**
@@ -66,8 +63,7 @@ public class IERoraimaValidator extends AbstractIEValidator {
 	}
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = MISSING_LEFT_SIDE_ZEROS + value;
-        return this.validadorDeDV.isDVValid(testedValue);
+        return DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH);
     }
 
 }
@@ -4,9 +4,8 @@ import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.DigitoVerificador;
+import br.com.caelum.stella.validation.RotinaDeDV;
 
 class IESaoPauloComercioIndustriaValidator extends AbstractIEValidator {
 
@@ -19,22 +18,18 @@ class IESaoPauloComercioIndustriaValidator extends AbstractIEValidator {
 
     private static final int DVY_POSITION = MISSING_LEFT_SIDE_ZEROS.length() + 12;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P12;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P12;
 
-    private static final Integer[] DVY_MULTIPLIERS = IEConstraints.P13;
+    private static final int[] DVY_MULTIPLIERS = IEConstraints.PESOS_P13;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final DigitoVerificadorInfo DVY_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVY_MULTIPLIERS,
+    private static final DigitoVerificador DVY_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVY_MULTIPLIERS,
             DVY_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
-    private static final ValidadorDeDV DVY_CHECKER = new ValidadorDeDV(DVY_INFO);
-
     public static final Pattern FORMATED = Pattern.compile("(\\d{3})[.](\\d{3})[.](\\d{3})[.](\\d{3})");
 
     public static final Pattern UNFORMATED = Pattern.compile("(\\d{3})(\\d{3})(\\d{3})(\\d{3})");
@@ -75,8 +70,8 @@ class IESaoPauloComercioIndustriaValidator extends AbstractIEValidator {
 	
 
     protected boolean hasValidCheckDigits(String value) {
-        String testedValue = MISSING_LEFT_SIDE_ZEROS + value;
-        return (DVX_CHECKER.isDVValid(testedValue)) && (DVY_CHECKER.isDVValid(testedValue));
+        return (DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH))
+                && (DVY_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH));
     }
 
 }
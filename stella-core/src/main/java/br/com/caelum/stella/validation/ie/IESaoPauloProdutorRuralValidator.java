@@ -1,16 +1,15 @@
 package br.com.caelum.stella.validation.ie;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.format.MascaraDeDocumento;
 import br.com.caelum.stella.validation.BaseValidator;
-import br.com.caelum.stella.validation.DigitoVerificadorInfo;
+import br.com.caelum.stella.validation.DigitoVerificador;
 import br.com.caelum.stella.validation.InvalidValue;
-import br.com.caelum.stella.validation.RotinaDeDigitoVerificador;
-import br.com.caelum.stella.validation.ValidadorDeDV;
+import br.com.caelum.stella.validation.RotinaDeDV;
 import br.com.caelum.stella.validation.Validator;
 import br.com.caelum.stella.validation.error.IEError;
 
@@ -23,15 +22,13 @@ class IESaoPauloProdutorRuralValidator implements Validator<String> {
 
     private static final int DVX_POSITION = MISSING_LEFT_SIDE_ZEROS.length() + 9;
 
-    private static final Integer[] DVX_MULTIPLIERS = IEConstraints.P12;
+    private static final int[] DVX_MULTIPLIERS = IEConstraints.PESOS_P12;
 
-    private static final RotinaDeDigitoVerificador[] rotinas = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
+    private static final RotinaDeDV[] rotinas = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
 
-    private static final DigitoVerificadorInfo DVX_INFO = new DigitoVerificadorInfo(0, rotinas, MOD, DVX_MULTIPLIERS,
+    private static final DigitoVerificador DVX_CHECKER = new DigitoVerificador(0, rotinas, MOD, DVX_MULTIPLIERS,
             DVX_POSITION);
 
-    private static final ValidadorDeDV DVX_CHECKER = new ValidadorDeDV(DVX_INFO);
-
     private final boolean isFormatted;
 
     public static final Pattern FORMATED = Pattern.compile("P-(\\d{8})[.](\\d{1})[/](\\d{3})");
@@ -43,39 +40,20 @@ class IESaoPauloProdutorRuralValidator implements Validator<String> {
         this.isFormatted = isFormatted;
     }
 
-    private List<InvalidValue> getInvalidValues(String ie) {
-        List<InvalidValue> errors = new ArrayList<InvalidValue>();
-        errors.clear();
+    public InvalidValue invalidValueFor(String ie) {
+        InvalidValue error = null;
         if (ie != null) {
-            String unformatedIE = checkForCorrectFormat(ie, errors);
-            if (errors.isEmpty()) {
-                if (!hasValidCheckDigits(unformatedIE)) {
-                    errors.add(IEError.INVALID_CHECK_DIGITS);
-                }
-            }
-        }
-        return errors;
-    }
-
-    private String checkForCorrectFormat(String ie, List<InvalidValue> errors) {
-        String unformatedIE = null;
-        if (isFormatted) {
-            if (!(FORMATED.matcher(ie).matches())) {
-                errors.add(IEError.INVALID_FORMAT);
-            }
-            unformatedIE = ie.replaceAll("\\D", "");
-        } else {
-            if (!UNFORMATED.matcher(ie).matches()) {
-                errors.add(IEError.INVALID_DIGITS);
+            if (!isEligible(ie)) {
+                error = isFormatted ? IEError.INVALID_FORMAT : IEError.INVALID_DIGITS;
+            } else if (!hasValidCheckDigits(MascaraDeDocumento.apenasDigitos(ie))) {
+                error = IEError.INVALID_CHECK_DIGITS;
             }
-            unformatedIE = ie.replaceAll("\\D", "");
         }
-        return unformatedIE;
+        return error;
     }
 
     private boolean hasValidCheckDigits(String value) {
-        String testedValue = MISSING_LEFT_SIDE_ZEROS + value;
-        return (DVX_CHECKER.isDVValid(testedValue));
+        return (DVX_CHECKER.isDVValid(value, IEConstraints.PRE_VALIDATION_LENGTH));
     }
 
     public boolean isEligible(String value) {
@@ -90,11 +68,15 @@ class IESaoPauloProdutorRuralValidator implements Validator<String> {
 
     private final BaseValidator baseValidator;
 
-    public void assertValid(String cpf) {
-        baseValidator.assertValid(getInvalidValues(cpf));
+    public void assertValid(String ie) {
+        baseValidator.assertValid(invalidValueFor(ie));
+    }
+
+    public List<ValidationMessage> invalidMessagesFor(String ie) {
+        return baseValidator.generateValidationMessages(invalidValueFor(ie));
     }
 
-    public List<ValidationMessage> invalidMessagesFor(String cpf) {
-        return baseValidator.generateValidationMessages(getInvalidValues(cpf));
+    public boolean isValid(String ie) {
+        return invalidValueFor(ie) == null;
     }
 }
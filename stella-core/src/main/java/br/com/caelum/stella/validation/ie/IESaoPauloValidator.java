@@ -6,6 +6,7 @@ import java.util.List;
 import br.com.caelum.stella.MessageProducer;
 import br.com.caelum.stella.SimpleMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
+import br.com.caelum.stella.validation.InvalidValue;
 import br.com.caelum.stella.validation.LogicOrComposedValidator;
 import br.com.caelum.stella.validation.Validator;
 import br.com.caelum.stella.validation.error.IEError;
@@ -35,9 +36,9 @@ public class IESaoPauloValidator implements Validator<String> {
 
     @SuppressWarnings("unchecked")
     public IESaoPauloValidator(MessageProducer messageProducer, boolean isFormatted) {
-        Class[] validatorClasses = { IESaoPauloComercioIndustriaValidator.class, IESaoPauloProdutorRuralValidator.class };
-        this.baseValidator = new LogicOrComposedValidator<String>(messageProducer, isFormatted, validatorClasses);
-        this.baseValidator.setInvalidFormat(IEError.INVALID_FORMAT);
+        this.baseValidator = new LogicOrComposedValidator<String>(messageProducer, IEError.INVALID_FORMAT,
+                new IESaoPauloComercioIndustriaValidator(messageProducer, isFormatted),
+                new IESaoPauloProdutorRuralValidator(messageProducer, isFormatted));
     }
 
     public void assertValid(String value) {
@@ -56,6 +57,18 @@ public class IESaoPauloValidator implements Validator<String> {
         return result;
     }
 
+    public boolean isValid(String value) {
+        return value == null || baseValidator.isValid(value);
+    }
+
+    public InvalidValue invalidValueFor(String value) {
+        InvalidValue result = null;
+        if (value != null) {
+            result = baseValidator.invalidValueFor(value);
+        }
+        return result;
+    }
+
     public boolean isEligible(String object) {
         return baseValidator.isEligible(object);
     }
@@ -0,0 +1,115 @@
+package br.com.caelum.stella.validation.ie;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import br.com.caelum.stella.MessageProducer;
+import br.com.caelum.stella.type.Estado;
+import br.com.caelum.stella.validation.Validator;
+
+/**
+ * <p>
+ * Mantém os validadores de Inscrição Estadual já construídos, identificados
+ * pelo {@link Estado}, pelo {@link MessageProducer} e pela indicação de
+ * cadeias formatadas, evitando que um novo validador seja criado a cada
+ * validação.
+ * </p>
+ * <p>
+ * Os validadores de Inscrição Estadual não guardam estado entre validações e
+ * podem ser compartilhados entre threads. A busca de um validador já
+ * construído não usa nenhum lock. Os produtores de mensagens são comparados
+ * através de {@link Object#equals(Object)}; a quantidade de produtores
+ * guardados é limitada e, quando um novo produtor excede o limite, outros são
+ * descartados para abrir espaço.
+ * </p>
+ */
+public final class IEValidatorRegistry {
+
+    /**
+     * Quantidade padrão de produtores de mensagens guardados.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    private static final IEValidatorRegistry INSTANCE = new IEValidatorRegistry(DEFAULT_MAXIMUM_SIZE);
+
+    private static final int VALIDATORS_PER_PRODUCER = Estado.values().length * 2;
+
+    private final ConcurrentMap<MessageProducer, AtomicReferenceArray<Validator<String>>> validators = new ConcurrentHashMap<MessageProducer, AtomicReferenceArray<Validator<String>>>();
+
+    private final int maximumSize;
+
+    /**
+     * @param maximumSize
+     *            quantidade máxima de produtores de mensagens guardados.
+     */
+    public IEValidatorRegistry(final int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return o registro compartilhado por toda a aplicação.
+     */
+    public static IEValidatorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param estado
+     *            estado da Inscrição Estadual.
+     * @param messageProducer
+     *            um produtor de mensagens.
+     * @param isFormatted
+     *            indicando se o validador deve considerar as cadeias como
+     *            formatadas.
+     * @return o validador de Inscrição Estadual correspondente, criado através
+     *         de {@link Estado#getIEValidator(MessageProducer, boolean)} apenas
+     *         na primeira vez em que for pedido.
+     */
+    public Validator<String> getValidator(Estado estado, MessageProducer messageProducer, boolean isFormatted) {
+        int index = estado.ordinal() * 2 + (isFormatted ? 1 : 0);
+        AtomicReferenceArray<Validator<String>> porEstado = validators.get(messageProducer);
+        if (porEstado == null) {
+            porEstado = register(messageProducer);
+        }
+        Validator<String> result = porEstado.get(index);
+        if (result == null) {
+            result = estado.getIEValidator(messageProducer, isFormatted);
+            if (!porEstado.compareAndSet(index, null, result)) {
+                result = porEstado.get(index);
+            }
+        }
+        return result;
+    }
+
+    private AtomicReferenceArray<Validator<String>> register(MessageProducer messageProducer) {
+        Iterator<MessageProducer> guardados = validators.keySet().iterator();
+        while (validators.size() >= maximumSize && guardados.hasNext()) {
+            guardados.next();
+            guardados.remove();
+        }
+        AtomicReferenceArray<Validator<String>> porEstado = new AtomicReferenceArray<Validator<String>>(
+                VALIDATORS_PER_PRODUCER);
+        AtomicReferenceArray<Validator<String>> existente = validators.putIfAbsent(messageProducer, porEstado);
+        return existente == null ? porEstado : existente;
+    }
+
+    /**
+     * @return quantidade de produtores de mensagens guardados.
+     */
+    public int size() {
+        return validators.size();
+    }
+
+    /**
+     * Descarta todos os validadores guardados.
+     */
+    public void clear() {
+        validators.clear();
+    }
+
+}
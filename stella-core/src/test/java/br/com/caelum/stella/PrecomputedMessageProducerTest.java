@@ -0,0 +1,80 @@
+package br.com.caelum.stella;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+import br.com.caelum.stella.validation.InvalidValue;
+import br.com.caelum.stella.validation.error.CPFError;
+import br.com.caelum.stella.validation.error.LengthError;
+
+public class PrecomputedMessageProducerTest {
+
+    private enum DocumentoError implements InvalidValue {
+        INVALID_DIGITS;
+    }
+
+    @Test
+    public void shouldReturnTheSameMessageInstanceForStellaErrors() {
+        PrecomputedMessageProducer producer = new PrecomputedMessageProducer(new SimpleMessageProducer());
+
+        ValidationMessage message = producer.getMessage(CPFError.INVALID_CHECK_DIGITS);
+
+        assertEquals("CPFError : INVALID CHECK DIGITS", message.getMessage());
+        assertSame(message, producer.getMessage(CPFError.INVALID_CHECK_DIGITS));
+    }
+
+    @Test
+    public void shouldCacheMessagesOfOtherEnums() {
+        PrecomputedMessageProducer producer = new PrecomputedMessageProducer(new SimpleMessageProducer());
+
+        ValidationMessage message = producer.getMessage(DocumentoError.INVALID_DIGITS);
+
+        assertEquals("DocumentoError : INVALID DIGITS", message.getMessage());
+        assertSame(message, producer.getMessage(DocumentoError.INVALID_DIGITS));
+    }
+
+    @Test
+    public void shouldDelegateErrorsThatAreNotEnums() {
+        PrecomputedMessageProducer producer = new PrecomputedMessageProducer(new SimpleMessageProducer());
+        LengthError error = new LengthError(11);
+
+        assertEquals("LengthError : INVALID LENGTH", producer.getMessage(error).getMessage());
+        assertNotSame(producer.getMessage(error), producer.getMessage(error));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotPrecomputeClassesThatAreNotEnums() {
+        new PrecomputedMessageProducer(new SimpleMessageProducer()).precompute(LengthError.class);
+    }
+
+    @Test
+    public void shouldShareProducerForTheSameBundle() {
+        ResourceBundle bundle = new ResourceBundle() {
+            protected Object handleGetObject(String key) {
+                return "cpferror.invalid_digits".equals(key) ? "CPF inválido" : null;
+            }
+
+            public Enumeration<String> getKeys() {
+                return null;
+            }
+
+            public Locale getLocale() {
+                return Locale.getDefault();
+            }
+        };
+
+        PrecomputedMessageProducer producer = PrecomputedMessageProducer.forBundle(bundle);
+
+        assertSame(producer, PrecomputedMessageProducer.forBundle(bundle));
+        assertEquals("CPF inválido", producer.getMessage(CPFError.INVALID_DIGITS).getMessage());
+        assertEquals("cpferror : invalid format", producer.getMessage(CPFError.INVALID_FORMAT).getMessage());
+    }
+
+}
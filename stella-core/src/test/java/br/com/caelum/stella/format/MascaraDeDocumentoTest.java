@@ -0,0 +1,62 @@
+package br.com.caelum.stella.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MascaraDeDocumentoTest {
+
+    private final MascaraDeDocumento mascara = new MascaraDeDocumento("###.###.###-##");
+
+    @Test
+    public void shouldRecognizeFormattedValues() {
+        assertTrue(mascara.isFormatado("111.222.333-44"));
+        assertFalse(mascara.isFormatado("111.222.333.44"));
+        assertFalse(mascara.isFormatado("111.222.333-4"));
+        assertFalse(mascara.isFormatado("111.2a2.333-44"));
+    }
+
+    @Test
+    public void shouldRecognizeUnformattedValues() {
+        assertTrue(mascara.isDesformatado("11122233344"));
+        assertFalse(mascara.isDesformatado("111222333444"));
+        assertFalse(mascara.isDesformatado("111.222.333-44"));
+    }
+
+    @Test
+    public void shouldExtractDigitsOfFormattedValue() {
+        assertEquals("11122233344", mascara.extraiDigitos("111.222.333-44").toString());
+        assertNull(mascara.extraiDigitos("11122233344"));
+    }
+
+    @Test
+    public void shouldKeepOnlyDigits() {
+        String digitos = "11122233344";
+        assertSame(digitos, MascaraDeDocumento.apenasDigitos(digitos));
+        assertEquals("11122233344", MascaraDeDocumento.apenasDigitos("111.222.333-44"));
+        assertEquals("1234567890", MascaraDeDocumento.apenasDigitos("P-12345678.9/0"));
+        assertEquals("", MascaraDeDocumento.apenasDigitos("-./"));
+        assertEquals("", MascaraDeDocumento.apenasDigitos(""));
+    }
+
+    @Test
+    public void shouldFormatAndUnformat() {
+        assertEquals("111.222.333-44", mascara.formata("11122233344"));
+        assertEquals("11122233344", mascara.desformata("111.222.333-44"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenUnformattingInvalidValue() {
+        mascara.desformata("111.222.333.44");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenFormattingNull() {
+        mascara.formata(null);
+    }
+
+}
@@ -2,6 +2,10 @@ package br.com.caelum.stella.inwords;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
 import org.junit.Test;
 
 /**
@@ -215,4 +219,68 @@ public class RealNumericToWordsConverterTest {
                 + "novecentos e noventa e nove reais", words);
     }
 
+    @Test
+    public void shouldAppendWordsToStringBuilder() {
+        StringBuilder builder = new StringBuilder("Valor: ");
+        converter.toWords(1.65, builder).append("; ");
+        converter.toWords(1000000L, builder);
+        assertEquals("Valor: um real e sessenta e cinco centavos; um milhão de reais", builder.toString());
+    }
+
+    @Test
+    public void shouldAppendWordsToAppendable() throws IOException {
+        StringWriter writer = new StringWriter();
+        converter.toWords(1001L, (Appendable) writer);
+        assertEquals("um mil e um reais", writer.toString());
+    }
+
+    @Test
+    public void shouldTransformBigDecimalInWords() {
+        String words = converter.toWords(new BigDecimal("1234567.89"));
+        assertEquals("um milhão, duzentos e trinta e quatro mil e quinhentos e sessenta e sete reais"
+                + " e oitenta e nove centavos", words);
+    }
+
+    @Test
+    public void shouldRoundBigDecimalHalfEven() {
+        assertEquals("um real e doze centavos", converter.toWords(new BigDecimal("1.125")));
+        assertEquals("um real e quatorze centavos", converter.toWords(new BigDecimal("1.135")));
+    }
+
+    @Test
+    public void shouldUseRoundedBigDecimalForPlural() {
+        assertEquals("dois reais", converter.toWords(new BigDecimal("1.995")));
+        assertEquals("um real", converter.toWords(new BigDecimal("0.995")));
+    }
+
+    @Test
+    public void shouldTransformBigDecimalRoundedToZero() {
+        assertEquals("zero", converter.toWords(new BigDecimal("0.001")));
+        assertEquals("zero", converter.toWords(new BigDecimal("0.004000000000000000000001")));
+    }
+
+    @Test
+    public void shouldTransformBigDecimalBeyondLongPrecision() {
+        String words = converter.toWords(new BigDecimal("1000000000000000000000.01"));
+        assertEquals("um sextilhão de reais e um centavo", words);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotTransformNegativeBigDecimal() {
+        converter.toWords(new BigDecimal("-0.01"));
+    }
+
+    @Test
+    public void shouldTransformUnitsAndCentsInWords() {
+        assertEquals("zero", converter.toWords(0, 0));
+        assertEquals("cinco centavos", converter.toWords(0, 5));
+        assertEquals("um real e um centavo", converter.toWords(1, 1));
+        assertEquals("um bilhão de reais e noventa e nove centavos", converter.toWords(1000000000L, 99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotTransformCentsWithMoreDigitsThanTheFormat() {
+        converter.toWords(1, 100);
+    }
+
 }
@@ -0,0 +1,126 @@
+package br.com.caelum.stella.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.validation.error.CPFError;
+
+public class BatchValidatorTest {
+
+    private static final String VALID = "248.438.034-80";
+
+    private static final String INVALID = "248.438.034-70";
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldReportInvalidPositionsSequentially() {
+        BatchValidator<String> batch = new BatchValidator<String>(new CPFValidator());
+
+        BatchValidationResult result = batch.validateAll(VALID, INVALID, null, "248.438.03480");
+
+        assertEquals(4, result.size());
+        assertTrue(result.isValid(0));
+        assertEquals(CPFError.INVALID_CHECK_DIGITS, result.getInvalidValue(1));
+        assertNull(result.getInvalidValue(2));
+        assertEquals(CPFError.INVALID_FORMAT, result.getInvalidValue(3));
+        assertEquals(2, result.getInvalidCount());
+    }
+
+    @Test
+    public void shouldValidateInParallelKeepingPositions() {
+        List<String> values = new ArrayList<String>();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 10000; i++) {
+            if (i % 7 == 0) {
+                values.add(INVALID);
+                expected.set(i);
+            } else {
+                values.add(VALID);
+            }
+        }
+        BatchValidator<String> batch = new BatchValidator<String>(new CPFValidator(), executor, 2);
+
+        BatchValidationResult result = batch.validateAll(values);
+
+        assertEquals(expected, result.getInvalidPositions());
+        assertFalse(result.isValid(7));
+        assertTrue(result.getThroughput() > 0);
+    }
+
+    @Test
+    public void shouldKeepErrorsOnlyForInvalidPositions() {
+        BatchValidator<String> batch = new BatchValidator<String>(new CPFValidator());
+
+        BatchValidationResult result = batch.validateAll(INVALID, VALID, VALID, INVALID);
+
+        BitSet invalid = result.getInvalidPositions();
+        invalid.clear();
+        assertEquals(2, result.getInvalidPositions().cardinality());
+        assertEquals(CPFError.INVALID_CHECK_DIGITS, result.getInvalidValue(3));
+        assertNull(result.getInvalidValue(2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectPositionsOutsideTheBatch() {
+        new BatchValidator<String>(new CPFValidator()).validateAll(VALID).isValid(1);
+    }
+
+    @Test
+    public void shouldPropagateExceptionsThrownByTheValidator() {
+        List<String> values = new ArrayList<String>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(VALID);
+        }
+        values.add(FAILING);
+        try {
+            new BatchValidator<String>(new FailingValidator(), executor, 2).validateAll(values);
+            fail();
+        } catch (ValidationFailure e) {
+            assertEquals(FAILING, e.getMessage());
+        }
+    }
+
+    private static final String FAILING = "falha";
+
+    @SuppressWarnings("serial")
+    private static class ValidationFailure extends RuntimeException {
+        ValidationFailure(String message) {
+            super(message);
+        }
+    }
+
+    private static class FailingValidator extends CPFValidator {
+        @Override
+        public InvalidValue invalidValueFor(String value) {
+            if (FAILING.equals(value)) {
+                throw new ValidationFailure(value);
+            }
+            return super.invalidValueFor(value);
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package br.com.caelum.stella.validation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -317,4 +319,20 @@ public class CPFValidatorTest {
         mockery.assertIsSatisfied();
     }
 
+    @Test
+    public void shouldValidateWithoutGeneratingMessages() {
+        Mockery mockery = new Mockery();
+        final MessageProducer messageProducer = mockery.mock(MessageProducer.class);
+        CPFValidator validator = new CPFValidator(messageProducer, true);
+
+        assertTrue(validator.isValid(validString));
+        assertNull(validator.invalidValueFor(validString));
+        assertFalse(validator.isValid(firstCheckDigitWrong));
+        assertEquals(CPFError.INVALID_CHECK_DIGITS, validator.invalidValueFor(firstCheckDigitWrong));
+        assertEquals(CPFError.INVALID_FORMAT, validator.invalidValueFor("248.438.03480"));
+        assertTrue(validator.isValid(null));
+
+        mockery.assertIsSatisfied();
+    }
+
 }
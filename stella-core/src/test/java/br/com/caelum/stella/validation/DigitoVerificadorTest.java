@@ -0,0 +1,60 @@
+package br.com.caelum.stella.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import br.com.caelum.stella.validation.ie.IEConstraints;
+
+public class DigitoVerificadorTest {
+
+    private static final RotinaDeDV[] ROTINAS_RJ = { IEConstraints.Rotina.E, IEConstraints.Rotina.POS_IE };
+
+    private static final RotinaDeDV[] ROTINAS_SP = { IEConstraints.Rotina.D, IEConstraints.Rotina.POS_IE };
+
+    @Test
+    public void shouldValidateRJSampleWithLeftSideZeros() {
+        DigitoVerificador dv = new DigitoVerificador(0, ROTINAS_RJ, 11, IEConstraints.PESOS_P8, 14);
+        assertTrue(dv.isDVValid("00000080336012"));
+        assertTrue(dv.isDVValid("80336012", 14));
+        assertTrue(dv.isDVValid("84920045", 14));
+    }
+
+    @Test
+    public void shouldInvalidateRJSampleWithWrongCheckDigit() {
+        DigitoVerificador dv = new DigitoVerificador(0, ROTINAS_RJ, 11, IEConstraints.PESOS_P8, 14);
+        assertFalse(dv.isDVValid("00000080336013"));
+        assertFalse(dv.isDVValid("80336013", 14));
+        assertFalse(dv.isDVValid("84920048", 14));
+    }
+
+    @Test
+    public void shouldValidateBothSPCheckDigits() {
+        DigitoVerificador dvx = new DigitoVerificador(0, ROTINAS_SP, 11, IEConstraints.PESOS_P12, 11);
+        DigitoVerificador dvy = new DigitoVerificador(0, ROTINAS_SP, 11, IEConstraints.PESOS_P13, 14);
+        assertTrue(dvx.isDVValid("417032057114", 14));
+        assertTrue(dvy.isDVValid("417032057114", 14));
+        assertFalse(dvx.isDVValid("417032050114", 14));
+        assertFalse(dvy.isDVValid("417032057116", 14));
+    }
+
+    @Test
+    public void shouldCalculateCPFCheckDigits() {
+        RotinaDeDV[] rotinas = { new RotinaComumDeDigitoVerificador() };
+        DigitoVerificador dv1 = new DigitoVerificador(0, rotinas, 11, new int[] { 10, 9, 8, 7, 6, 5, 4, 3, 2 }, 10);
+        DigitoVerificador dv2 = new DigitoVerificador(0, rotinas, 11, new int[] { 11, 10, 9, 8, 7, 6, 5, 4, 3, 2 },
+                11);
+        assertEquals(4, dv1.calculaDV("88641577947", 0));
+        assertEquals(7, dv2.calculaDV("88641577947", 0));
+    }
+
+    @Test
+    public void shouldNotBeAffectedByChangesToTheWeightsArray() {
+        int[] pesos = IEConstraints.PESOS_P8.clone();
+        DigitoVerificador dv = new DigitoVerificador(0, ROTINAS_RJ, 11, pesos, 14);
+        pesos[0] = 100;
+        assertTrue(dv.isDVValid("80336012", 14));
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.caelum.stella.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import br.com.caelum.stella.SimpleValidationMessage;
+import br.com.caelum.stella.validation.ie.IEPernambucoValidator;
+
+public class InvalidStateExceptionTest {
+
+    @After
+    public void restoreStackTrace() {
+        InvalidStateException.setStackTraceEnabled(true);
+    }
+
+    @Test
+    public void shouldFillStackTraceByDefault() {
+        InvalidStateException exception = new InvalidStateException(new SimpleValidationMessage("message"));
+
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void shouldNotFillStackTraceWhenDisabled() {
+        InvalidStateException.setStackTraceEnabled(false);
+
+        try {
+            new CPFValidator().assertValid("248.438.034-70");
+            fail();
+        } catch (InvalidStateException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertEquals(1, e.getInvalidMessages().size());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionOfLastEligibleValidatorInComposedValidators() {
+        InvalidStateException.setStackTraceEnabled(false);
+
+        try {
+            new IEPernambucoValidator().assertValid("0321418-41");
+            fail();
+        } catch (InvalidStateException e) {
+            assertEquals(0, e.getStackTrace().length);
+            assertEquals("IEError : INVALID CHECK DIGITS", e.getInvalidMessages().get(0).getMessage());
+        }
+    }
+
+}
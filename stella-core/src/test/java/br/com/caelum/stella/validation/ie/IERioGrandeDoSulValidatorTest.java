@@ -47,6 +47,14 @@ public class IERioGrandeDoSulValidatorTest extends IEValidatorTest {
 		verify(messageProducer, times(2)).getMessage(IEError.INVALID_MUNICIPALITY);
 	}
 
+	@Test
+	public void shouldReportTheFirstListedErrorAsTheInvalidValue() {
+		Validator<String> validator = getValidator(messageProducer, false);
+
+		assertEquals(IEError.INVALID_MUNICIPALITY, validator.invalidValueFor("0003658791"));
+		assertEquals(IEError.INVALID_CHECK_DIGITS, validator.invalidValueFor("0003658792"));
+	}
+
 	@Override
 	protected Validator<String> getValidator(MessageProducer messageProducer, boolean isFormatted) {
 		return new IERioGrandeDoSulValidator(messageProducer, isFormatted);
@@ -0,0 +1,87 @@
+package br.com.caelum.stella.validation.ie;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import br.com.caelum.stella.SimpleMessageProducer;
+import br.com.caelum.stella.type.Estado;
+import br.com.caelum.stella.validation.Validator;
+
+public class IEValidatorRegistryTest {
+
+    @Test
+    public void shouldReuseValidatorForEqualMessageProducers() {
+        IEValidatorRegistry registry = new IEValidatorRegistry(4);
+        Validator<String> validator = registry.getValidator(Estado.SP, new SimpleMessageProducer(), true);
+
+        assertSame(validator, registry.getValidator(Estado.SP, new SimpleMessageProducer(), true));
+        assertTrue(validator instanceof IESaoPauloValidator);
+        assertTrue(validator.isValid("P-01100424.3/002"));
+    }
+
+    @Test
+    public void shouldKeepOneValidatorPerEstadoAndFormat() {
+        IEValidatorRegistry registry = new IEValidatorRegistry(4);
+        SimpleMessageProducer messageProducer = new SimpleMessageProducer();
+
+        assertNotSame(registry.getValidator(Estado.SP, messageProducer, true),
+                registry.getValidator(Estado.SP, messageProducer, false));
+        assertNotSame(registry.getValidator(Estado.SP, messageProducer, true),
+                registry.getValidator(Estado.RJ, messageProducer, true));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void shouldDiscardMessageProducersBeyondMaximumSize() {
+        IEValidatorRegistry registry = new IEValidatorRegistry(1);
+        SimpleMessageProducer messageProducer = new SimpleMessageProducer();
+        Validator<String> validator = registry.getValidator(Estado.PE, messageProducer, true);
+
+        registry.getValidator(Estado.PE, new SimpleMessageProducer() {
+        }, true);
+
+        assertEquals(1, registry.size());
+        assertNotSame(validator, registry.getValidator(Estado.PE, messageProducer, true));
+    }
+
+    @Test
+    public void shouldReturnTheSameValidatorUnderConcurrentAccess() throws Exception {
+        final IEValidatorRegistry registry = new IEValidatorRegistry(4);
+        final SimpleMessageProducer messageProducer = new SimpleMessageProducer();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Validator<String>>> futures = new ArrayList<Future<Validator<String>>>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(new Callable<Validator<String>>() {
+                    public Validator<String> call() {
+                        return registry.getValidator(Estado.MG, messageProducer, true);
+                    }
+                }));
+            }
+            Validator<String> validator = futures.get(0).get();
+            for (Future<Validator<String>> future : futures) {
+                assertSame(validator, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, registry.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNonPositiveMaximumSize() {
+        new IEValidatorRegistry(0);
+    }
+
+}
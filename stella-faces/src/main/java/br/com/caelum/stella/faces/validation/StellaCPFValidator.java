@@ -11,10 +11,9 @@ import javax.faces.validator.FacesValidator;
 import javax.faces.validator.Validator;
 import javax.faces.validator.ValidatorException;
 
-import br.com.caelum.stella.ResourceBundleMessageProducer;
+import br.com.caelum.stella.PrecomputedMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
 import br.com.caelum.stella.validation.CPFValidator;
-import br.com.caelum.stella.validation.InvalidStateException;
 
 /**
  * Caso ocorra algum erro de validação, todas as mensagens serão enfileiradas no
@@ -58,13 +57,12 @@ public class StellaCPFValidator implements Validator, StateHolder {
 
     public void validate(FacesContext facesContext, UIComponent uiComponent, Object value) throws ValidatorException {
         ResourceBundle bundle = resourceBundleFinder.getForCurrentLocale(facesContext);
-        ResourceBundleMessageProducer producer = new ResourceBundleMessageProducer(bundle);
+        PrecomputedMessageProducer producer = PrecomputedMessageProducer.forBundle(bundle);
         CPFValidator validator = new CPFValidator(producer, formatted);
 
-        try {
-            validator.assertValid(value.toString());
-        } catch (InvalidStateException e) {
-            List<ValidationMessage> messages = e.getInvalidMessages();
+        String documento = value.toString();
+        if (!validator.isValid(documento)) {
+            List<ValidationMessage> messages = validator.invalidMessagesFor(documento);
             String firstErrorMessage = messages.remove(0).getMessage();
             registerAllMessages(facesContext, uiComponent, messages);
             throw new ValidatorException(new FacesMessage(firstErrorMessage));
@@ -13,12 +13,12 @@ import javax.faces.validator.FacesValidator;
 import javax.faces.validator.Validator;
 import javax.faces.validator.ValidatorException;
 
-import br.com.caelum.stella.ResourceBundleMessageProducer;
+import br.com.caelum.stella.PrecomputedMessageProducer;
 import br.com.caelum.stella.ValidationMessage;
 import br.com.caelum.stella.type.Estado;
-import br.com.caelum.stella.validation.InvalidStateException;
 import br.com.caelum.stella.validation.RejectAllValidator;
 import br.com.caelum.stella.validation.error.IEError;
+import br.com.caelum.stella.validation.ie.IEValidatorRegistry;
 
 /**
  * Caso ocorra algum erro de validação, todas as mensagens serão enfileiradas no
@@ -50,26 +50,26 @@ public class StellaIEValidator implements Validator, StateHolder {
             throws ValidatorException {
 
         ResourceBundle bundle = resourceBundleFinder.getForCurrentLocale(facesContext);
-        ResourceBundleMessageProducer producer = new ResourceBundleMessageProducer(bundle);
+        PrecomputedMessageProducer producer = PrecomputedMessageProducer.forBundle(bundle);
+        br.com.caelum.stella.validation.Validator<String> validator;
         try {
-            br.com.caelum.stella.validation.Validator<String> validator;
-            try {
-                String estadoValue;
-                if (estado == null) {
-                    ValueHolder estadoValueHolder = (ValueHolder) facesContext.getViewRoot().findComponent(
-                            estadoComponentId);
-                    estadoValue = estadoValueHolder.getValue().toString();
-                } else {
-                    estadoValue = estado;
-                }
-
-                validator = Estado.valueOf(estadoValue).getIEValidator(producer, formatted);
-            } catch (Exception ex) {
-                validator = new RejectAllValidator<String>(producer, IEError.UNDEFINED_STATE);
+            String estadoValue;
+            if (estado == null) {
+                ValueHolder estadoValueHolder = (ValueHolder) facesContext.getViewRoot().findComponent(
+                        estadoComponentId);
+                estadoValue = estadoValueHolder.getValue().toString();
+            } else {
+                estadoValue = estado;
             }
-            validator.assertValid(value.toString());
-        } catch (InvalidStateException e) {
-            List<ValidationMessage> messages = e.getInvalidMessages();
+
+            validator = IEValidatorRegistry.getInstance().getValidator(Estado.valueOf(estadoValue), producer,
+                    formatted);
+        } catch (Exception ex) {
+            validator = new RejectAllValidator<String>(producer, IEError.UNDEFINED_STATE);
+        }
+        String ie = value.toString();
+        if (!validator.isValid(ie)) {
+            List<ValidationMessage> messages = validator.invalidMessagesFor(ie);
             String firstErrorMessage = messages.get(0).getMessage();
             registerAllMessages(facesContext, uiComponent, messages.subList(1, messages.size()));
             throw new ValidatorException(new FacesMessage(firstErrorMessage));
@@ -1,5 +1,7 @@
 package br.com.caelum.stella.nfe.builder.impl;
 
+import java.io.OutputStream;
+
 import net.vidageek.fluid.proxy.ObjectCreator;
 import br.com.caelum.stella.nfe.builder.NFeWebServiceWrapper;
 import br.com.caelum.stella.nfe.fluid.Cabecalho;
@@ -41,4 +43,15 @@ final public class NFeWebServiceWrapperImpl<T> implements NFeWebServiceWrapper<T
         return new NFeXmlAssembler(wsType).assembly(((ObjectCreator) cabecalho).getInstance(), ((ObjectCreator) body)
             .getInstance());
     }
+
+    /**
+     * Escreve a mensagem em UTF-8 no stream, sem montar a String do xml. O
+     * stream não é fechado.
+     *
+     * @param out
+     */
+    public void writeXml(final OutputStream out) {
+        new NFeXmlAssembler(wsType).assembly(((ObjectCreator) cabecalho).getInstance(), ((ObjectCreator) body)
+            .getInstance(), out);
+    }
 }
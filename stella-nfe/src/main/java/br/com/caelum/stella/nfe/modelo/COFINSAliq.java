@@ -16,7 +16,8 @@ import net.vidageek.fluid.annotations.FluidDataType;
 import net.vidageek.fluid.annotations.FluidName;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "COFINSAliq ", propOrder = { "cst", "vbc", "pcofins", "vcofins" })
+@XmlType(name = "COFINSAliq ", propOrder = { "codigoSituacaoTributaria", "valorDaBaseDeCalculo", "aliquotaEmPercentual",
+        "valor" })
 @FluidName("COFINSTributadoPelaAliquota")
 public class COFINSAliq {
 
@@ -13,7 +13,7 @@ import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import net.vidageek.fluid.annotations.FluidName;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "COFINSNT ", propOrder = { "cst" })
+@XmlType(name = "COFINSNT ", propOrder = { "codigoSituacaoTributaria" })
 @FluidName("COFINSNaoTributado")
 public class COFINSNT {
 
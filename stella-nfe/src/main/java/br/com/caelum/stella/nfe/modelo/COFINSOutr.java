@@ -16,7 +16,8 @@ import net.vidageek.fluid.annotations.FluidDataType;
 import net.vidageek.fluid.annotations.FluidName;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "COFINSOutr ", propOrder = { "cst", "vbc", "pcofins", "qbcProd", "vAliqProd", "vcofins" })
+@XmlType(name = "COFINSOutr ", propOrder = { "codigoSituacaoTributaria", "valorDaBaseDeCalculo", "aliquotaEmPercentual",
+        "quantidadeVendida", "aliquota", "valor" })
 @FluidName("COFINSOutrasOperacoes")
 public class COFINSOutr {
 
@@ -16,7 +16,7 @@ import net.vidageek.fluid.annotations.FluidDataType;
 import net.vidageek.fluid.annotations.FluidName;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "COFINSQtde ", propOrder = { "cst", "qbcProd", "vAliqProd", "vcofins" })
+@XmlType(name = "COFINSQtde ", propOrder = { "codigoSituacaoTributaria", "quantidadeVendida", "aliquota", "valor" })
 @FluidName("COFINSTributadoPelaQuantidade")
 public class COFINSQtde {
 
@@ -14,7 +14,8 @@ import net.vidageek.fluid.annotations.FluidDataType;
 import net.vidageek.fluid.annotations.FluidName;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "COFINSST ", propOrder = { "vbc", "pcofins", "qbcProd", "vAliqProd", "vcofins" })
+@XmlType(name = "COFINSST ", propOrder = { "valorDaBaseDeCalculo", "aliquotaEmPercentual", "quantidadeVendida",
+        "aliquota", "valor" })
 @FluidName("COFINSSubstituicaoTributaria")
 public class COFINSST {
 
@@ -11,7 +11,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS00 ", propOrder = { "orig", "cst", "modBC", "vbc", "picms", "vicms" })
+@XmlType(name = "ICMS00 ", propOrder = { "origem", "tipoTributacao", "modalidadeBaseCalculo", "valorDaBaseDeCalculo",
+        "aliquota", "valor" })
 public class ICMS00 {
 
     @XmlElement(name = "orig", required = true)
@@ -22,7 +23,7 @@ public class ICMS00 {
     @XmlJavaTypeAdapter(CollapsedStringAdapter.class)
     protected String tipoTributacao;
 
-    @XmlElement(name = "", required = true)
+    @XmlElement(name = "modBC", required = true)
     @XmlJavaTypeAdapter(CollapsedStringAdapter.class)
     protected String modalidadeBaseCalculo;
 
@@ -11,8 +11,10 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS10 ", propOrder = { "orig", "cst", "modBC", "vbc", "picms", "vicms", "modBCST", "pmvast",
-        "pRedBCST", "vbcst", "picmsst", "vicmsst" })
+@XmlType(name = "ICMS10 ", propOrder = { "origem", "tipoTributacao", "modalidadeBaseCalculo", "valorDaBaseDeCalculo",
+        "aliquota", "valor", "modalidadeSubstituicaoTributaria", "percentualAdicionadoSubstituicaoTributaria",
+        "percentualReducaoBaseCalculo", "valorDaBaseDeCalculoSubstituicaoTributaria", "aliquotaSubstituicaoTributaria",
+        "valorSubstituicaoTributaria" })
 public class ICMS10 {
 
     @XmlElement(name = "orig", required = true)
@@ -11,7 +11,9 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS30 ", propOrder = { "orig", "cst", "modBCST", "pmvast", "pRedBCST", "vbcst", "picmsst", "vicmsst" })
+@XmlType(name = "ICMS30 ", propOrder = { "origem", "tipoTributacao", "modalidadeSubstituicaoTributaria",
+        "percentualAdicionadoSubstituicaoTributaria", "percentualReducaoSubstituicaoTributaria",
+        "valorDaBaseDeCalculoSubstituicaoTributaria", "aliquotaSubstituicaoTributaria", "valorSubstituicaoTributaria" })
 public class ICMS30 {
 
     @XmlElement(name = "orig", required = true)
@@ -11,7 +11,7 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS40 ", propOrder = { "orig", "cst" })
+@XmlType(name = "ICMS40 ", propOrder = { "origem", "tipoTributacao" })
 public class ICMS40 {
 
     @XmlElement(name = "orig", required = true)
@@ -11,7 +11,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS51 ", propOrder = { "orig", "cst", "modBC", "pRedBC", "vbc", "picms", "vicms" })
+@XmlType(name = "ICMS51 ", propOrder = { "origem", "tipoTributacao", "modalidadeBaseCalculo",
+        "percentualReducaoBaseCalculo", "valorDaBaseDeCalculo", "aliquota", "valor" })
 public class ICMS51 {
 
     @XmlElement(name = "orig", required = true)
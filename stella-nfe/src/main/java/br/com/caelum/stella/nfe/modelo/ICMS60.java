@@ -11,7 +11,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS60 ", propOrder = { "orig", "cst", "vbcst", "vicmsst" })
+@XmlType(name = "ICMS60 ", propOrder = { "origem", "tipoTributacao", "valorDaBaseDeCalculoSubstituicaoTributaria",
+        "valorSubstituicaoTributaria" })
 public class ICMS60 {
 
     @XmlElement(name = "orig", required = true)
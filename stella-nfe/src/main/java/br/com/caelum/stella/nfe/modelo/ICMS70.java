@@ -11,8 +11,10 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS70 ", propOrder = { "orig", "cst", "modBC", "pRedBC", "vbc", "picms", "vicms", "modBCST",
-        "pmvast", "pRedBCST", "vbcst", "picmsst", "vicmsst" })
+@XmlType(name = "ICMS70 ", propOrder = { "origem", "tipoTributacao", "modalidadeBaseCalculo",
+        "percentualReducaoBaseCalculo", "valorDaBaseDeCalculo", "aliquota", "valor", "modalidadeSubstituicaoTributaria",
+        "percentualAdicionadoSubstituicaoTributaria", "percentualReducaoSubstituicaoTributaria",
+        "valorDaBaseDeCalculoSubstituicaoTributaria", "aliquotaSubstituicaoTributaria", "valorSubstituicaoTributaria" })
 public class ICMS70 {
 
     @XmlElement(name = "orig", required = true)
@@ -11,8 +11,10 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ICMS90 ", propOrder = { "orig", "cst", "modBC", "vbc", "pRedBC", "picms", "vicms", "modBCST",
-        "pmvast", "pRedBCST", "vbcst", "picmsst", "vicmsst" })
+@XmlType(name = "ICMS90 ", propOrder = { "origem", "tipoTributacao", "modalidadeBaseCalculo", "valorDaBaseDeCalculo",
+        "percentualReducaoBaseCalculo", "aliquota", "valor", "modalidadeSubstituicaoTributaria",
+        "percentualAdicionadoSubstituicaoTributaria", "percentualReducaoSubstituicaoTributaria",
+        "valorDaBaseDeCalculoSubstituicaoTributaria", "aliquotaSubstituicaoTributaria", "valorSubstituicaoTributaria" })
 public class ICMS90 {
 
     @XmlElement(name = "orig", required = true)
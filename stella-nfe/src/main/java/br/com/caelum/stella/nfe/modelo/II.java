@@ -9,7 +9,8 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "II ", propOrder = { "vbc", "vDespAdu", "vii", "viof" })
+@XmlType(name = "II ", propOrder = { "valorDaBaseDeCalculo", "valorDespesaAduaneira", "valorImpostoImportacao",
+        "valorImpostoSobreOperacoesFinanceiras" })
 public class II {
 
     @XmlElement(name = "vBC", required = true)
@@ -11,7 +11,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "IPI ", propOrder = { "clEnq", "cnpjProd", "cSelo", "qSelo", "cEnq", "ipiTrib", "ipint" })
+@XmlType(name = "IPI ", propOrder = { "classeEnquadramento", "cnpjProdutor", "codigoSelo", "quantidadeSelo",
+        "codigoEnquadramento", "ipiTributacao", "ipint" })
 public class IPI {
 
     @XmlElement(name = "clEnq")
@@ -11,7 +11,7 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "IPINT ", propOrder = { "cst" })
+@XmlType(name = "IPINT ", propOrder = { "codigoSituacaoTributaria" })
 public class IPINT {
 
     @XmlElement(name = "CST", required = true)
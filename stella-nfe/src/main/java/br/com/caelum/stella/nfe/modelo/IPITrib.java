@@ -8,7 +8,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "IPITrib ", propOrder = { "cst", "vbc", "pipi", "qUnid", "vUnid", "vipi" })
+@XmlType(name = "IPITrib ", propOrder = { "codigoSituacaoTributaria", "valorDaBaseDeCalculo", "aliquotaIPI",
+        "quantidade", "valorUnidade", "valorIPI" })
 public class IPITrib {
 
     @XmlElement(name = "CST", required = true)
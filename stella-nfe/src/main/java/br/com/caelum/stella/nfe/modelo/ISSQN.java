@@ -11,7 +11,8 @@ import javax.xml.bind.annotation.adapters.CollapsedStringAdapter;
 import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 @XmlAccessorType(XmlAccessType.FIELD)
-@XmlType(name = "ISSQN ", propOrder = { "vbc", "vAliq", "vissqn", "cMunFG", "cListServ" })
+@XmlType(name = "ISSQN ", propOrder = { "valorDaBaseDeCalculo", "aliquota", "valorISSQN", "codigoMunicipio",
+        "codigoListaServicos" })
 public class ISSQN {
 
     @XmlElement(name = "vBC", required = true)
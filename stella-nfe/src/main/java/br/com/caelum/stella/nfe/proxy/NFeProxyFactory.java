@@ -2,6 +2,8 @@ package br.com.caelum.stella.nfe.proxy;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
 
 import net.vidageek.fluid.proxy.FluidProxyCreator;
 import net.vidageek.fluid.proxy.converter.DataConverterManager;
@@ -13,20 +15,54 @@ import br.com.caelum.stella.tinytype.CNPJ;
 import br.com.caelum.stella.tinytype.CPF;
 
 /**
+ * Cria os proxies dos builders fluentes. Cada thread tem o seu
+ * DataConverterManager, com os conversores registrados uma única vez, e um
+ * FluidProxyCreator por tipo, criado no primeiro pedido e reaproveitado nos
+ * seguintes. Assim nenhum objeto do fluid é usado por duas threads ao mesmo
+ * tempo.
+ *
  * @author jonasabreu
- * 
+ *
  */
 final public class NFeProxyFactory {
 
-    public <T> T createProxyFor(final Class<T> type, final Object parent) {
-        DataConverterManager manager = new DataConverterManager();
-        manager.registerConverter(Calendar.class, String.class, new CalendarToStringConverter());
-        manager.registerConverter(CPF.class, String.class, new CPFToStringConverter());
-        manager.registerConverter(CNPJ.class, String.class, new CNPJToStringConverter());
+    private static final ThreadLocal<Creators> creators = new ThreadLocal<Creators>() {
+        @Override
+        protected Creators initialValue() {
+            return new Creators();
+        }
+    };
 
-        Object proxy = new FluidProxyCreator(type, new ArrayList<MethodHandler>(), manager).createProxy(parent);
+    public <T> T createProxyFor(final Class<T> type, final Object parent) {
+        Object proxy = creatorFor(type).createProxy(parent);
 
         return type.cast(proxy);
     }
 
+    static FluidProxyCreator creatorFor(final Class<?> type) {
+        return creators.get().creatorFor(type);
+    }
+
+    private static final class Creators {
+
+        private final DataConverterManager manager = new DataConverterManager();
+
+        private final Map<Class<?>, FluidProxyCreator> porTipo = new HashMap<Class<?>, FluidProxyCreator>();
+
+        Creators() {
+            manager.registerConverter(Calendar.class, String.class, new CalendarToStringConverter());
+            manager.registerConverter(CPF.class, String.class, new CPFToStringConverter());
+            manager.registerConverter(CNPJ.class, String.class, new CNPJToStringConverter());
+        }
+
+        FluidProxyCreator creatorFor(final Class<?> type) {
+            FluidProxyCreator creator = porTipo.get(type);
+            if (creator == null) {
+                creator = new FluidProxyCreator(type, new ArrayList<MethodHandler>(), manager);
+                porTipo.put(type, creator);
+            }
+            return creator;
+        }
+    }
+
 }
@@ -1,79 +1,316 @@
 package br.com.caelum.stella.nfe.xml;
 
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
+/**
+ * XmlBinder baseado em JAXB. Cada JAXBContext é criado uma única vez por
+ * classe, mesmo com várias threads pedindo o mesmo contexto ao mesmo tempo, e
+ * os Marshallers e Unmarshallers, que não são thread-safe, são devolvidos a um
+ * pool por classe depois de usados. Os contadores de acertos e falhas desses
+ * caches são compartilhados por todas as instâncias.
+ * <p>
+ * O xml é gerado indentado, ou compacto, sem nenhum espaço em branco entre os
+ * elementos, quando criado com {@link #compacto()}. O formato compacto é o
+ * usado na transmissão para a SEFAZ: é menor e não tem espaços dentro do
+ * <code>infNFe</code> assinado.
+ * </p>
+ */
 public final class JAXBXmlBinder implements XmlBinder {
 
-    private static final Map<Class<?>, JAXBContext> contextCache = new ConcurrentHashMap<Class<?>, JAXBContext>();
+    /**
+     * Quantidade máxima de Marshallers, e de Unmarshallers, ociosos mantidos
+     * por classe.
+     */
+    public static final int POOL_SIZE = 16;
+
+    private static final ConcurrentMap<Class<?>, FutureTask<JAXBContext>> contextCache = new ConcurrentHashMap<Class<?>, FutureTask<JAXBContext>>();
+
+    private static final ConcurrentMap<Class<?>, Pool<Marshaller>> marshallers = new ConcurrentHashMap<Class<?>, Pool<Marshaller>>();
+
+    private static final ConcurrentMap<Class<?>, Pool<Unmarshaller>> unmarshallers = new ConcurrentHashMap<Class<?>, Pool<Unmarshaller>>();
+
+    private static final AtomicLong contextHits = new AtomicLong();
+
+    private static final AtomicLong contextMisses = new AtomicLong();
+
+    private static final AtomicLong marshallerHits = new AtomicLong();
+
+    private static final AtomicLong marshallerMisses = new AtomicLong();
+
+    private static final AtomicLong unmarshallerHits = new AtomicLong();
+
+    private static final AtomicLong unmarshallerMisses = new AtomicLong();
+
+    private final boolean formatado;
+
+    /**
+     * Cria um binder que gera o xml indentado.
+     */
+    public JAXBXmlBinder() {
+        this(true);
+    }
+
+    private JAXBXmlBinder(final boolean formatado) {
+        this.formatado = formatado;
+    }
+
+    /**
+     * @return um binder que gera o xml sem espaços em branco entre os
+     *         elementos.
+     */
+    public static JAXBXmlBinder compacto() {
+        return new JAXBXmlBinder(false);
+    }
+
+    private static JAXBContext getContext(final Class<?> clazz) {
+        FutureTask<JAXBContext> task = contextCache.get(clazz);
+        if (task == null) {
+            FutureTask<JAXBContext> newTask = new FutureTask<JAXBContext>(new Callable<JAXBContext>() {
+                public JAXBContext call() throws JAXBException {
+                    return JAXBContext.newInstance(clazz);
+                }
+            });
+            task = contextCache.putIfAbsent(clazz, newTask);
+            if (task == null) {
+                task = newTask;
+                contextMisses.incrementAndGet();
+                newTask.run();
+            } else {
+                contextHits.incrementAndGet();
+            }
+        } else {
+            contextHits.incrementAndGet();
+        }
 
-    private Marshaller getMarshaller(final Class<?> clazz) {
-        createContext(clazz);
-        final JAXBContext context = contextCache.get(clazz);
         try {
-            final Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
-            return marshaller;
-        } catch (final JAXBException e) {
-            // É possivel que o contexto seja corrompido nessa exceção
-            contextCache.remove(clazz);
-            createContext(clazz);
-            throw new RuntimeException("Erro ao criar Marshaller para classe " + clazz.getName(), e);
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido ao criar JAXB context para classe " + clazz.getName(), e);
+        } catch (final ExecutionException e) {
+            // permite uma nova tentativa na proxima chamada
+            contextCache.remove(clazz, task);
+            throw new RuntimeException("Erro ao criar JAXB context para classe " + clazz.getName(), e.getCause());
         }
     }
 
-    private void createContext(final Class<?> clazz) {
-        if (!JAXBXmlBinder.contextCache.containsKey(clazz)) {
-            try {
-                final JAXBContext context = JAXBContext.newInstance(clazz);
-                contextCache.put(clazz, context);
-            } catch (final JAXBException e) {
-                throw new RuntimeException("Erro ao criar JAXB context para classe " + clazz.getName(), e);
+    private static <T> Pool<T> poolFor(final ConcurrentMap<Class<?>, Pool<T>> pools, final Class<?> clazz) {
+        Pool<T> pool = pools.get(clazz);
+        if (pool == null) {
+            Pool<T> newPool = new Pool<T>();
+            pool = pools.putIfAbsent(clazz, newPool);
+            if (pool == null) {
+                pool = newPool;
             }
         }
+        return pool;
     }
 
-    private Unmarshaller getUnmarshaller(final Class<?> clazz) {
-        createContext(clazz);
-        JAXBContext context = contextCache.get(clazz);
+    private Marshaller getMarshaller(final Class<?> clazz) {
+        Marshaller marshaller = poolFor(marshallers, clazz).take();
+        try {
+            if (marshaller != null) {
+                marshallerHits.incrementAndGet();
+            } else {
+                marshallerMisses.incrementAndGet();
+                marshaller = getContext(clazz).createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            }
+            // o pool e compartilhado por binders indentados e compactos
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatado);
+            return marshaller;
+        } catch (final JAXBException e) {
+            throw new RuntimeException("Erro ao criar Marshaller para classe " + clazz.getName(), e);
+        }
+    }
 
+    private Unmarshaller getUnmarshaller(final Class<?> clazz) {
+        Unmarshaller unmarshaller = poolFor(unmarshallers, clazz).take();
+        if (unmarshaller != null) {
+            unmarshallerHits.incrementAndGet();
+            return unmarshaller;
+        }
+        unmarshallerMisses.incrementAndGet();
         try {
-            context = JAXBContext.newInstance(clazz);
-            return context.createUnmarshaller();
+            return getContext(clazz).createUnmarshaller();
         } catch (final JAXBException e) {
-            // É possivel que o contexto seja corrompido nessa exceção
-            contextCache.remove(clazz);
-            createContext(clazz);
             throw new RuntimeException("Erro ao criar Unmarshaller para classe " + clazz.getName(), e);
         }
     }
 
     @SuppressWarnings("unchecked")
     public <T> T unmarshal(final Class<T> contextClazz, final String toUnmarshal) {
+        Unmarshaller unmarshaller = getUnmarshaller(contextClazz);
+        T result;
+        try {
+            result = (T) unmarshaller.unmarshal(new StringReader(toUnmarshal));
+        } catch (final JAXBException e) {
+            // o unmarshaller pode ter ficado num estado inconsistente e nao volta ao pool
+            throw new RuntimeException("Erro ao fazer unmarshal com contexto " + contextClazz, e);
+        }
+        poolFor(unmarshallers, contextClazz).release(unmarshaller);
+        return result;
+    }
+
+    /**
+     * Lê apenas o elemento em que o reader está posicionado, deixando o reader
+     * logo depois do seu fim. Permite percorrer documentos grandes sem
+     * carregá-los inteiros.
+     *
+     * @param contextClazz
+     * @param reader
+     *            posicionado no início de um elemento
+     */
+    public <T> T unmarshal(final Class<T> contextClazz, final XMLStreamReader reader) {
+        Unmarshaller unmarshaller = getUnmarshaller(contextClazz);
+        T result;
         try {
-            return (T) getUnmarshaller(contextClazz).unmarshal(new StringReader(toUnmarshal));
+            result = unmarshaller.unmarshal(reader, contextClazz).getValue();
         } catch (final JAXBException e) {
             throw new RuntimeException("Erro ao fazer unmarshal com contexto " + contextClazz, e);
         }
+        poolFor(unmarshallers, contextClazz).release(unmarshaller);
+        return result;
     }
 
-    public String marshal(Object toMarshal) {
+    public String marshal(final Object toMarshal) {
+        Class<?> clazz = toMarshal.getClass();
+        Marshaller marshaller = getMarshaller(clazz);
         Writer writer = new StringWriter();
         try {
-            getMarshaller(toMarshal.getClass()).marshal(toMarshal, writer);
+            marshaller.marshal(toMarshal, writer);
         } catch (JAXBException e) {
-            throw new RuntimeException("", e);
+            throw new RuntimeException("Erro ao fazer marshal de " + clazz.getName(), e);
         }
+        poolFor(marshallers, clazz).release(marshaller);
         return writer.toString();
     }
 
+    /**
+     * Escreve o xml do objeto em UTF-8 diretamente no stream, que não é
+     * fechado.
+     *
+     * @param toMarshal
+     * @param out
+     */
+    public void marshal(final Object toMarshal, final OutputStream out) {
+        Class<?> clazz = toMarshal.getClass();
+        Marshaller marshaller = getMarshaller(clazz);
+        try {
+            marshaller.marshal(toMarshal, out);
+        } catch (JAXBException e) {
+            throw new RuntimeException("Erro ao fazer marshal de " + clazz.getName(), e);
+        }
+        poolFor(marshallers, clazz).release(marshaller);
+    }
+
+    /**
+     * Escreve o objeto como um fragmento, sem declaração XML, na posição
+     * corrente do writer. Permite montar um documento com vários objetos em
+     * uma única passada.
+     *
+     * @param toMarshal
+     * @param writer
+     */
+    public void marshal(final Object toMarshal, final XMLStreamWriter writer) {
+        Class<?> clazz = toMarshal.getClass();
+        Marshaller marshaller = getMarshaller(clazz);
+        try {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            marshaller.marshal(toMarshal, writer);
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, false);
+        } catch (JAXBException e) {
+            throw new RuntimeException("Erro ao fazer marshal de " + clazz.getName(), e);
+        }
+        poolFor(marshallers, clazz).release(marshaller);
+    }
+
+    /**
+     * @return quantas vezes um JAXBContext já criado foi reaproveitado.
+     */
+    public static long getContextHits() {
+        return contextHits.get();
+    }
+
+    /**
+     * @return quantos JAXBContext foram criados.
+     */
+    public static long getContextMisses() {
+        return contextMisses.get();
+    }
+
+    /**
+     * @return quantas vezes um Marshaller foi reaproveitado do pool.
+     */
+    public static long getMarshallerHits() {
+        return marshallerHits.get();
+    }
+
+    /**
+     * @return quantos Marshallers foram criados.
+     */
+    public static long getMarshallerMisses() {
+        return marshallerMisses.get();
+    }
+
+    /**
+     * @return quantas vezes um Unmarshaller foi reaproveitado do pool.
+     */
+    public static long getUnmarshallerHits() {
+        return unmarshallerHits.get();
+    }
+
+    /**
+     * @return quantos Unmarshallers foram criados.
+     */
+    public static long getUnmarshallerMisses() {
+        return unmarshallerMisses.get();
+    }
+
+    /**
+     * Fila limitada de objetos ociosos. Quando cheia, os objetos devolvidos são
+     * descartados.
+     */
+    private static final class Pool<T> {
+
+        private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        T take() {
+            T item = idle.poll();
+            if (item != null) {
+                size.decrementAndGet();
+            }
+            return item;
+        }
+
+        void release(final T item) {
+            if (size.incrementAndGet() <= POOL_SIZE) {
+                idle.offer(item);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+
 }
@@ -0,0 +1,194 @@
+package br.com.caelum.stella.nfe.xml;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import br.com.caelum.stella.nfe.modelo.Det;
+import br.com.caelum.stella.nfe.modelo.TNFe;
+
+/**
+ * <p>
+ * Percorre um XML da NF-e devolvendo, um de cada vez, os elementos de um tipo,
+ * como as notas de um lote (<code>TEnviNFe</code>), de um
+ * <code>nfeProc</code> ou os itens (<code>det</code>) das notas. O documento é
+ * lido com StAX e apenas o elemento corrente é transformado em objeto, então a
+ * memória usada não depende do tamanho do arquivo.
+ * </p>
+ * <p>
+ * O reader deve ser fechado ao final; ele se fecha sozinho quando o documento
+ * termina. Os streams abertos a partir de um {@link File} são fechados junto.
+ * </p>
+ *
+ * <pre>
+ * NFeStreamReader&lt;TNFe&gt; notas = NFeStreamReader.notas(new File(&quot;lote.xml&quot;));
+ * try {
+ *     while (notas.hasNext()) {
+ *         indexa(notas.next());
+ *     }
+ * } finally {
+ *     notas.close();
+ * }
+ * </pre>
+ */
+public final class NFeStreamReader<T> implements Iterator<T>, Closeable {
+
+    public static final String NAMESPACE = "http://www.portalfiscal.inf.br/nfe";
+
+    private static final QName NFE = new QName(NAMESPACE, "NFe");
+
+    private static final QName DET = new QName(NAMESPACE, "det");
+
+    private static final XMLInputFactory factory = newFactory();
+
+    private final JAXBXmlBinder binder = new JAXBXmlBinder();
+
+    private final Class<T> tipo;
+
+    private final QName elemento;
+
+    private final XMLStreamReader reader;
+
+    private final InputStream stream;
+
+    private T proximo;
+
+    private boolean fechado;
+
+    /**
+     * @param input
+     *            documento, que só é fechado pelo reader se
+     *            <code>fecharStream</code> for verdadeiro
+     * @param elemento
+     *            nome dos elementos devolvidos, em qualquer nível do documento
+     * @param tipo
+     *            classe em que cada elemento é transformado
+     * @param fecharStream
+     */
+    public NFeStreamReader(final InputStream input, final QName elemento, final Class<T> tipo,
+            final boolean fecharStream) {
+        this.tipo = tipo;
+        this.elemento = elemento;
+        this.stream = fecharStream ? input : null;
+        try {
+            this.reader = factory.createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Erro ao abrir o xml", e);
+        }
+    }
+
+    /**
+     * Notas de um lote ou de um <code>nfeProc</code>. O stream não é fechado.
+     */
+    public static NFeStreamReader<TNFe> notas(final InputStream input) {
+        return new NFeStreamReader<TNFe>(input, NFE, TNFe.class, false);
+    }
+
+    /**
+     * Notas de um arquivo de lote ou de um <code>nfeProc</code>.
+     */
+    public static NFeStreamReader<TNFe> notas(final File arquivo) throws FileNotFoundException {
+        return new NFeStreamReader<TNFe>(abre(arquivo), NFE, TNFe.class, true);
+    }
+
+    /**
+     * Itens de todas as notas do documento. O stream não é fechado.
+     */
+    public static NFeStreamReader<Det> itens(final InputStream input) {
+        return new NFeStreamReader<Det>(input, DET, Det.class, false);
+    }
+
+    /**
+     * Itens de todas as notas do arquivo.
+     */
+    public static NFeStreamReader<Det> itens(final File arquivo) throws FileNotFoundException {
+        return new NFeStreamReader<Det>(abre(arquivo), DET, Det.class, true);
+    }
+
+    private static InputStream abre(final File arquivo) throws FileNotFoundException {
+        return new BufferedInputStream(new FileInputStream(arquivo), 64 * 1024);
+    }
+
+    /**
+     * Sem DTDs nem entidades externas: os arquivos da NF-e não usam e não
+     * devem poder ler outros arquivos ou URLs.
+     */
+    private static XMLInputFactory newFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    public boolean hasNext() {
+        if (proximo == null && !fechado) {
+            proximo = avanca();
+        }
+        return proximo != null;
+    }
+
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T atual = proximo;
+        proximo = null;
+        return atual;
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Avança até o próximo elemento procurado. Depois do unmarshal o reader
+     * fica no evento seguinte ao fim do elemento, por isso o evento corrente é
+     * verificado antes de avançar.
+     */
+    private T avanca() {
+        try {
+            while (reader.hasNext()) {
+                if (reader.isStartElement() && elemento.equals(reader.getName())) {
+                    return binder.unmarshal(tipo, reader);
+                }
+                reader.next();
+            }
+        } catch (XMLStreamException e) {
+            close();
+            throw new RuntimeException("Erro ao ler o xml", e);
+        }
+        close();
+        return null;
+    }
+
+    public void close() {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // nada a fazer, o stream e fechado abaixo
+        }
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // ja lido ate onde interessava
+            }
+        }
+    }
+
+}
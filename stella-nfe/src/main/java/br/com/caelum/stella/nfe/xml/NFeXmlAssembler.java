@@ -1,35 +1,156 @@
 package br.com.caelum.stella.nfe.xml;
 
-import net.vidageek.mirror.dsl.Mirror;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSchema;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
 import br.com.caelum.stella.nfe.builder.impl.NFeWebServiceType;
 
 /**
+ * Monta a mensagem de um web service da NF-e: o elemento do serviço, com o
+ * cabeçalho e o corpo dentro de <code>nfeCabecMsg</code> e
+ * <code>nfeDadosMsg</code>. O documento é escrito em uma única passada num
+ * XMLStreamWriter, com o cabeçalho e o corpo marshalled como fragmentos, sem
+ * montar Strings intermediárias. O xml é compacto, sem espaços em branco entre
+ * os elementos, como exigido para o <code>infNFe</code> assinado.
+ *
  * @author jonasabreu
- * 
+ *
  */
 final public class NFeXmlAssembler {
 
-    private static final String HEADER = "header198snldnvni234p8pfnpRJ9PFLOjf2";
-    private static final String BODY = "bodykmdsi13038s7d8f9hf27fhdcibb27HHC";
-    private final NFeWebServiceType type;
+    private static final String ENCODING = "UTF-8";
+
+    private static final String DEFAULT = "##default";
+
+    private static final XMLOutputFactory factory = XMLOutputFactory.newInstance();
+
     private final JAXBXmlBinder binder;
 
+    private final Elemento servico;
+
+    private final Elemento cabecalho;
+
+    private final Elemento dados;
+
     public NFeXmlAssembler(final NFeWebServiceType type) {
-        this.type = type;
-        binder = new JAXBXmlBinder();
+        binder = JAXBXmlBinder.compacto();
+        Class<?> wsType = type.getWebServiceModelType();
+        servico = elementoRaiz(wsType);
+        cabecalho = elementoDoCampo(wsType, "nfeCabecMsg", servico.namespace);
+        dados = elementoDoCampo(wsType, "nfeDadosMsg", servico.namespace);
     }
 
     public String assembly(final Object cabecalho, final Object body) {
-        Object wsModel = new Mirror().on(type.getWebServiceModelType()).invoke().constructor().withoutArgs();
+        StringWriter writer = new StringWriter();
+        assembly(cabecalho, body, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Escreve a mensagem no writer indicado, que não é fechado.
+     *
+     * @param cabecalho
+     * @param body
+     * @param writer
+     */
+    public void assembly(final Object cabecalho, final Object body, final Writer writer) {
+        try {
+            write(cabecalho, body, factory.createXMLStreamWriter(writer));
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Erro ao montar o xml do servico " + servico.nome, e);
+        }
+    }
+
+    /**
+     * Escreve a mensagem em UTF-8 no stream indicado, que não é fechado.
+     *
+     * @param cabecalho
+     * @param body
+     * @param out
+     */
+    public void assembly(final Object cabecalho, final Object body, final OutputStream out) {
+        try {
+            write(cabecalho, body, factory.createXMLStreamWriter(out, ENCODING));
+        } catch (XMLStreamException e) {
+            throw new RuntimeException("Erro ao montar o xml do servico " + servico.nome, e);
+        }
+    }
+
+    private void write(final Object cabecalho, final Object body, final XMLStreamWriter writer)
+            throws XMLStreamException {
+        writer.writeStartDocument(ENCODING, "1.0");
+        servico.start(writer, null);
+        this.cabecalho.start(writer, servico.namespace);
+        binder.marshal(cabecalho, writer);
+        writer.writeEndElement();
+        dados.start(writer, servico.namespace);
+        binder.marshal(body, writer);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.flush();
+        // fecha apenas o XMLStreamWriter, sem fechar o destino
+        writer.close();
+    }
+
+    private static Elemento elementoRaiz(final Class<?> wsType) {
+        XmlRootElement root = wsType.getAnnotation(XmlRootElement.class);
+        String nome = root == null || DEFAULT.equals(root.name()) ? decapitalize(wsType.getSimpleName()) : root
+                .name();
+        String namespace = root == null ? DEFAULT : root.namespace();
+        if (DEFAULT.equals(namespace)) {
+            XmlSchema schema = wsType.getPackage().getAnnotation(XmlSchema.class);
+            namespace = schema == null ? "" : schema.namespace();
+        }
+        return new Elemento(nome, namespace);
+    }
+
+    private static Elemento elementoDoCampo(final Class<?> wsType, final String campo, final String namespacePadrao) {
+        try {
+            Field field = wsType.getDeclaredField(campo);
+            XmlElement element = field.getAnnotation(XmlElement.class);
+            String nome = element == null || DEFAULT.equals(element.name()) ? campo : element.name();
+            String namespace = element == null || DEFAULT.equals(element.namespace()) ? namespacePadrao : element
+                    .namespace();
+            return new Elemento(nome, namespace);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException("O modelo " + wsType.getName() + " nao tem o campo " + campo, e);
+        }
+    }
+
+    private static String decapitalize(final String nome) {
+        return Character.toLowerCase(nome.charAt(0)) + nome.substring(1);
+    }
+
+    private static final class Elemento {
 
-        new Mirror().on(wsModel).set().field("nfeCabecMsg").withValue(HEADER);
+        private final String nome;
 
-        new Mirror().on(wsModel).set().field("nfeDadosMsg").withValue(BODY);
+        private final String namespace;
 
-        String xml = binder.marshal(wsModel);
-        xml = xml.replace(HEADER, binder.marshal(cabecalho));
-        xml = xml.replace(BODY, binder.marshal(body));
+        Elemento(final String nome, final String namespace) {
+            this.nome = nome;
+            this.namespace = namespace;
+        }
 
-        return xml;
+        /**
+         * Abre o elemento, declarando o namespace como padrão apenas quando
+         * ele for diferente do namespace do elemento pai.
+         */
+        void start(final XMLStreamWriter writer, final String namespaceDoPai) throws XMLStreamException {
+            writer.writeStartElement("", nome, namespace);
+            if (!namespace.equals(namespaceDoPai)) {
+                writer.writeDefaultNamespace(namespace);
+            }
+        }
     }
 }
@@ -0,0 +1,89 @@
+package br.com.caelum.stella.nfe.proxy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.vidageek.fluid.proxy.FluidProxyCreator;
+import net.vidageek.fluid.proxy.ObjectCreator;
+
+import org.junit.Test;
+
+import br.com.caelum.stella.nfe.fluid.Cabecalho;
+import br.com.caelum.stella.nfe.fluid.TConsSitNFe;
+
+final public class NFeProxyFactoryTest {
+
+    @SuppressWarnings("unchecked")
+    private br.com.caelum.stella.nfe.modelo.TConsSitNFe consulta(final String tpAmb) {
+        TConsSitNFe<Object> builder = new NFeProxyFactory().createProxyFor(TConsSitNFe.class, null);
+        builder.withTpAmb(tpAmb);
+        return (br.com.caelum.stella.nfe.modelo.TConsSitNFe) ((ObjectCreator) builder).getInstance();
+    }
+
+    @Test
+    public void testThatCreatorIsReusedWithinAThread() {
+        FluidProxyCreator creator = NFeProxyFactory.creatorFor(TConsSitNFe.class);
+
+        assertSame(creator, NFeProxyFactory.creatorFor(TConsSitNFe.class));
+        assertNotSame(creator, NFeProxyFactory.creatorFor(Cabecalho.class));
+    }
+
+    @Test
+    public void testThatEachThreadHasItsOwnCreator() throws Exception {
+        FluidProxyCreator daThreadAtual = NFeProxyFactory.creatorFor(TConsSitNFe.class);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Callable<FluidProxyCreator> pedeCreator = new Callable<FluidProxyCreator>() {
+                public FluidProxyCreator call() {
+                    return NFeProxyFactory.creatorFor(TConsSitNFe.class);
+                }
+            };
+            FluidProxyCreator daOutraThread = executor.submit(pedeCreator).get();
+
+            assertNotSame(daThreadAtual, daOutraThread);
+            assertSame(daOutraThread, executor.submit(pedeCreator).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testThatProxiesOfTheSameTypeAreIndependent() {
+        br.com.caelum.stella.nfe.modelo.TConsSitNFe primeira = consulta("1");
+        br.com.caelum.stella.nfe.modelo.TConsSitNFe segunda = consulta("2");
+
+        assertNotSame(primeira, segunda);
+        assertEquals("1", primeira.getTpAmb());
+        assertEquals("2", segunda.getTpAmb());
+    }
+
+    @Test
+    public void testThatProxiesBuiltConcurrentlyAreIndependent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<br.com.caelum.stella.nfe.modelo.TConsSitNFe>> consultas = new ArrayList<Future<br.com.caelum.stella.nfe.modelo.TConsSitNFe>>();
+            for (int i = 0; i < 64; i++) {
+                final String tpAmb = String.valueOf(i);
+                consultas.add(executor.submit(new Callable<br.com.caelum.stella.nfe.modelo.TConsSitNFe>() {
+                    public br.com.caelum.stella.nfe.modelo.TConsSitNFe call() {
+                        return consulta(tpAmb);
+                    }
+                }));
+            }
+            for (int i = 0; i < consultas.size(); i++) {
+                assertEquals(String.valueOf(i), consultas.get(i).get().getTpAmb());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
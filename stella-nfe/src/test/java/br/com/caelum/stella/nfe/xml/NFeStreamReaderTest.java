@@ -0,0 +1,176 @@
+package br.com.caelum.stella.nfe.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import br.com.caelum.stella.nfe.modelo.Det;
+import br.com.caelum.stella.nfe.modelo.TNFe;
+
+final public class NFeStreamReaderTest {
+
+    private static final String LOTE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<enviNFe xmlns=\"http://www.portalfiscal.inf.br/nfe\" versao=\"1.10\">"
+            + "<idLote>1</idLote>"
+            + "<NFe><infNFe Id=\"NFe1\" versao=\"1.10\">"
+            + "<det nItem=\"1\"><prod><cProd>A1</cProd><xProd>Caneta</xProd></prod></det>"
+            + "<det nItem=\"2\"><prod><cProd>A2</cProd><xProd>Lapis</xProd></prod></det>"
+            + "</infNFe></NFe>"
+            + "<NFe><infNFe Id=\"NFe2\" versao=\"1.10\">"
+            + "<det nItem=\"1\"><prod><cProd>B1</cProd><xProd>Borracha</xProd></prod></det>"
+            + "</infNFe></NFe>"
+            + "</enviNFe>";
+
+    private static final String PROC = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<nfeProc xmlns=\"http://www.portalfiscal.inf.br/nfe\" versao=\"1.10\">"
+            + "<NFe><infNFe Id=\"NFe3\" versao=\"1.10\">"
+            + "<det nItem=\"1\"><prod><cProd>C1</cProd><xProd>Caderno</xProd></prod></det>"
+            + "</infNFe></NFe>"
+            + "<protNFe versao=\"1.10\"><infProt><chNFe>3</chNFe></infProt></protNFe>"
+            + "</nfeProc>";
+
+    private File arquivo;
+
+    @Before
+    public void setUp() throws IOException {
+        arquivo = File.createTempFile("lote", ".xml");
+        escreve(arquivo, LOTE);
+    }
+
+    @After
+    public void tearDown() {
+        arquivo.delete();
+    }
+
+    private static void escreve(final File destino, final String conteudo) throws IOException {
+        OutputStream out = new FileOutputStream(destino);
+        try {
+            out.write(conteudo.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static InputStream stream(final String xml) throws IOException {
+        return new ByteArrayInputStream(xml.getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testThatNotasAreReadFromABatch() throws Exception {
+        NFeStreamReader<TNFe> notas = NFeStreamReader.notas(stream(LOTE));
+
+        assertTrue(notas.hasNext());
+        TNFe primeira = notas.next();
+        assertEquals("NFe1", primeira.getInfNFe().getId());
+        assertEquals(2, primeira.getInfNFe().getDet().size());
+        assertEquals("NFe2", notas.next().getInfNFe().getId());
+        assertFalse(notas.hasNext());
+    }
+
+    @Test
+    public void testThatNotasAreReadFromAnNFeProc() throws Exception {
+        NFeStreamReader<TNFe> notas = NFeStreamReader.notas(stream(PROC));
+
+        assertEquals("NFe3", notas.next().getInfNFe().getId());
+        assertFalse(notas.hasNext());
+    }
+
+    @Test
+    public void testThatItensOfAllNotasAreReadInOrder() throws Exception {
+        NFeStreamReader<Det> itens = NFeStreamReader.itens(stream(LOTE));
+
+        Det item = itens.next();
+        assertEquals("1", item.getNItem());
+        assertEquals("A1", item.getProd().getCProd());
+        assertEquals("Caneta", item.getProd().getXProd());
+        assertEquals("A2", itens.next().getProd().getCProd());
+        assertEquals("B1", itens.next().getProd().getCProd());
+        assertFalse(itens.hasNext());
+    }
+
+    @Test
+    public void testThatItensAreReadFromAnNFeProc() throws Exception {
+        NFeStreamReader<Det> itens = NFeStreamReader.itens(stream(PROC));
+
+        assertEquals("C1", itens.next().getProd().getCProd());
+        assertFalse(itens.hasNext());
+    }
+
+    @Test
+    public void testThatExhaustedReaderKeepsReportingNoElements() throws Exception {
+        NFeStreamReader<TNFe> notas = NFeStreamReader.notas(stream(PROC));
+        notas.next();
+
+        assertFalse(notas.hasNext());
+        assertFalse(notas.hasNext());
+        try {
+            notas.next();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+    }
+
+    @Test
+    public void testThatFileBackedReaderReadsAndClosesTheFile() throws Exception {
+        NFeStreamReader<Det> itens = NFeStreamReader.itens(arquivo);
+        int quantidade = 0;
+        try {
+            while (itens.hasNext()) {
+                itens.next();
+                quantidade++;
+            }
+        } finally {
+            itens.close();
+        }
+
+        assertEquals(3, quantidade);
+        itens.close();
+        assertFalse(itens.hasNext());
+        assertTrue(arquivo.delete());
+    }
+
+    @Test
+    public void testThatClosingBeforeTheEndStopsTheReader() throws Exception {
+        NFeStreamReader<TNFe> notas = NFeStreamReader.notas(arquivo);
+        notas.next();
+        notas.close();
+
+        assertFalse(notas.hasNext());
+        assertTrue(arquivo.delete());
+    }
+
+    @Test
+    public void testThatExternalEntitiesAreNotResolved() throws Exception {
+        File segredo = File.createTempFile("segredo", ".txt");
+        try {
+            escreve(segredo, "SEGREDO");
+            String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<!DOCTYPE enviNFe [<!ENTITY segredo SYSTEM \"" + segredo.toURI() + "\">]>"
+                    + LOTE.substring(LOTE.indexOf("<enviNFe")).replace("Caneta", "&segredo;");
+            NFeStreamReader<Det> itens = NFeStreamReader.itens(stream(xml));
+            try {
+                itens.next();
+                fail();
+            } catch (RuntimeException e) {
+            } finally {
+                itens.close();
+            }
+        } finally {
+            segredo.delete();
+        }
+    }
+
+}
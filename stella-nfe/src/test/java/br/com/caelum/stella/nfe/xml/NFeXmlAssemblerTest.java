@@ -0,0 +1,101 @@
+package br.com.caelum.stella.nfe.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import br.com.caelum.stella.nfe.builder.impl.NFeWebServiceType;
+import br.com.caelum.stella.nfe.modelo.CabecMsg;
+import br.com.caelum.stella.nfe.modelo.TConsSitNFe;
+
+final public class NFeXmlAssemblerTest {
+
+    private static final String WSDL = "http://www.portalfiscal.inf.br/nfe/wsdl/NfeConsulta";
+
+    private static final String NFE = "http://www.portalfiscal.inf.br/nfe";
+
+    private CabecMsg cabecalho;
+
+    private TConsSitNFe consulta;
+
+    @Before
+    public void setUp() {
+        cabecalho = new CabecMsg();
+        cabecalho.setVersao("1.02");
+        cabecalho.setVersaoDados("1.07");
+        consulta = new TConsSitNFe();
+        consulta.setVersao("1.07");
+        consulta.setTpAmb("2");
+        consulta.setXServ("CONSULTAR");
+        consulta.setChNFe("35080599999090910270550010000000015180051273");
+    }
+
+    private Element parse(final byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml)).getDocumentElement();
+    }
+
+    private Element proximo(final Node node) {
+        Node atual = node;
+        while (atual != null && atual.getNodeType() != Node.ELEMENT_NODE) {
+            atual = atual.getNextSibling();
+        }
+        return (Element) atual;
+    }
+
+    private void assertName(final String namespace, final String nome, final Element element) {
+        assertEquals(namespace, element.getNamespaceURI());
+        assertEquals(nome, element.getLocalName());
+    }
+
+    @Test
+    public void testThatEnvelopeHasServiceRootWithHeaderBeforeBody() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NFeXmlAssembler(NFeWebServiceType.CONSULTA_SITUACAO).assembly(cabecalho, consulta, out);
+
+        Element root = parse(out.toByteArray());
+        assertName(WSDL, "nfeConsultaNF", root);
+
+        Element cabecMsg = proximo(root.getFirstChild());
+        assertName(WSDL, "nfeCabecMsg", cabecMsg);
+        assertName(NFE, "cabecMsg", proximo(cabecMsg.getFirstChild()));
+
+        Element dadosMsg = proximo(cabecMsg.getNextSibling());
+        assertName(WSDL, "nfeDadosMsg", dadosMsg);
+        Element corpo = proximo(dadosMsg.getFirstChild());
+        assertName(NFE, "tConsSitNFe", corpo);
+        assertEquals("2", proximo(corpo.getFirstChild()).getTextContent());
+
+        assertNull(proximo(dadosMsg.getNextSibling()));
+    }
+
+    @Test
+    public void testThatEnvelopeIsCompactWithASingleDeclaration() throws Exception {
+        String xml = new NFeXmlAssembler(NFeWebServiceType.CONSULTA_SITUACAO).assembly(cabecalho, consulta);
+
+        assertFalse(xml, xml.matches("(?s).*>\\s+<.*"));
+        assertEquals(xml.indexOf("<?xml"), xml.lastIndexOf("<?xml"));
+        assertEquals(0, xml.indexOf("<?xml"));
+    }
+
+    @Test
+    public void testThatStreamAndStringOutputsMatch() throws Exception {
+        NFeXmlAssembler assembler = new NFeXmlAssembler(NFeWebServiceType.CONSULTA_SITUACAO);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assembler.assembly(cabecalho, consulta, out);
+
+        assertEquals(assembler.assembly(cabecalho, consulta), out.toString("UTF-8"));
+    }
+
+}